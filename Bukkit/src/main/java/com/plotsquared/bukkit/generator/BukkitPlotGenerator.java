@@ -74,11 +74,11 @@ public class BukkitPlotGenerator extends ChunkGenerator implements GeneratorWrap
     private final boolean useNewGenerationMethods;
     private final BiomeProvider biomeProvider;
     private List<BlockPopulator> populators;
-    private boolean loaded = false;
+    private volatile boolean loaded = false;
 
-    private PlotArea lastPlotArea;
-    private int lastChunkX = Integer.MIN_VALUE;
-    private int lastChunkZ = Integer.MIN_VALUE;
+    // Chunks are generated on several worker threads at once, so every thread remembers the last plot area it looked up
+    // rather than sharing one cache that would need to be locked for every chunk and biome lookup
+    private final ThreadLocal<AreaCache> lastPlotArea = ThreadLocal.withInitial(AreaCache::new);
 
     public BukkitPlotGenerator(
             final @NonNull String name,
@@ -158,13 +158,16 @@ public class BukkitPlotGenerator extends ChunkGenerator implements GeneratorWrap
         return toAdd;
     }
 
-    // Extracted to synchronized method for thread-safety, preventing multiple internal world load calls
-    private synchronized void checkLoaded(@NonNull World world) {
+    // Loading is synchronized for thread-safety, preventing multiple internal world load calls
+    private void checkLoaded(@NonNull World world) {
         // Do not attempt to load configurations until WorldEdit has a platform ready.
-        if (!PlotSquared.get().isWeInitialised()) {
+        if (this.loaded || !PlotSquared.get().isWeInitialised()) {
             return;
         }
-        if (!this.loaded) {
+        synchronized (this) {
+            if (this.loaded) {
+                return;
+            }
             String name = world.getName();
             PlotSquared.get().loadWorld(name, this);
             final Set<PlotArea> areas = this.plotAreaManager.getPlotAreasSet(name);
@@ -411,30 +414,49 @@ public class BukkitPlotGenerator extends ChunkGenerator implements GeneratorWrap
         return this.levelName;
     }
 
-    private synchronized PlotArea getPlotArea(String name, int chunkX, int chunkZ) {
+    private PlotArea getPlotArea(String name, int chunkX, int chunkZ) {
         // Load if improperly loaded
         if (!this.loaded) {
-            PlotSquared.get().loadWorld(name, this);
+            synchronized (this) {
+                PlotSquared.get().loadWorld(name, this);
+            }
             // Do not set loaded to true as we want to ensure spawn limits are set when "loading" is actually able to be
             // completed properly.
         }
-        if (lastPlotArea != null && name.equals(this.levelName) && chunkX == lastChunkX && chunkZ == lastChunkZ) {
-            return lastPlotArea;
-        }
-        BlockVector3 loc = BlockVector3.at(chunkX << 4, 0, chunkZ << 4);
-        if (lastPlotArea != null && lastPlotArea.getRegion().contains(loc) && lastPlotArea.getRegion().contains(loc)) {
-            return lastPlotArea;
+        AreaCache cache = this.lastPlotArea.get();
+        if (cache.area != null && name.equals(cache.world)) {
+            if (chunkX == cache.chunkX && chunkZ == cache.chunkZ) {
+                return cache.area;
+            }
+            if (cache.area.getRegion().contains(BlockVector3.at(chunkX << 4, 0, chunkZ << 4))) {
+                cache.chunkX = chunkX;
+                cache.chunkZ = chunkZ;
+                return cache.area;
+            }
         }
-        PlotArea area = UncheckedWorldLocation.at(name, loc).getPlotArea();
+        PlotArea area = UncheckedWorldLocation.at(name, BlockVector3.at(chunkX << 4, 0, chunkZ << 4)).getPlotArea();
         if (area == null) {
             throw new IllegalStateException(String.format(
                     "Cannot generate chunk that does not belong to a plot area. World: %s",
                     name
             ));
         }
-        this.lastChunkX = chunkX;
-        this.lastChunkZ = chunkZ;
-        return this.lastPlotArea = area;
+        cache.world = name;
+        cache.chunkX = chunkX;
+        cache.chunkZ = chunkZ;
+        return cache.area = area;
+    }
+
+    /**
+     * The plot area of the last chunk a generation thread looked up. Only ever accessed by its own thread.
+     */
+    private static final class AreaCache {
+
+        private String world;
+        private int chunkX = Integer.MIN_VALUE;
+        private int chunkZ = Integer.MIN_VALUE;
+        private PlotArea area;
+
     }
 
     /**
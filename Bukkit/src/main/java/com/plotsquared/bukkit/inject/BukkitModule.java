@@ -68,6 +68,7 @@ import com.plotsquared.core.util.SetupUtils;
 import com.plotsquared.core.util.WorldUtil;
 import com.sk89q.worldedit.bukkit.WorldEditPlugin;
 import com.sk89q.worldedit.extension.platform.Actor;
+import io.papermc.lib.PaperLib;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bukkit.Bukkit;
@@ -112,7 +113,11 @@ public class BukkitModule extends AbstractModule {
             bind(SchematicHandler.class).to(BukkitSchematicHandler.class);
             bind(RegionManager.class).to(BukkitRegionManager.class);
         }
-        bind(GlobalBlockQueue.class).toInstance(new GlobalBlockQueue(QueueProvider.of(BukkitQueueCoordinator.class)));
+        bind(GlobalBlockQueue.class).toInstance(new GlobalBlockQueue(
+                QueueProvider.of(BukkitQueueCoordinator.class),
+                // Only Paper exposes the time the server needs per tick
+                PaperLib.isPaper() ? () -> (long) (Bukkit.getAverageTickTime() * 1_000_000) : null
+        ));
         if (Settings.Enabled_Components.WORLDS) {
             bind(PlotAreaManager.class).to(SinglePlotAreaManager.class);
             try {
@@ -51,7 +51,7 @@ import com.plotsquared.core.plot.flag.implementations.SnowFormFlag;
 import com.plotsquared.core.plot.flag.implementations.SnowMeltFlag;
 import com.plotsquared.core.plot.flag.implementations.SoilDryFlag;
 import com.plotsquared.core.plot.flag.implementations.VineGrowFlag;
-import com.plotsquared.core.plot.flag.types.BlockTypeWrapper;
+import com.plotsquared.core.plot.flag.types.BlockTypeMatcher;
 import com.plotsquared.core.plot.flag.types.BooleanFlag;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.util.PlotFlagUtil;
@@ -59,7 +59,6 @@ import com.plotsquared.core.util.task.TaskManager;
 import com.plotsquared.core.util.task.TaskTime;
 import com.sk89q.worldedit.WorldEdit;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
-import com.sk89q.worldedit.world.block.BlockType;
 import net.kyori.adventure.text.minimessage.tag.Tag;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import org.bukkit.Bukkit;
@@ -169,13 +168,10 @@ public class BlockEventListener implements Listener {
                     return;
                 }
             } else if (!plot.isAdded(pp.getUUID())) {
-                List<BlockTypeWrapper> place = plot.getFlag(PlaceFlag.class);
-                if (place != null) {
-                    Block block = event.getBlock();
-                    if (place.contains(
-                            BlockTypeWrapper.get(BukkitAdapter.asBlockType(block.getType())))) {
-                        return;
-                    }
+                BlockTypeMatcher place = plot.getFlagContainer().getFlag(PlaceFlag.class).getMatcher();
+                Block block = event.getBlock();
+                if (place.accepts(BukkitAdapter.asBlockType(block.getType()))) {
+                    return;
                 }
                 if (!pp.hasPermission(Permission.PERMISSION_ADMIN_BUILD_OTHER)) {
                     pp.sendMessage(
@@ -254,13 +250,10 @@ public class BlockEventListener implements Listener {
                 return;
             }
             if (!plot.isAdded(plotPlayer.getUUID())) {
-                List<BlockTypeWrapper> destroy = plot.getFlag(BreakFlag.class);
+                BlockTypeMatcher destroy = plot.getFlagContainer().getFlag(BreakFlag.class).getMatcher();
                 Block block = event.getBlock();
-                final BlockType blockType = BukkitAdapter.asBlockType(block.getType());
-                for (final BlockTypeWrapper blockTypeWrapper : destroy) {
-                    if (blockTypeWrapper.accepts(blockType)) {
-                        return;
-                    }
+                if (destroy.accepts(BukkitAdapter.asBlockType(block.getType()))) {
+                    return;
                 }
                 if (plotPlayer.hasPermission(Permission.PERMISSION_ADMIN_DESTROY_OTHER)) {
                     return;
@@ -547,10 +540,9 @@ public class BlockEventListener implements Listener {
             }
             BukkitPlayer plotPlayer = BukkitUtil.adapt(player);
             if (!plot.isAdded(plotPlayer.getUUID())) {
-                List<BlockTypeWrapper> destroy = plot.getFlag(BreakFlag.class);
+                BlockTypeMatcher destroy = plot.getFlagContainer().getFlag(BreakFlag.class).getMatcher();
                 Block block = event.getBlock();
-                if (destroy
-                        .contains(BlockTypeWrapper.get(BukkitAdapter.asBlockType(block.getType())))
+                if (destroy.accepts(BukkitAdapter.asBlockType(block.getType()))
                         || plotPlayer.hasPermission(Permission.PERMISSION_ADMIN_DESTROY_OTHER)) {
                     return;
                 }
@@ -20,7 +20,9 @@ package com.plotsquared.bukkit.listener;
 
 import com.destroystokyo.paper.event.block.BeaconEffectEvent;
 import com.destroystokyo.paper.event.block.BlockDestroyEvent;
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
 import com.destroystokyo.paper.event.entity.EntityPathfindEvent;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
 import com.destroystokyo.paper.event.entity.PlayerNaturallySpawnCreaturesEvent;
 import com.destroystokyo.paper.event.entity.PreCreatureSpawnEvent;
 import com.destroystokyo.paper.event.entity.PreSpawnerSpawnEvent;
@@ -28,6 +30,7 @@ import com.destroystokyo.paper.event.entity.SlimePathfindEvent;
 import com.destroystokyo.paper.event.player.PlayerLaunchProjectileEvent;
 import com.destroystokyo.paper.event.server.AsyncTabCompleteEvent;
 import com.google.inject.Inject;
+import com.plotsquared.bukkit.util.BukkitEntityCounter;
 import com.plotsquared.bukkit.util.BukkitUtil;
 import com.plotsquared.core.command.Command;
 import com.plotsquared.core.command.MainCommand;
@@ -44,10 +47,13 @@ import com.plotsquared.core.plot.flag.implementations.DoneFlag;
 import com.plotsquared.core.plot.flag.implementations.FishingFlag;
 import com.plotsquared.core.plot.flag.implementations.ProjectilesFlag;
 import com.plotsquared.core.plot.flag.implementations.TileDropFlag;
+import com.plotsquared.core.plot.flag.types.BlockTypeMatcher;
 import com.plotsquared.core.plot.flag.types.BooleanFlag;
 import com.plotsquared.core.plot.world.PlotAreaManager;
+import com.plotsquared.core.util.EventDispatcher;
 import com.plotsquared.core.util.PlotFlagUtil;
 import io.papermc.paper.event.entity.EntityMoveEvent;
+import io.papermc.paper.event.server.ServerResourcesReloadedEvent;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.tag.Tag;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
@@ -66,6 +72,7 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
 import org.bukkit.projectiles.ProjectileSource;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
@@ -85,11 +92,19 @@ public class PaperListener implements Listener {
     private static final NamespacedKey FISHING_BOBBER = NamespacedKey.minecraft("fishing_bobber");
 
     private final PlotAreaManager plotAreaManager;
+    private final BukkitEntityCounter entityCounter;
     private Chunk lastChunk;
 
     @Inject
-    public PaperListener(final @NonNull PlotAreaManager plotAreaManager) {
+    public PaperListener(
+            final @NonNull PlotAreaManager plotAreaManager,
+            final @NonNull BukkitEntityCounter entityCounter,
+            final @NonNull EventDispatcher eventDispatcher
+    ) {
         this.plotAreaManager = plotAreaManager;
+        this.entityCounter = entityCounter;
+        this.entityCounter.enable();
+        eventDispatcher.registerListener(this.entityCounter);
     }
 
     @EventHandler(ignoreCancelled = true, priority = EventPriority.LOWEST)
@@ -105,6 +120,21 @@ public class PaperListener implements Listener {
         }
     }
 
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityAddToWorld(EntityAddToWorldEvent event) {
+        this.entityCounter.add(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemoveFromWorld(EntityRemoveFromWorldEvent event) {
+        this.entityCounter.remove(event.getEntity());
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        this.entityCounter.clear(event.getWorld().getName());
+    }
+
     @EventHandler
     public void onEntityPathfind(EntityPathfindEvent event) {
         if (!Settings.Paper_Components.ENTITY_PATHING) {
@@ -458,6 +488,12 @@ public class PaperListener implements Listener {
         }
     }
 
+    @EventHandler
+    public void onResourcesReloaded(final ServerResourcesReloadedEvent event) {
+        // Reloaded data packs may change the blocks of a tag
+        BlockTypeMatcher.invalidateCategories();
+    }
+
     private boolean getBooleanFlagValue(
             @NonNull FlagContainer container,
             @NonNull Class<? extends BooleanFlag<?>> flagClass,
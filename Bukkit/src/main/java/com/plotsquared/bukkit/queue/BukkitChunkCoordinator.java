@@ -23,10 +23,9 @@ import com.google.inject.assistedinject.Assisted;
 import com.plotsquared.bukkit.BukkitPlatform;
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.queue.ChunkCoordinator;
+import com.plotsquared.core.queue.GlobalBlockQueue;
 import com.plotsquared.core.queue.subscriber.ProgressSubscriber;
-import com.plotsquared.core.util.task.PlotSquaredTask;
 import com.plotsquared.core.util.task.TaskManager;
-import com.plotsquared.core.util.task.TaskTime;
 import com.sk89q.worldedit.math.BlockVector2;
 import com.sk89q.worldedit.world.World;
 import io.papermc.lib.PaperLib;
@@ -59,6 +58,8 @@ import java.util.function.Consumer;
 public final class BukkitChunkCoordinator extends ChunkCoordinator {
 
     private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + BukkitChunkCoordinator.class.getSimpleName());
+    // Upper limit of chunks loaded ahead of being processed
+    private static final int MAX_BATCH_SIZE = 64;
 
     private final List<ProgressSubscriber> progressSubscribers = new LinkedList<>();
 
@@ -76,9 +77,10 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
     private final AtomicInteger loadingChunks = new AtomicInteger();
     private final boolean forceSync;
     private final boolean shouldGen;
+    private final GlobalBlockQueue blockQueue;
 
     private int batchSize;
-    private PlotSquaredTask task;
+    private long chunkTime;
     private volatile boolean shouldCancel;
     private boolean finished;
 
@@ -94,7 +96,8 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
             @Assisted("unloadAfter") final boolean unloadAfter,
             @Assisted final @NonNull Collection<ProgressSubscriber> progressSubscribers,
             @Assisted("forceSync") final boolean forceSync,
-            @Assisted("shouldGen") final boolean shouldGen
+            @Assisted("shouldGen") final boolean shouldGen,
+            final @NonNull GlobalBlockQueue blockQueue
     ) {
         this.requestedChunks = new LinkedBlockingQueue<>(requestedChunks);
         this.availableChunks = new LinkedBlockingQueue<>();
@@ -102,7 +105,7 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
         this.expectedSize = new AtomicInteger(this.totalSize);
         this.batchSize = initialBatchSize;
         this.chunkConsumer = chunkConsumer;
-        this.maxIterationTime = maxIterationTime;
+        this.maxIterationTime = TimeUnit.MILLISECONDS.toNanos(maxIterationTime);
         this.whenDone = whenDone;
         this.throwableConsumer = throwableConsumer;
         this.unloadAfter = unloadAfter;
@@ -111,15 +114,14 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
         this.progressSubscribers.addAll(progressSubscribers);
         this.forceSync = forceSync;
         this.shouldGen = shouldGen;
+        this.blockQueue = blockQueue;
     }
 
     @Override
     public void start() {
         if (!forceSync) {
-            // Request initial batch
-            this.requestBatch();
-            // Wait until next tick to give the chunks a chance to be loaded
-            TaskManager.runTaskLater(() -> task = TaskManager.runTaskRepeat(this, TaskTime.ticks(1)), TaskTime.ticks(1));
+            // The first batch is requested once the global queue activates the coordinator
+            this.blockQueue.schedule(this);
         } else {
             try {
                 while (!shouldCancel && !requestedChunks.isEmpty()) {
@@ -138,6 +140,11 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
         shouldCancel = true;
     }
 
+    @Override
+    public void activate() {
+        this.requestBatch();
+    }
+
     private void finish() {
         try {
             this.whenDone.run();
@@ -147,15 +154,17 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
             for (final ProgressSubscriber subscriber : this.progressSubscribers) {
                 subscriber.notifyEnd();
             }
-            if (task != null) {
-                task.cancel();
-            }
             finished = true;
         }
     }
 
     @Override
     public void run() {
+        process(this.maxIterationTime);
+    }
+
+    @Override
+    public long process(final long allowance) {
         if (shouldCancel) {
             if (unloadAfter) {
                 Chunk chunk;
@@ -164,24 +173,25 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
                 }
             }
             finish();
-            return;
+            return 0;
         }
 
-        Chunk chunk = this.availableChunks.poll();
-        if (chunk == null) {
-            if (this.availableChunks.isEmpty()) {
-                if (this.requestedChunks.isEmpty() && loadingChunks.get() == 0) {
-                    finish();
-                } else {
-                    requestBatch();
-                }
+        if (this.availableChunks.isEmpty()) {
+            if (this.requestedChunks.isEmpty() && loadingChunks.get() == 0) {
+                finish();
+            } else {
+                requestBatch();
             }
-            return;
+            return 0;
         }
-        long[] iterationTime = new long[2];
+        final long maxTime = Math.min(allowance, this.maxIterationTime);
+        final long start = System.nanoTime();
+        long elapsed = 0;
         int processedChunks = 0;
-        do {
-            final long start = System.currentTimeMillis();
+        Chunk chunk;
+        // Stop before the next chunk is expected to exceed the allowance, but always process at least one chunk
+        while ((processedChunks == 0 || elapsed + this.chunkTime <= maxTime) && (chunk = availableChunks.poll()) != null) {
+            final long chunkStart = System.nanoTime();
             try {
                 this.chunkConsumer.accept(BlockVector2.at(chunk.getX(), chunk.getZ()));
             } catch (final Throwable throwable) {
@@ -191,14 +201,17 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
                 this.freeChunk(chunk);
             }
             processedChunks++;
-            final long end = System.currentTimeMillis();
-            // Update iteration time
-            iterationTime[0] = iterationTime[1];
-            iterationTime[1] = end - start;
-        } while (iterationTime[0] + iterationTime[1] < this.maxIterationTime * 2 && (chunk = availableChunks.poll()) != null);
-        if (processedChunks < this.batchSize) {
-            // Adjust batch size based on the amount of processed chunks per tick
-            this.batchSize = processedChunks;
+            final long end = System.nanoTime();
+            // Update the average time of a single chunk
+            this.chunkTime = this.chunkTime == 0 ? end - chunkStart : (this.chunkTime * 3 + end - chunkStart) / 4;
+            elapsed = end - start;
+        }
+        if (elapsed > maxTime || this.blockQueue.isLagging()) {
+            // Back off quickly when overshooting the allowance or when the server is struggling
+            this.batchSize = Math.max(1, this.batchSize / 2);
+        } else if (this.availableChunks.isEmpty()) {
+            // Time was left over, so load more chunks at once
+            this.batchSize = Math.min(MAX_BATCH_SIZE, this.batchSize + 1);
         }
 
         final int expected = this.expectedSize.addAndGet(-processedChunks);
@@ -214,13 +227,20 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
                 this.requestBatch();
             }
         }
+        return elapsed;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return this.finished;
     }
 
     /**
-     * Requests a batch of chunks to be loaded
+     * Requests a batch of chunks to be loaded, as far as the global limit of loading chunks allows
      */
     private void requestBatch() {
-        for (int i = 0; i < this.batchSize && this.requestedChunks.peek() != null; i++) {
+        final int permits = this.blockQueue.acquireChunkLoads(Math.min(this.batchSize, this.requestedChunks.size()));
+        for (int i = 0; i < permits; i++) {
             // This required PaperLib to be bumped to version 1.0.4 to mark the request as urgent
             final BlockVector2 chunk = this.requestedChunks.poll();
             loadingChunks.incrementAndGet();
@@ -229,6 +249,7 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
                     .completeOnTimeout(null, 10L, TimeUnit.SECONDS)
                     .whenComplete((chunkObject, throwable) -> {
                         loadingChunks.decrementAndGet();
+                        this.blockQueue.releaseChunkLoad();
                         if (throwable != null) {
                             LOGGER.error("Failed to load chunk {}", chunk, throwable);
                             // We want one less because this couldn't be processed
@@ -283,6 +304,11 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
         return this.totalSize;
     }
 
+    @Override
+    public @NonNull Collection<ProgressSubscriber> getProgressSubscribers() {
+        return this.progressSubscribers;
+    }
+
     /**
      * Subscribe to coordinator progress updates
      *
@@ -26,9 +26,14 @@ import com.plotsquared.core.inject.factory.ChunkCoordinatorBuilderFactory;
 import com.plotsquared.core.inject.factory.ChunkCoordinatorFactory;
 import com.plotsquared.core.queue.BasicQueueCoordinator;
 import com.plotsquared.core.queue.ChunkCoordinator;
+import com.plotsquared.core.queue.LightingMode;
 import com.plotsquared.core.queue.LocalChunk;
+import com.plotsquared.core.queue.PaletteSection;
 import com.plotsquared.core.util.ChunkUtil;
+import com.plotsquared.core.util.task.TaskManager;
 import com.sk89q.jnbt.CompoundTag;
+import com.sk89q.worldedit.EditSession;
+import com.sk89q.worldedit.WorldEdit;
 import com.sk89q.worldedit.WorldEditException;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
 import com.sk89q.worldedit.extent.clipboard.BlockArrayClipboard;
@@ -52,6 +57,13 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 public class BukkitQueueCoordinator extends BasicQueueCoordinator {
@@ -60,6 +72,10 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
     private static final SideEffectSet EDGE_SIDE_EFFECT_SET;
     private static final SideEffectSet LIGHTING_SIDE_EFFECT_SET;
     private static final SideEffectSet EDGE_LIGHTING_SIDE_EFFECT_SET;
+    // Number of chunk plans prepared ahead of the chunks being loaded
+    private static final int PREPARE_AHEAD = 16;
+    // Plans not taken after this many later chunks were taken belong to chunks that failed to load, and are dropped
+    private static final int STALE_PLAN = 256;
 
     static {
         NO_SIDE_EFFECT_SET = enableNetworkIfNeeded()
@@ -92,6 +108,10 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
     @Inject
     private ChunkCoordinatorFactory chunkCoordinatorFactory;
     private ChunkCoordinator chunkCoordinator;
+    // Plans of the chunks prepared ahead of them being loaded, see #takePlan. Guarded by plans
+    private final Map<BlockVector2, PendingPlan> plans = new HashMap<>();
+    private final Set<BlockVector2> unplanned = new LinkedHashSet<>();
+    private long takenPlans;
 
     @Inject
     public BukkitQueueCoordinator(@NonNull World world) {
@@ -112,6 +132,7 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
     @Override
     public void cancel() {
         chunkCoordinator.cancel();
+        clearPlans();
     }
 
     @Override
@@ -132,7 +153,13 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
             regenClipboard = null;
         }
         Consumer<BlockVector2> consumer = getChunkConsumer();
+        // Chunks are requested in this order, so their plans are prepared in the same order
+        Collection<BlockVector2> chunks = new ArrayList<>(getBlockChunks().keySet());
         if (consumer == null) {
+            synchronized (this.plans) {
+                this.unplanned.addAll(chunks);
+                prepareAhead();
+            }
             consumer = blockVector2 -> {
                 LocalChunk localChunk = getBlockChunks().get(blockVector2);
                 boolean isRegenChunk =
@@ -151,7 +178,8 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
                                     BaseBlock block = regenClipboard.getFullBlock(BlockVector3.at(x, y, z));
                                     if (block != null) {
                                         boolean edge = Settings.QUEUE.UPDATE_EDGES && isEdgeRegen(x & 15, z & 15, blockVector2);
-                                        setWorldBlock(x, y, z, block, blockVector2, edge);
+                                        byte flags = (byte) ((edge ? ChunkPlan.EDGE : 0) | getLightingFlags(block));
+                                        setWorldBlock(x, y, z, block, flags);
                                     }
                                 }
                             }
@@ -162,43 +190,31 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
                 if (localChunk == null) {
                     return;
                 }
-                for (int layer = 0; layer < localChunk.getBaseblocks().length; layer++) {
-                    BaseBlock[] blocksLayer = localChunk.getBaseblocks()[layer];
-                    if (blocksLayer == null) {
+                applyPlan(takePlan(blockVector2, localChunk), sx, sz);
+                PaletteSection<BiomeType>[] biomeSections = localChunk.getBiomeSections();
+                for (int layer = 0; layer < biomeSections.length; layer++) {
+                    PaletteSection<BiomeType> biomesLayer = biomeSections[layer];
+                    if (biomesLayer == null || biomesLayer.isEmpty()) {
                         continue;
                     }
-                    for (int j = 0; j < blocksLayer.length; j++) {
-                        if (blocksLayer[j] == null) {
-                            continue;
-                        }
-                        BaseBlock block = blocksLayer[j];
-
-                        if (block != null) {
-                            int lx = ChunkUtil.getX(j);
-                            int lz = ChunkUtil.getZ(j);
-                            int x = sx + lx;
-                            int y = ChunkUtil.getY(layer + localChunk.getMinSection(), j);
-                            int z = sz + lz;
-                            boolean edge = Settings.QUEUE.UPDATE_EDGES && isEdge(y >> 4, lx, y & 15, lz, blockVector2,
-                                    localChunk
-                            );
-                            setWorldBlock(x, y, z, block, blockVector2, edge);
+                    int sy = (layer + localChunk.getMinSection()) << 4;
+                    if (biomesLayer.isUniform()) {
+                        // Biomes are stored per 4x4x4 cell, so a single biome only needs to be set once per cell
+                        BiomeType biome = biomesLayer.get(0);
+                        for (int y = 0; y < 16; y += 4) {
+                            for (int x = 0; x < 16; x += 4) {
+                                for (int z = 0; z < 16; z += 4) {
+                                    getWorld().setBiome(BlockVector3.at(sx + x, sy + y, sz + z), biome);
+                                }
+                            }
                         }
-                    }
-                }
-                for (int layer = 0; layer < localChunk.getBiomes().length; layer++) {
-                    BiomeType[] biomesLayer = localChunk.getBiomes()[layer];
-                    if (biomesLayer == null) {
                         continue;
                     }
-                    for (int j = 0; j < biomesLayer.length; j++) {
-                        if (biomesLayer[j] == null) {
-                            continue;
-                        }
-                        BiomeType biome = biomesLayer[j];
+                    for (int j = 0; j < 4096; j++) {
+                        BiomeType biome = biomesLayer.get(j);
                         if (biome != null) {
                             int x = sx + ChunkUtil.getX(j);
-                            int y = ChunkUtil.getY(layer, j);
+                            int y = ChunkUtil.getY(0, j) + sy;
                             int z = sz + ChunkUtil.getZ(j);
                             getWorld().setBiome(BlockVector3.at(x, y, z), biome);
                         }
@@ -228,43 +244,212 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
                 chunkCoordinatorBuilderFactory
                         .create(chunkCoordinatorFactory)
                         .inWorld(getWorld())
-                        .withChunks(getBlockChunks().keySet())
+                        .withChunks(chunks)
                         .withChunks(read)
-                        .withInitialBatchSize(3)
-                        .withMaxIterationTime(40)
                         .withThrowableConsumer(Throwable::printStackTrace)
-                        .withFinalAction(getCompleteTask())
+                        .withFinalAction(() -> {
+                            clearPlans();
+                            Runnable completeTask = getCompleteTask();
+                            if (completeTask != null) {
+                                completeTask.run();
+                            }
+                        })
                         .withConsumer(consumer)
                         .unloadAfter(isUnloadAfter())
                         .withProgressSubscribers(getProgressSubscribers())
                         .forceSync(isForceSync())
                         .shouldGen(isShouldGen())
+                        .withPriority(getPriority())
                         .build();
         return super.enqueue();
     }
 
+    /**
+     * Get the block writes of a chunk, waiting for them if they are still being prepared. Also starts preparing the plans
+     * of the next chunks.
+     */
+    private @NonNull ChunkPlan takePlan(@NonNull BlockVector2 blockVector2, @NonNull LocalChunk localChunk) {
+        PendingPlan pending;
+        synchronized (this.plans) {
+            this.unplanned.remove(blockVector2);
+            pending = this.plans.remove(blockVector2);
+            this.takenPlans++;
+            prepareAhead();
+        }
+        // Async tasks may only be started by the next server tick, so a plan that was not started is prepared in place
+        if (pending == null || pending.started().compareAndSet(false, true)) {
+            return preparePlan(blockVector2, localChunk);
+        }
+        return pending.future().join();
+    }
+
+    /**
+     * Start preparing the plans of the next chunks off the main thread, keeping at most {@link #PREPARE_AHEAD} prepared.
+     * Must hold the lock of {@link #plans}.
+     */
+    private void prepareAhead() {
+        this.plans.values().removeIf(pending -> {
+            if (this.takenPlans - pending.takenBefore() < STALE_PLAN) {
+                return false;
+            }
+            pending.cancel();
+            return true;
+        });
+        Iterator<BlockVector2> iterator = this.unplanned.iterator();
+        while (this.plans.size() < PREPARE_AHEAD && iterator.hasNext()) {
+            BlockVector2 blockVector2 = iterator.next();
+            iterator.remove();
+            LocalChunk localChunk = getBlockChunks().get(blockVector2);
+            if (localChunk == null) {
+                continue;
+            }
+            PendingPlan pending = new PendingPlan(new CompletableFuture<>(), new AtomicBoolean(), this.takenPlans);
+            this.plans.put(blockVector2, pending);
+            TaskManager.runTaskAsync(() -> {
+                // Plans that were cancelled or taken in the meantime are not prepared here
+                if (!pending.started().compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    pending.future().complete(preparePlan(blockVector2, localChunk));
+                } catch (Throwable throwable) {
+                    pending.future().completeExceptionally(throwable);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drop all plans once the queue has finished or was cancelled
+     */
+    private void clearPlans() {
+        synchronized (this.plans) {
+            for (PendingPlan pending : this.plans.values()) {
+                pending.cancel();
+            }
+            this.plans.clear();
+            this.unplanned.clear();
+        }
+    }
+
+    /**
+     * Prepare the block writes of a chunk: which sections can be set at once, and which blocks are edges or need lighting.
+     * Only reads the queued chunks, so it can run off the main thread.
+     */
+    private @NonNull ChunkPlan preparePlan(@NonNull BlockVector2 blockVector2, @NonNull LocalChunk localChunk) {
+        ChunkPlan plan = new ChunkPlan();
+        int minY = getMinY();
+        int sx = blockVector2.getX() << 4;
+        int sz = blockVector2.getZ() << 4;
+        // Lighting on replacement depends on every replaced block, so sections cannot be set at once
+        boolean bulk = getLightingMode() != LightingMode.REPLACEMENT;
+        PaletteSection<BaseBlock>[] blockSections = localChunk.getBlockSections();
+        for (int layer = 0; layer < blockSections.length; layer++) {
+            PaletteSection<BaseBlock> blocksLayer = blockSections[layer];
+            if (blocksLayer == null || blocksLayer.isEmpty()) {
+                continue;
+            }
+            // Bounds of the blocks set at once, empty unless the whole layer is a single block
+            int minX = 16;
+            int minLayerY = 16;
+            int minZ = 16;
+            int maxX = -1;
+            int maxLayerY = -1;
+            int maxZ = -1;
+            int sectionLayer = layer + localChunk.getMinSection();
+            if (bulk && blocksLayer.isUniform()) {
+                // Faces containing edge blocks are set block by block, so that they cause updates
+                boolean edges = Settings.QUEUE.UPDATE_EDGES;
+                minX = edges && hasEdge(sectionLayer, 0, -1, -1, blockVector2, localChunk) ? 1 : 0;
+                maxX = edges && hasEdge(sectionLayer, 15, -1, -1, blockVector2, localChunk) ? 14 : 15;
+                minLayerY = edges && hasEdge(sectionLayer, -1, 0, -1, blockVector2, localChunk) ? 1 : 0;
+                maxLayerY = edges && hasEdge(sectionLayer, -1, 15, -1, blockVector2, localChunk) ? 14 : 15;
+                minZ = edges && hasEdge(sectionLayer, -1, -1, 0, blockVector2, localChunk) ? 1 : 0;
+                maxZ = edges && hasEdge(sectionLayer, -1, -1, 15, blockVector2, localChunk) ? 14 : 15;
+                int sy = sectionLayer << 4;
+                BaseBlock block = blocksLayer.get(0);
+                plan.addRegion(
+                        new CuboidRegion(
+                                BlockVector3.at(sx + minX, sy + minLayerY, sz + minZ),
+                                BlockVector3.at(sx + maxX, sy + maxLayerY, sz + maxZ)
+                        ),
+                        block,
+                        getLightingFlags(block)
+                );
+            }
+            for (int j = 0; j < 4096; j++) {
+                int lx = ChunkUtil.getX(j);
+                int ly = ChunkUtil.getY(0, j);
+                int lz = ChunkUtil.getZ(j);
+                if (lx >= minX && lx <= maxX && ly >= minLayerY && ly <= maxLayerY && lz >= minZ && lz <= maxZ) {
+                    // Set with the rest of the section
+                    continue;
+                }
+                BaseBlock block = blocksLayer.get(j);
+                if (block != null) {
+                    int y = ChunkUtil.getY(sectionLayer, j);
+                    boolean edge = Settings.QUEUE.UPDATE_EDGES && isEdge(sectionLayer, lx, ly, lz, blockVector2, localChunk);
+                    byte flags = (byte) ((edge ? ChunkPlan.EDGE : 0) | getLightingFlags(block));
+                    plan.add(ChunkPlan.pack(lx, y, lz, minY), block, flags);
+                }
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Apply the prepared block writes of a chunk to the world
+     */
+    private void applyPlan(@NonNull ChunkPlan plan, int sx, int sz) {
+        for (int i = 0; i < plan.regionCount(); i++) {
+            CuboidRegion region = plan.region(i);
+            BaseBlock block = plan.regionBlock(i);
+            byte flags = plan.regionFlags(i);
+            if (!setWorldBlocks(region, block, (flags & ChunkPlan.LIGHTING) != 0)) {
+                for (BlockVector3 position : region) {
+                    setWorldBlock(position.getX(), position.getY(), position.getZ(), block, flags);
+                }
+            }
+        }
+        int minY = getMinY();
+        for (int i = 0; i < plan.size(); i++) {
+            int position = plan.position(i);
+            setWorldBlock(
+                    sx + ChunkPlan.unpackX(position),
+                    ChunkPlan.unpackY(position, minY),
+                    sz + ChunkPlan.unpackZ(position),
+                    plan.block(i),
+                    plan.flags(i)
+            );
+        }
+    }
+
+    /**
+     * Get the {@link ChunkPlan} lighting flags for placing a block with the queue's lighting mode
+     */
+    private byte getLightingFlags(@NonNull BaseBlock block) {
+        return switch (getLightingMode()) {
+            case NONE -> 0;
+            case PLACEMENT -> block.getBlockType().getMaterial().getLightValue() > 0 ? ChunkPlan.LIGHTING : 0;
+            case REPLACEMENT -> block.getBlockType().getMaterial().getLightValue() > 0
+                    ? ChunkPlan.LIGHTING
+                    : ChunkPlan.LIGHTING_IF_REPLACED;
+            // Can only be "all"
+            default -> ChunkPlan.LIGHTING;
+        };
+    }
+
     /**
      * Set a block to the world. First tries WNA but defaults to normal block setting methods if that fails
+     *
+     * @param flags {@link ChunkPlan} flags of the block
      */
-    @SuppressWarnings("unused")
-    private void setWorldBlock(int x, int y, int z, @NonNull BaseBlock block, @NonNull BlockVector2 blockVector2, boolean edge) {
+    private void setWorldBlock(int x, int y, int z, @NonNull BaseBlock block, byte flags) {
         try {
             BlockVector3 loc = BlockVector3.at(x, y, z);
-            boolean lighting = false;
-            switch (getLightingMode()) {
-                case NONE:
-                    break;
-                case PLACEMENT:
-                    lighting = block.getBlockType().getMaterial().getLightValue() > 0;
-                    break;
-                case REPLACEMENT:
-                    lighting = block.getBlockType().getMaterial().getLightValue() > 0
-                            || getWorld().getBlock(loc).getBlockType().getMaterial().getLightValue() > 0;
-                    break;
-                default:
-                    // Can only be "all"
-                    lighting = true;
-            }
+            boolean lighting = (flags & ChunkPlan.LIGHTING) != 0 || (flags & ChunkPlan.LIGHTING_IF_REPLACED) != 0
+                    && getWorld().getBlock(loc).getBlockType().getMaterial().getLightValue() > 0;
+            boolean edge = (flags & ChunkPlan.EDGE) != 0;
             SideEffectSet sideEffectSet;
             if (lighting) {
                 sideEffectSet = getSideEffectSet(edge ? SideEffectState.EDGE_LIGHTING : SideEffectState.LIGHTING);
@@ -302,6 +487,20 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
         }
     }
 
+    /**
+     * Set every block of a region to the world at once through a single edit session. Returns false without setting any
+     * block if the blocks need to be set individually instead.
+     */
+    private boolean setWorldBlocks(@NonNull Region region, @NonNull BaseBlock block, boolean lighting) {
+        try (EditSession editSession = WorldEdit.getInstance().newEditSessionBuilder().world(getWorld()).maxBlocks(-1).build()) {
+            editSession.setSideEffectApplier(getSideEffectSet(lighting ? SideEffectState.LIGHTING : SideEffectState.NONE));
+            editSession.setBlocks(region, block);
+            return true;
+        } catch (WorldEditException ignored) {
+            return false;
+        }
+    }
+
     private org.bukkit.World getBukkitWorld() {
         if (bukkitWorld == null) {
             bukkitWorld = Bukkit.getWorld(getWorld().getName());
@@ -311,63 +510,78 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
 
     private boolean isEdge(int layer, int x, int y, int z, BlockVector2 blockVector2, LocalChunk localChunk) {
         int layerIndex = (layer - localChunk.getMinSection());
-        if (layer == localChunk.getMinSection() || layerIndex == localChunk.getBaseblocks().length - 1) {
+        PaletteSection<BaseBlock>[] sections = localChunk.getBlockSections();
+        if (layer == localChunk.getMinSection() || layerIndex == sections.length - 1) {
             return false;
         }
         if (x == 0) {
             LocalChunk localChunkX = getBlockChunks().get(blockVector2.withX(blockVector2.getX() - 1));
-            if (localChunkX == null || localChunkX.getBaseblocks()[layerIndex] == null ||
-                    localChunkX.getBaseblocks()[layerIndex][ChunkUtil.getJ(15, y, z)] != null) {
+            if (localChunkX == null || localChunkX.getBlockSections()[layerIndex] == null ||
+                    localChunkX.getBlockSections()[layerIndex].get(15, y, z) != null) {
                 return true;
             }
         } else if (x == 15) {
             LocalChunk localChunkX = getBlockChunks().get(blockVector2.withX(blockVector2.getX() + 1));
-            if (localChunkX == null || localChunkX.getBaseblocks()[layerIndex] == null ||
-                    localChunkX.getBaseblocks()[layerIndex][ChunkUtil.getJ(0, y, z)] != null) {
+            if (localChunkX == null || localChunkX.getBlockSections()[layerIndex] == null ||
+                    localChunkX.getBlockSections()[layerIndex].get(0, y, z) != null) {
                 return true;
             }
         }
         if (z == 0) {
             LocalChunk localChunkZ = getBlockChunks().get(blockVector2.withZ(blockVector2.getZ() - 1));
-            if (localChunkZ == null || localChunkZ.getBaseblocks()[layerIndex] == null ||
-                    localChunkZ.getBaseblocks()[layerIndex][ChunkUtil.getJ(x, y, 15)] != null) {
+            if (localChunkZ == null || localChunkZ.getBlockSections()[layerIndex] == null ||
+                    localChunkZ.getBlockSections()[layerIndex].get(x, y, 15) != null) {
                 return true;
             }
         } else if (z == 15) {
             LocalChunk localChunkZ = getBlockChunks().get(blockVector2.withZ(blockVector2.getZ() + 1));
-            if (localChunkZ == null || localChunkZ.getBaseblocks()[layerIndex] == null ||
-                    localChunkZ.getBaseblocks()[layerIndex][ChunkUtil.getJ(x, y, 0)] != null) {
+            if (localChunkZ == null || localChunkZ.getBlockSections()[layerIndex] == null ||
+                    localChunkZ.getBlockSections()[layerIndex].get(x, y, 0) != null) {
                 return true;
             }
         }
+        PaletteSection<BaseBlock> baseBlocks = sections[layerIndex];
         if (y == 0) {
-            if (localChunk.getBaseblocks()[layerIndex - 1] == null ||
-                    localChunk.getBaseblocks()[layerIndex][ChunkUtil.getJ(x, 15, z)] != null) {
+            if (sections[layerIndex - 1] == null ||
+                    baseBlocks.get(x, 15, z) != null) {
                 return true;
             }
         } else if (y == 15) {
-            if (localChunk.getBaseblocks()[layerIndex + 1] == null ||
-                    localChunk.getBaseblocks()[layerIndex][ChunkUtil.getJ(x, 0, z)] != null) {
+            if (sections[layerIndex + 1] == null ||
+                    baseBlocks.get(x, 0, z) != null) {
                 return true;
             }
         }
-        BaseBlock[] baseBlocks = localChunk.getBaseblocks()[layerIndex];
-        if (x > 0 && baseBlocks[ChunkUtil.getJ(x - 1, y, z)] == null) {
+        if (x > 0 && baseBlocks.get(x - 1, y, z) == null) {
             return true;
         }
-        if (x < 15 && baseBlocks[ChunkUtil.getJ(x + 1, y, z)] == null) {
+        if (x < 15 && baseBlocks.get(x + 1, y, z) == null) {
             return true;
         }
-        if (y > 0 && baseBlocks[ChunkUtil.getJ(x, y - 1, z)] == null) {
+        if (y > 0 && baseBlocks.get(x, y - 1, z) == null) {
             return true;
         }
-        if (y < 15 && baseBlocks[ChunkUtil.getJ(x, y + 1, z)] == null) {
+        if (y < 15 && baseBlocks.get(x, y + 1, z) == null) {
             return true;
         }
-        if (z > 0 && baseBlocks[ChunkUtil.getJ(x, y, z - 1)] == null) {
+        if (z > 0 && baseBlocks.get(x, y, z - 1) == null) {
             return true;
         }
-        return z < 15 && baseBlocks[ChunkUtil.getJ(x, y, z + 1)] == null;
+        return z < 15 && baseBlocks.get(x, y, z + 1) == null;
+    }
+
+    /**
+     * Get whether any block on a face of a section is an edge. The face is given by the one coordinate that is not negative.
+     */
+    private boolean hasEdge(int layer, int x, int y, int z, BlockVector2 blockVector2, LocalChunk localChunk) {
+        for (int a = 0; a < 16; a++) {
+            for (int b = 0; b < 16; b++) {
+                if (isEdge(layer, x < 0 ? a : x, y < 0 ? (x < 0 ? b : a) : y, z < 0 ? b : z, blockVector2, localChunk)) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     private boolean isEdgeRegen(int x, int z, BlockVector2 blockVector2) {
@@ -409,4 +623,13 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
         EDGE_LIGHTING
     }
 
+    private record PendingPlan(@NonNull CompletableFuture<ChunkPlan> future, @NonNull AtomicBoolean started, long takenBefore) {
+
+        private void cancel() {
+            this.started.set(true);
+            this.future.cancel(false);
+        }
+
+    }
+
 }
@@ -0,0 +1,133 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.bukkit.queue;
+
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The block writes of a queued chunk, prepared off the main thread so that applying them only has to do the writes
+ * themselves. Holds regions that are filled with a single block at once, and single writes with their packed position and
+ * flags for how the block should be set.
+ */
+final class ChunkPlan {
+
+    /**
+     * The block is at the edge of the queued blocks and should cause updates
+     */
+    static final byte EDGE = 1;
+    /**
+     * Lighting should be updated for the block
+     */
+    static final byte LIGHTING = 2;
+    /**
+     * Lighting should be updated if the replaced block emits light, which can only be checked on the main thread
+     */
+    static final byte LIGHTING_IF_REPLACED = 4;
+
+    private final List<CuboidRegion> regions = new ArrayList<>();
+    private final List<BaseBlock> regionBlocks = new ArrayList<>();
+    private final List<Byte> regionFlags = new ArrayList<>();
+    private int[] positions = new int[64];
+    private BaseBlock[] blocks = new BaseBlock[64];
+    private byte[] flags = new byte[64];
+    private int size;
+
+    /**
+     * Pack a position relative to the chunk
+     *
+     * @param x    chunk relative x, 0-15
+     * @param y    world y
+     * @param z    chunk relative z, 0-15
+     * @param minY minimum y of the world
+     * @return the packed position
+     */
+    static int pack(final int x, final int y, final int z, final int minY) {
+        return (y - minY) << 8 | z << 4 | x;
+    }
+
+    static int unpackX(final int position) {
+        return position & 15;
+    }
+
+    static int unpackY(final int position, final int minY) {
+        return (position >>> 8) + minY;
+    }
+
+    static int unpackZ(final int position) {
+        return (position >> 4) & 15;
+    }
+
+    void addRegion(final @NonNull CuboidRegion region, final @NonNull BaseBlock block, final byte flags) {
+        this.regions.add(region);
+        this.regionBlocks.add(block);
+        this.regionFlags.add(flags);
+    }
+
+    void add(final int position, final @NonNull BaseBlock block, final byte flags) {
+        if (this.size == this.positions.length) {
+            final int length = this.size * 2;
+            this.positions = Arrays.copyOf(this.positions, length);
+            this.blocks = Arrays.copyOf(this.blocks, length);
+            this.flags = Arrays.copyOf(this.flags, length);
+        }
+        this.positions[this.size] = position;
+        this.blocks[this.size] = block;
+        this.flags[this.size] = flags;
+        this.size++;
+    }
+
+    int regionCount() {
+        return this.regions.size();
+    }
+
+    @NonNull CuboidRegion region(final int i) {
+        return this.regions.get(i);
+    }
+
+    @NonNull BaseBlock regionBlock(final int i) {
+        return this.regionBlocks.get(i);
+    }
+
+    byte regionFlags(final int i) {
+        return this.regionFlags.get(i);
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    int position(final int i) {
+        return this.positions[i];
+    }
+
+    @NonNull BaseBlock block(final int i) {
+        return this.blocks[i];
+    }
+
+    byte flags(final int i) {
+        return this.flags[i];
+    }
+
+}
@@ -50,6 +50,8 @@ import java.util.Arrays;
 @DoNotUse
 public class GenChunk extends ZeroedDelegateScopedQueueCoordinator {
 
+    private static final Biome[] BIOMES = Biome.values();
+
     public final Biome[] biomes;
     public BlockState[][] result;
     public BiomeGrid biomeGrid;
@@ -66,7 +68,7 @@ public class GenChunk extends ZeroedDelegateScopedQueueCoordinator {
      */
     public GenChunk(int minY, int maxY) {
         super(null, Location.at("", 0, minY, 0), Location.at("", 15, maxY, 15));
-        this.biomes = Biome.values();
+        this.biomes = BIOMES;
     }
 
     public @Nullable ChunkData getChunkData() {
@@ -138,7 +140,7 @@ public class GenChunk extends ZeroedDelegateScopedQueueCoordinator {
                 if (data == null) {
                     result[layer] = data = new BlockState[4096];
                 }
-                int start = y << 8;
+                int start = (y & 15) << 8;
                 int end = start + 256;
                 Arrays.fill(data, start, end, block);
             }
@@ -253,12 +255,17 @@ public class GenChunk extends ZeroedDelegateScopedQueueCoordinator {
 
     @Override
     public @NonNull Location getMax() {
-        return Location.at(getWorld().getName(), 15 + (getX() << 4), super.getMax().getY(), 15 + (getZ() << 4));
+        return Location.at(getWorldName(), 15 + (getX() << 4), super.getMax().getY(), 15 + (getZ() << 4));
     }
 
     @Override
     public @NonNull Location getMin() {
-        return Location.at(getWorld().getName(), getX() << 4, super.getMin().getY(), getZ() << 4);
+        return Location.at(getWorldName(), getX() << 4, super.getMin().getY(), getZ() << 4);
+    }
+
+    // Avoids looking up and adapting the Bukkit world, which generation threads would otherwise do for every chunk
+    private @NonNull String getWorldName() {
+        return chunk == null ? world : chunk.getWorld().getName();
     }
 
     public @NonNull GenChunk clone() {
@@ -0,0 +1,270 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.bukkit.util;
+
+import com.google.common.eventbus.Subscribe;
+import com.google.inject.Singleton;
+import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.events.post.PostPlotDeleteEvent;
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.util.entity.EntityCategories;
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.world.entity.EntityType;
+import org.bukkit.entity.Entity;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_ANIMAL;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_ENTITY;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_MISC;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_MOB;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_MONSTER;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_VEHICLE;
+
+/**
+ * Keeps count of the entities in each plot for the entity cap flags. Entities are added to the plot they are in when they
+ * are added to the world (spawned or loaded with their chunk), and removed from it when they leave the world. Entities
+ * moving between plots are not followed, so the counts of a plot are replaced by an actual count after
+ * {@link Settings.Paper_Components#ENTITY_COUNT_INTERVAL} seconds. Plots without counted entities, deleted plots and plots in
+ * unloaded worlds are forgotten until they are counted again.
+ *
+ * @since TODO
+ */
+@Singleton
+public class BukkitEntityCounter {
+
+    private final Map<Plot, PlotEntities> plots = new HashMap<>();
+    private final Map<UUID, PlotEntities> entities = new HashMap<>();
+    private volatile boolean enabled;
+
+    /**
+     * Get the caps an entity counts towards, as a bit mask of {@code 1 << cap} for the caps in {@link EntityCategories}
+     *
+     * @param entity Entity
+     * @return Caps of the entity, 0 if it does not count towards any cap
+     */
+    public static int getCaps(final @NonNull Entity entity) {
+        final EntityType entityType = BukkitAdapter.adapt(entity.getType());
+        if (EntityCategories.PLAYER.contains(entityType)) {
+            return 0;
+        }
+        int caps = 1 << CAP_ENTITY;
+        if (EntityCategories.PROJECTILE.contains(entityType) || EntityCategories.OTHER.contains(entityType)
+                || EntityCategories.HANGING.contains(entityType)) {
+            caps |= 1 << CAP_MISC;
+        } else if (EntityCategories.ANIMAL.contains(entityType) || EntityCategories.VILLAGER.contains(entityType)
+                || EntityCategories.TAMEABLE.contains(entityType)) {
+            caps |= 1 << CAP_MOB | 1 << CAP_ANIMAL;
+        } else if (EntityCategories.VEHICLE.contains(entityType)) {
+            caps |= 1 << CAP_VEHICLE;
+        } else if (EntityCategories.HOSTILE.contains(entityType)) {
+            caps |= 1 << CAP_MOB | 1 << CAP_MONSTER;
+        }
+        return caps;
+    }
+
+    static void count(final int @NonNull [] count, final int caps, final int amount) {
+        for (int cap = 0; cap < count.length; cap++) {
+            if ((caps & 1 << cap) != 0) {
+                count[cap] += amount;
+            }
+        }
+    }
+
+    /**
+     * Start counting entities. Must only be called once added and removed entities are passed to this counter.
+     */
+    public void enable() {
+        this.enabled = true;
+    }
+
+    /**
+     * Add an entity that was added to the world to the plot it is in
+     *
+     * @param entity Entity
+     */
+    public synchronized void add(final @NonNull Entity entity) {
+        if (!this.enabled) {
+            return;
+        }
+        remove(entity);
+        final int caps = getCaps(entity);
+        if (caps == 0) {
+            return;
+        }
+        final Location location = BukkitUtil.adapt(entity.getLocation());
+        final PlotArea area = location.getPlotArea();
+        final Plot plot = area == null ? null : area.getPlotAbs(location);
+        if (plot == null) {
+            return;
+        }
+        final PlotEntities plotEntities = this.plots.get(plot);
+        // Plots that were not counted yet are counted as a whole once they are queried
+        if (plotEntities != null) {
+            plotEntities.add(entity.getUniqueId(), caps);
+        }
+    }
+
+    /**
+     * Remove an entity that left the world from the plot it was counted in
+     *
+     * @param entity Entity
+     */
+    public synchronized void remove(final @NonNull Entity entity) {
+        final PlotEntities plotEntities = this.entities.remove(entity.getUniqueId());
+        if (plotEntities != null) {
+            plotEntities.remove(entity.getUniqueId());
+        }
+    }
+
+    /**
+     * Forget the counted entities of a deleted plot
+     *
+     * @param event Event
+     */
+    @Subscribe
+    public void onPostPlotDelete(final @NonNull PostPlotDeleteEvent event) {
+        remove(event.getPlot());
+    }
+
+    /**
+     * Forget the counted entities of a plot, for example because it was deleted
+     *
+     * @param plot Plot
+     */
+    public synchronized void remove(final @NonNull Plot plot) {
+        final PlotEntities plotEntities = this.plots.remove(plot);
+        if (plotEntities != null) {
+            plotEntities.discard();
+        }
+    }
+
+    /**
+     * Forget the counted entities of all plots in a world, for example because it was unloaded
+     *
+     * @param world World name
+     */
+    public synchronized void clear(final @NonNull String world) {
+        final Iterator<PlotEntities> iterator = this.plots.values().iterator();
+        while (iterator.hasNext()) {
+            final PlotEntities plotEntities = iterator.next();
+            if (world.equals(plotEntities.plot.getWorldName())) {
+                iterator.remove();
+                plotEntities.discard();
+            }
+        }
+    }
+
+    /**
+     * Get the entity counts of a plot, indexed by the caps in {@link EntityCategories}
+     *
+     * @param plot Plot
+     * @return Copy of the counts, or {@code null} if the plot has to be counted using {@link #reconcile(Plot, Collection)}
+     */
+    public synchronized int @Nullable [] getCounts(final @NonNull Plot plot) {
+        if (!this.enabled || Settings.Paper_Components.ENTITY_COUNT_INTERVAL <= 0) {
+            return null;
+        }
+        final PlotEntities plotEntities = this.plots.get(plot);
+        if (plotEntities == null) {
+            return null;
+        }
+        final long interval = TimeUnit.SECONDS.toNanos(Settings.Paper_Components.ENTITY_COUNT_INTERVAL);
+        if (System.nanoTime() - plotEntities.counted > interval) {
+            remove(plot);
+            return null;
+        }
+        return plotEntities.count.clone();
+    }
+
+    /**
+     * Replace the counted entities of a plot with the entities actually in it
+     *
+     * @param plot     Plot
+     * @param entities All entities in the plot
+     */
+    public synchronized void reconcile(final @NonNull Plot plot, final @NonNull Collection<Entity> entities) {
+        if (!this.enabled) {
+            return;
+        }
+        // Entities that moved to another plot are counted there once that plot is counted again
+        remove(plot);
+        final PlotEntities plotEntities = new PlotEntities(plot);
+        for (final Entity entity : entities) {
+            final int caps = getCaps(entity);
+            if (caps != 0 && entity.isValid()) {
+                plotEntities.add(entity.getUniqueId(), caps);
+            }
+        }
+        if (!plotEntities.caps.isEmpty()) {
+            this.plots.put(plot, plotEntities);
+        }
+    }
+
+    private final class PlotEntities {
+
+        private final Plot plot;
+        private final Map<UUID, Integer> caps = new HashMap<>();
+        private final int[] count = new int[6];
+        private final long counted = System.nanoTime();
+
+        private PlotEntities(final @NonNull Plot plot) {
+            this.plot = plot;
+        }
+
+        private void add(final @NonNull UUID uuid, final int entityCaps) {
+            final PlotEntities other = BukkitEntityCounter.this.entities.put(uuid, this);
+            if (other != null && other != this) {
+                other.remove(uuid);
+            }
+            final Integer previous = this.caps.put(uuid, entityCaps);
+            if (previous != null) {
+                count(this.count, previous, -1);
+            }
+            count(this.count, entityCaps, 1);
+        }
+
+        private void remove(final @NonNull UUID uuid) {
+            final Integer previous = this.caps.remove(uuid);
+            if (previous != null) {
+                count(this.count, previous, -1);
+                if (this.caps.isEmpty()) {
+                    BukkitEntityCounter.this.plots.remove(this.plot, this);
+                }
+            }
+        }
+
+        private void discard() {
+            for (final UUID uuid : this.caps.keySet()) {
+                BukkitEntityCounter.this.entities.remove(uuid, this);
+            }
+        }
+
+    }
+
+}
@@ -34,9 +34,7 @@ import com.plotsquared.core.queue.ZeroedDelegateScopedQueueCoordinator;
 import com.plotsquared.core.util.ChunkManager;
 import com.plotsquared.core.util.RegionManager;
 import com.plotsquared.core.util.WorldUtil;
-import com.plotsquared.core.util.entity.EntityCategories;
 import com.plotsquared.core.util.task.RunnableVal;
-import com.sk89q.worldedit.bukkit.BukkitAdapter;
 import com.sk89q.worldedit.bukkit.BukkitWorld;
 import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldedit.world.block.BaseBlock;
@@ -55,25 +53,20 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-import static com.plotsquared.core.util.entity.EntityCategories.CAP_ANIMAL;
-import static com.plotsquared.core.util.entity.EntityCategories.CAP_ENTITY;
-import static com.plotsquared.core.util.entity.EntityCategories.CAP_MISC;
-import static com.plotsquared.core.util.entity.EntityCategories.CAP_MOB;
-import static com.plotsquared.core.util.entity.EntityCategories.CAP_MONSTER;
-import static com.plotsquared.core.util.entity.EntityCategories.CAP_VEHICLE;
-
 @Singleton
 public class BukkitRegionManager extends RegionManager {
 
     private final GlobalBlockQueue blockQueue;
+    private final BukkitEntityCounter entityCounter;
 
     @Inject
     public BukkitRegionManager(
             @NonNull WorldUtil worldUtil, @NonNull GlobalBlockQueue blockQueue, @NonNull
-    ProgressSubscriberFactory subscriberFactory
+    ProgressSubscriberFactory subscriberFactory, @NonNull BukkitEntityCounter entityCounter
     ) {
         super(worldUtil, blockQueue, subscriberFactory);
         this.blockQueue = blockQueue;
+        this.entityCounter = entityCounter;
     }
 
     @Override
@@ -88,6 +81,10 @@ public class BukkitRegionManager extends RegionManager {
 
     @Override
     public int[] countEntities(@NonNull Plot plot) {
+        int[] counted = this.entityCounter.getCounts(plot);
+        if (counted != null) {
+            return counted;
+        }
         int[] existing = (int[]) plot.getMeta("EntityCount");
         if (existing != null && (System.currentTimeMillis() - (long) plot.getMeta("EntityCountTime") < 1000)) {
             return existing;
@@ -142,6 +139,7 @@ public class BukkitRegionManager extends RegionManager {
                 });
             }
         } else {
+            List<Entity> inPlot = new ArrayList<>();
             for (Chunk chunk : chunks) {
                 int X = chunk.getX();
                 int Z = chunk.getZ();
@@ -151,12 +149,15 @@ public class BukkitRegionManager extends RegionManager {
                         Plot other = area.getPlot(BukkitUtil.adapt(entity.getLocation()));
                         if (plot.equals(other)) {
                             count(count, entity);
+                            inPlot.add(entity);
                         }
                     } else {
                         count(count, entity);
+                        inPlot.add(entity);
                     }
                 }
             }
+            this.entityCounter.reconcile(plot, inPlot);
         }
         return count;
     }
@@ -323,24 +324,7 @@ public class BukkitRegionManager extends RegionManager {
     }
 
     private void count(int[] count, @NonNull Entity entity) {
-        final com.sk89q.worldedit.world.entity.EntityType entityType = BukkitAdapter.adapt(entity.getType());
-
-        if (EntityCategories.PLAYER.contains(entityType)) {
-            return;
-        } else if (EntityCategories.PROJECTILE.contains(entityType) || EntityCategories.OTHER.contains(entityType) || EntityCategories.HANGING
-                .contains(entityType)) {
-            count[CAP_MISC]++;
-        } else if (EntityCategories.ANIMAL.contains(entityType) || EntityCategories.VILLAGER.contains(entityType) || EntityCategories.TAMEABLE
-                .contains(entityType)) {
-            count[CAP_MOB]++;
-            count[CAP_ANIMAL]++;
-        } else if (EntityCategories.VEHICLE.contains(entityType)) {
-            count[CAP_VEHICLE]++;
-        } else if (EntityCategories.HOSTILE.contains(entityType)) {
-            count[CAP_MOB]++;
-            count[CAP_MONSTER]++;
-        }
-        count[CAP_ENTITY]++;
+        BukkitEntityCounter.count(count, BukkitEntityCounter.getCaps(entity), 1);
     }
 
 }
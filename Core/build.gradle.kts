@@ -1,5 +1,10 @@
 import java.time.format.DateTimeFormatter
 
+plugins {
+    // Benchmarks in src/jmh, run with ./gradlew :plotsquared-core:jmh
+    alias(libs.plugins.jmh)
+}
+
 dependencies {
     // Expected everywhere.
     compileOnlyApi(libs.checkerqual)
@@ -0,0 +1,111 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link PlotIdMap} against the {@link ConcurrentHashMap} previously used to store the plots of an area.
+ * The claimed ids form a spiral around the origin, like plots claimed through auto.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlotIdMapBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    @Param({"10000", "100000", "500000"})
+    private int plots;
+
+    private Map<PlotId, Object> concurrentHashMap;
+    private PlotIdMap<Object> plotIdMap;
+    private int[] lookupX;
+    private int[] lookupY;
+
+    @Setup
+    public void setup() {
+        this.concurrentHashMap = new ConcurrentHashMap<>();
+        this.plotIdMap = new PlotIdMap<>();
+        PlotId id = PlotId.of(0, 0);
+        for (int i = 0; i < this.plots; i++) {
+            final Object value = new Object();
+            this.concurrentHashMap.put(id, value);
+            this.plotIdMap.put(id, value);
+            id = id.getNextId();
+        }
+        // The claimed spiral covers about a quarter of the looked up square, the other lookups miss
+        final int radius = (int) Math.sqrt(this.plots) / 2;
+        final Random random = new Random(0);
+        this.lookupX = new int[LOOKUPS];
+        this.lookupY = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            this.lookupX[i] = random.nextInt(4 * radius + 1) - 2 * radius;
+            this.lookupY[i] = random.nextInt(4 * radius + 1) - 2 * radius;
+        }
+    }
+
+    @Benchmark
+    public void concurrentHashMapGet(final Blackhole blackhole) {
+        for (int i = 0; i < LOOKUPS; i++) {
+            blackhole.consume(this.concurrentHashMap.get(PlotId.of(this.lookupX[i], this.lookupY[i])));
+        }
+    }
+
+    @Benchmark
+    public void plotIdMapGet(final Blackhole blackhole) {
+        for (int i = 0; i < LOOKUPS; i++) {
+            blackhole.consume(this.plotIdMap.get(this.lookupX[i], this.lookupY[i]));
+        }
+    }
+
+    @Benchmark
+    public void concurrentHashMapIterate(final Blackhole blackhole) {
+        for (final Object value : this.concurrentHashMap.values()) {
+            blackhole.consume(value);
+        }
+    }
+
+    @Benchmark
+    public void plotIdMapIterate(final Blackhole blackhole) {
+        for (final Object value : this.plotIdMap.values()) {
+            blackhole.consume(value);
+        }
+    }
+
+}
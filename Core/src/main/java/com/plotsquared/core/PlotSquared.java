@@ -105,7 +105,11 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.zip.ZipEntry;
@@ -132,6 +136,8 @@ public class PlotSquared {
     // Localization
     private final Map<String, CaptionMap> captionMaps = new HashMap<>();
     public HashMap<String, HashMap<PlotId, Plot>> plots_tmp;
+    // Plots of the configured areas that are loaded in the background when lazy loading is enabled
+    private final Map<String, CompletableFuture<HashMap<PlotId, Plot>>> plotPrefetch = new ConcurrentHashMap<>();
     private CaptionLoader captionLoader;
     // WorldEdit instance
     private WorldEdit worldedit;
@@ -354,6 +360,9 @@ public class PlotSquared {
      */
     @SuppressWarnings("unchecked")
     public void addPlotArea(final @NonNull PlotArea plotArea) {
+        if (Storage.LAZY_LOAD) {
+            loadPlotsTmp(plotArea);
+        }
         HashMap<PlotId, Plot> plots;
         if (plots_tmp == null || (plots = plots_tmp.remove(plotArea.toString())) == null) {
             if (plotArea.getType() == PlotAreaType.PARTIAL) {
@@ -455,14 +464,156 @@ public class PlotSquared {
         }
     }
 
+    /**
+     * Load the plots of an area from the database, unless they are already held in {@link #plots_tmp}.
+     * Plots of partial areas that are stored under the world name are loaded as well.
+     * <p>
+     * This blocks until the plots have been loaded, as the area must not be used without its plots. The time spent
+     * waiting is logged when it exceeds a tick, or always in debug mode.
+     */
+    private void loadPlotsTmp(final @NonNull PlotArea area) {
+        if (DBFunc.dbManager == null) {
+            return;
+        }
+        final long start = System.nanoTime();
+        if (this.plots_tmp == null) {
+            this.plots_tmp = new HashMap<>();
+        }
+        final List<String> keys = new ArrayList<>(2);
+        if (!this.plots_tmp.containsKey(area.toString())) {
+            keys.add(area.toString());
+        }
+        if (area.getType() == PlotAreaType.PARTIAL && !this.plots_tmp.containsKey(area.getWorldName())) {
+            keys.add(area.getWorldName());
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+        final List<String> query = new ArrayList<>(keys.size());
+        for (final String key : keys) {
+            final CompletableFuture<HashMap<PlotId, Plot>> prefetched = this.plotPrefetch.remove(key);
+            if (prefetched == null) {
+                query.add(key);
+                continue;
+            }
+            try {
+                putPlotsTmp(key, prefetched.join());
+            } catch (CompletionException e) {
+                LOGGER.error("Failed to load the plots of {} in the background", key, e);
+                query.add(key);
+            }
+        }
+        if (!query.isEmpty()) {
+            // Areas that were not configured on startup, or have been unloaded since, are read right away
+            final HashMap<String, HashMap<PlotId, Plot>> loaded = DBFunc.getPlots(query);
+            for (final String key : query) {
+                putPlotsTmp(key, loaded.get(key));
+            }
+        }
+        final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (millis > 50 || Settings.DEBUG) {
+            LOGGER.info(
+                    "Waited {}ms for the plots of {} to load from the database ({} of {} read while adding the area)",
+                    millis,
+                    area,
+                    query.size(),
+                    keys.size()
+            );
+        }
+    }
+
+    private void putPlotsTmp(final @NonNull String key, final @Nullable HashMap<PlotId, Plot> plots) {
+        // Only keys with plots are stored, addPlotArea falls back to the world key for partial areas otherwise
+        if (plots != null && !plots.isEmpty()) {
+            this.plots_tmp.put(key, plots);
+        }
+    }
+
+    /**
+     * Start loading the plots of all areas in the worlds configuration, so that adding the areas
+     * during the world load does not have to wait for the database.
+     */
+    private void prefetchPlots() {
+        final ConfigurationSection worlds = this.worldConfiguration.getConfigurationSection("worlds");
+        if (worlds == null) {
+            return;
+        }
+        final List<String> keys = new ArrayList<>();
+        for (final String world : worlds.getKeys(false)) {
+            keys.add(world);
+            final ConfigurationSection areas = worlds.getConfigurationSection(world + ".areas");
+            if (areas == null) {
+                continue;
+            }
+            for (final String areaId : areas.getKeys(false)) {
+                final String[] split = areaId.split("(?<=[^;-])-");
+                if (split.length == 3 && !split[0].isEmpty()) {
+                    keys.add(world + ';' + split[0]);
+                }
+            }
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+        final CompletableFuture<HashMap<String, HashMap<PlotId, Plot>>> load = new CompletableFuture<>();
+        for (final String key : keys) {
+            this.plotPrefetch.put(key, load.thenApply(loaded -> loaded.get(key)));
+        }
+        // Not run through the TaskManager, as its async tasks may only start once the server ticks
+        final Thread thread = new Thread(() -> {
+            try {
+                load.complete(DBFunc.getPlots(keys));
+            } catch (Throwable e) {
+                load.completeExceptionally(e);
+            }
+        }, "PlotSquared Plot Prefetch");
+        thread.setDaemon(true);
+        thread.start();
+        // Areas that were not added while the server started are loaded again once their world is loaded
+        TaskManager.runTask(this.plotPrefetch::clear);
+    }
+
+    /**
+     * Evict plots that are held in {@link #plots_tmp}. Plots with writes that have not been committed yet
+     * are kept until the database has caught up, as they would be loaded without these changes otherwise.
+     */
+    private void evictPlotsTmp(final @NonNull String key, final @NonNull HashMap<PlotId, Plot> plots) {
+        if (!DBFunc.hasPendingWrites(plots.values())) {
+            this.plots_tmp.remove(key, plots);
+            return;
+        }
+        this.plots_tmp.put(key, plots);
+        DBFunc.addNotifyTask(() -> {
+            // Unless the area has been added again in the meantime
+            if (this.plots_tmp.get(key) == plots) {
+                evictPlotsTmp(key, plots);
+            }
+        });
+    }
+
     private void setPlotsTmp(final @NonNull PlotArea area) {
         if (this.plots_tmp == null) {
             this.plots_tmp = new HashMap<>();
         }
-        HashMap<PlotId, Plot> map =
-                this.plots_tmp.computeIfAbsent(area.toString(), k -> new HashMap<>());
-        for (Plot plot : area.getPlots()) {
-            map.put(plot.getId(), plot);
+        if (Storage.LAZY_LOAD) {
+            // Evict the plots, they are loaded from the database again once the area is added
+            final HashMap<PlotId, Plot> plots = new HashMap<>();
+            for (Plot plot : area.getPlots()) {
+                plots.put(plot.getId(), plot);
+            }
+            evictPlotsTmp(area.toString(), plots);
+            if (area.getType() == PlotAreaType.PARTIAL) {
+                final HashMap<PlotId, Plot> worldPlots = this.plots_tmp.get(area.getWorldName());
+                if (worldPlots != null) {
+                    evictPlotsTmp(area.getWorldName(), worldPlots);
+                }
+            }
+        } else {
+            HashMap<PlotId, Plot> map =
+                    this.plots_tmp.computeIfAbsent(area.toString(), k -> new HashMap<>());
+            for (Plot plot : area.getPlots()) {
+                map.put(plot.getId(), plot);
+            }
         }
         if (this.clustersTmp == null) {
             this.clustersTmp = new HashMap<>();
@@ -1309,7 +1460,11 @@ public class PlotSquared {
                     this.plotListener,
                     this.worldConfiguration
             );
-            this.plots_tmp = DBFunc.getPlots();
+            // With lazy loading, the plots of each area are loaded once the area is added
+            this.plots_tmp = Storage.LAZY_LOAD ? new HashMap<>() : DBFunc.getPlots();
+            if (Storage.LAZY_LOAD) {
+                prefetchPlots();
+            }
             if (getPlotAreaManager() instanceof SinglePlotAreaManager) {
                 SinglePlotArea area = ((SinglePlotAreaManager) getPlotAreaManager()).getArea();
                 addPlotArea(area);
@@ -28,6 +28,7 @@ import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotManager;
 import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.queue.QueuePriority;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.tag.Tag;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
@@ -106,6 +107,7 @@ public class DebugRoadRegen extends SubCommand {
         } else {
             PlotManager manager = area.getPlotManager();
             QueueCoordinator queue = area.getQueue();
+            queue.setPriority(QueuePriority.HIGH);
             queue.setCompleteTask(() -> {
                 player.sendMessage(
                         TranslatableCaption.of("debugroadregen.regen_done"),
@@ -218,6 +218,19 @@ public class Settings extends Config {
     }
 
 
+    @Comment("Settings relating to the plot expiry task")
+    public static final class Expiry {
+
+        @Comment({"Number of plots handled at the same time by the expiry task.",
+                "Each plot analysis runs as a queue, so this is also limited by queue.max-active-queues",
+                "and the chunks loaded by all analyses by queue.max-chunk-loads."})
+        public static int ANALYSIS_WORKERS = 4;
+        @Comment("Remember the progress of the expiry task, so it continues where it left off after a restart")
+        public static boolean RESUME_PROGRESS = true;
+
+    }
+
+
     @Comment({"Chunk processor related settings",
             "See https://intellectualsites.gitbook.io/plotsquared/optimization/chunk-processor for more information."})
     public static class Chunk_Processor {
@@ -668,18 +681,27 @@ public class Settings extends Config {
         public static boolean TILE_ENTITY_CHECK = true;
         @Comment("Use Paper's async tab completion")
         public static boolean ASYNC_TAB_COMPLETION;
+        @Comment({"Keep count of the entities in each plot for the entity cap flags, instead of counting them on spawns.",
+                "Entities moving to another plot are not followed, so the counts of a plot are checked against the",
+                "entities in it after this many seconds. Set to 0 to always count the entities."})
+        public static int ENTITY_COUNT_INTERVAL = 60;
 
     }
 
     @Comment("Settings relating to PlotSquared's GlobalBlockQueue")
     public static final class QUEUE {
 
-        @Comment({"Average time per tick spent completing chunk tasks in ms.",
-                "Queue will adjust the batch size to match this."})
+        @Comment({"Maximum time per tick spent completing chunk tasks in ms, shared by all running queues.",
+                "Less time is used when the server does not have this much time left in a tick."})
         public static int MAX_ITERATION_TIME = 30;
-        @Comment({"Initial number of chunks to process by the queue. This can be increased or",
-                "decreased by the queue based on the actual iteration time compared to above."})
+        @Comment({"Initial number of chunks to load at once by the queue. This is increased while",
+                "there is time left in a tick and halved when the queue exceeds its time."})
         public static int INITIAL_BATCH_SIZE = 5;
+        @Comment({"Maximum number of queues processed at the same time. Further queues wait until one finishes,",
+                "queues of a higher priority (staff before players before background tasks) first."})
+        public static int MAX_ACTIVE_QUEUES = 8;
+        @Comment("Maximum number of chunks loading at the same time for all running queues")
+        public static int MAX_CHUNK_LOADS = 64;
         @Comment("Notify progress of the queue to the player or console.")
         public static boolean NOTIFY_PROGRESS = true;
         @Comment("Interval in ms to notify player or console of progress.")
@@ -26,6 +26,9 @@ import java.util.List;
 public class Storage extends Config {
 
     public static String PREFIX = "";
+    @Comment({"Only load the plots of an area once its world is loaded, and unload them again with the world",
+            "Saves memory on servers with many plot worlds that are not loaded all the time"})
+    public static boolean LAZY_LOAD = false;
 
     public static void save(File file) {
         save(file, Storage.class);
@@ -63,4 +66,17 @@ public class Storage extends Config {
 
     }
 
+    @Comment({"Connection pool used to read from the database concurrently to writes",
+            "SQLite databases are switched to WAL mode while the pool is enabled"})
+    public static final class Pool {
+
+        @Comment("Maximum number of pooled connections, set to 0 to read through the main connection")
+        public static int MAX_SIZE = 4;
+        @Comment("Time in seconds after which unused pooled connections are closed")
+        public static int IDLE_TIMEOUT = 600;
+        @Comment("Time in seconds to wait for an idle connection to be validated before it is reused")
+        public static int VALIDATION_TIMEOUT = 5;
+
+    }
+
 }
@@ -25,8 +25,10 @@ import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.plot.comment.PlotComment;
 import com.plotsquared.core.plot.flag.PlotFlag;
 import com.plotsquared.core.util.task.RunnableVal;
+import com.plotsquared.core.util.task.TaskManager;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -139,6 +141,37 @@ public interface AbstractDB {
      */
     HashMap<String, HashMap<PlotId, Plot>> getPlots();
 
+    /**
+     * Load the plots of the given areas only.
+     *
+     * @param areas the areas to load, as returned by {@link com.plotsquared.core.plot.PlotArea#toString()}
+     * @return A HashMap containing the plots of the areas that have plots
+     */
+    HashMap<String, HashMap<PlotId, Plot>> getPlots(Collection<String> areas);
+
+    /**
+     * Check whether writes of any of the given plots may not have been committed yet.
+     *
+     * @param plots the plots to check
+     * @return {@code true} if reading the plots from the database again could miss some of their changes
+     * @since TODO
+     */
+    default boolean hasPendingWrites(@NonNull Collection<Plot> plots) {
+        return false;
+    }
+
+    /**
+     * Run a task on the main thread once all queued writes have been committed.
+     *
+     * @param task the task to run
+     * @since TODO
+     */
+    default void addNotifyTask(Runnable task) {
+        if (task != null) {
+            TaskManager.runTask(task);
+        }
+    }
+
     /**
      * @param toValidate
      */
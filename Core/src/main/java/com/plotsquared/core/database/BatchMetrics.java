@@ -0,0 +1,158 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.database;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics about the batches written by the {@link SQLManager} write-behind queue.
+ */
+public final class BatchMetrics {
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong statements = new AtomicLong();
+    private final AtomicLong totalCommitNanos = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private volatile int lastBatchSize;
+    private volatile int maxBatchSize;
+    private volatile long lastCommitNanos;
+    private volatile long maxCommitNanos;
+
+    BatchMetrics() {
+    }
+
+    /**
+     * Record a committed batch. Only called from the thread sending the batches.
+     *
+     * @param size        number of statements in the batch
+     * @param commitNanos time spent committing the batch, in nanoseconds
+     */
+    void recordBatch(final int size, final long commitNanos) {
+        this.batches.incrementAndGet();
+        this.statements.addAndGet(size);
+        this.totalCommitNanos.addAndGet(commitNanos);
+        this.lastBatchSize = size;
+        this.lastCommitNanos = commitNanos;
+        if (size > this.maxBatchSize) {
+            this.maxBatchSize = size;
+        }
+        if (commitNanos > this.maxCommitNanos) {
+            this.maxCommitNanos = commitNanos;
+        }
+    }
+
+    /**
+     * Record a queued statement that was dropped because it was superseded by a newer one.
+     */
+    void recordCoalesced() {
+        this.coalesced.incrementAndGet();
+    }
+
+    /**
+     * Get the number of batches committed since the database was opened.
+     *
+     * @return committed batches
+     */
+    public long getBatchCount() {
+        return this.batches.get();
+    }
+
+    /**
+     * Get the number of statements committed since the database was opened.
+     *
+     * @return committed statements
+     */
+    public long getStatementCount() {
+        return this.statements.get();
+    }
+
+    /**
+     * Get the number of queued statements that were dropped because a newer statement
+     * for the same value was queued before they were sent.
+     *
+     * @return coalesced statements
+     */
+    public long getCoalescedCount() {
+        return this.coalesced.get();
+    }
+
+    /**
+     * Get the number of statements in the last committed batch.
+     *
+     * @return last batch size
+     */
+    public int getLastBatchSize() {
+        return this.lastBatchSize;
+    }
+
+    /**
+     * Get the largest number of statements committed in a single batch.
+     *
+     * @return maximum batch size
+     */
+    public int getMaxBatchSize() {
+        return this.maxBatchSize;
+    }
+
+    /**
+     * Get the time it took to commit the last batch.
+     *
+     * @param unit unit to return the time in
+     * @return last commit latency
+     */
+    public long getLastCommitLatency(final TimeUnit unit) {
+        return unit.convert(this.lastCommitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the longest time it took to commit a batch.
+     *
+     * @param unit unit to return the time in
+     * @return maximum commit latency
+     */
+    public long getMaxCommitLatency(final TimeUnit unit) {
+        return unit.convert(this.maxCommitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the average time it took to commit a batch.
+     *
+     * @param unit unit to return the time in
+     * @return average commit latency, or {@code 0} if nothing was committed yet
+     */
+    public long getAverageCommitLatency(final TimeUnit unit) {
+        final long count = this.batches.get();
+        if (count == 0) {
+            return 0;
+        }
+        return unit.convert(this.totalCommitNanos.get() / count, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchMetrics{batches=" + getBatchCount() + ", statements=" + getStatementCount()
+                + ", coalesced=" + getCoalescedCount()
+                + ", lastBatchSize=" + getLastBatchSize() + ", maxBatchSize=" + getMaxBatchSize()
+                + ", lastCommitMs=" + getLastCommitLatency(TimeUnit.MILLISECONDS)
+                + ", averageCommitMs=" + getAverageCommitLatency(TimeUnit.MILLISECONDS)
+                + ", maxCommitMs=" + getMaxCommitLatency(TimeUnit.MILLISECONDS) + '}';
+    }
+
+}
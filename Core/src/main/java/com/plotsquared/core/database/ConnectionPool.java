@@ -0,0 +1,270 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.database;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded pool of database connections, opened through {@link Database#createConnection()}.
+ * <p>
+ * The pool is used by {@link SQLManager} to run reads concurrently to the batched writes,
+ * which keep using the main connection of the database. Connections are validated before
+ * they are handed out again after being idle, and closed once they have been idle for longer
+ * than the configured timeout.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + ConnectionPool.class.getSimpleName());
+
+    /**
+     * Connections that were returned less than this many nanoseconds ago are not validated again.
+     */
+    private static final long VALIDATION_BYPASS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final Database database;
+    private final int maxSize;
+    private final long idleTimeout;
+    private final int validationTimeout;
+    private final Semaphore permits;
+    // Most recently returned connections first, so that rarely used connections expire
+    private final Deque<IdleConnection> idle = new ArrayDeque<>();
+    private volatile boolean closed = false;
+
+    /**
+     * Create a new connection pool.
+     *
+     * @param database          database to open connections to
+     * @param maxSize           maximum number of connections handed out at the same time
+     * @param idleTimeout       time in seconds after which idle connections are closed
+     * @param validationTimeout time in seconds to wait for an idle connection to be validated
+     */
+    public ConnectionPool(
+            final @NonNull Database database,
+            final int maxSize,
+            final int idleTimeout,
+            final int validationTimeout
+    ) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        this.database = database;
+        this.maxSize = maxSize;
+        this.idleTimeout = TimeUnit.SECONDS.toNanos(idleTimeout);
+        this.validationTimeout = validationTimeout;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Borrow a connection from the pool, blocking until one is available. The connection is returned
+     * to the pool once the lease is closed.
+     *
+     * @return connection lease
+     * @throws SQLException if no connection could be opened
+     */
+    public @NonNull Lease acquire() throws SQLException {
+        if (this.closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        try {
+            this.permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        try {
+            Connection connection = takeIdle();
+            if (connection == null) {
+                connection = this.database.createConnection();
+            }
+            return new Lease(connection);
+        } catch (SQLException | ClassNotFoundException | RuntimeException e) {
+            this.permits.release();
+            if (e instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new SQLException("Failed to open a database connection", e);
+        }
+    }
+
+    /**
+     * Close all connections that have been idle for longer than the idle timeout.
+     */
+    public void evictIdle() {
+        final long now = System.nanoTime();
+        synchronized (this.idle) {
+            final Iterator<IdleConnection> iterator = this.idle.descendingIterator();
+            while (iterator.hasNext()) {
+                final IdleConnection connection = iterator.next();
+                if (now - connection.since() < this.idleTimeout) {
+                    // The remaining connections were returned more recently
+                    break;
+                }
+                iterator.remove();
+                closeQuietly(connection.connection());
+            }
+        }
+    }
+
+    /**
+     * Get the maximum number of connections handed out at the same time.
+     *
+     * @return maximum pool size
+     */
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    /**
+     * Get the number of connections that are currently handed out.
+     *
+     * @return number of active connections
+     */
+    public int getActiveCount() {
+        return this.maxSize - this.permits.availablePermits();
+    }
+
+    /**
+     * Get the number of open connections that are currently unused.
+     *
+     * @return number of idle connections
+     */
+    public int getIdleCount() {
+        synchronized (this.idle) {
+            return this.idle.size();
+        }
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        synchronized (this.idle) {
+            for (final IdleConnection connection : this.idle) {
+                closeQuietly(connection.connection());
+            }
+            this.idle.clear();
+        }
+    }
+
+    private @Nullable Connection takeIdle() {
+        while (true) {
+            final IdleConnection candidate;
+            synchronized (this.idle) {
+                candidate = this.idle.pollFirst();
+            }
+            if (candidate == null) {
+                return null;
+            }
+            final long idleTime = System.nanoTime() - candidate.since();
+            if (idleTime >= this.idleTimeout) {
+                closeQuietly(candidate.connection());
+                continue;
+            }
+            if (idleTime < VALIDATION_BYPASS || isValid(candidate.connection())) {
+                return candidate.connection();
+            }
+            closeQuietly(candidate.connection());
+        }
+    }
+
+    private boolean isValid(final @NonNull Connection connection) {
+        try {
+            return !connection.isClosed() && connection.isValid(this.validationTimeout);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(final @NonNull Connection connection) {
+        try {
+            if (this.closed || connection.isClosed()) {
+                closeQuietly(connection);
+                return;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            synchronized (this.idle) {
+                this.idle.addFirst(new IdleConnection(connection, System.nanoTime()));
+            }
+        } catch (SQLException e) {
+            closeQuietly(connection);
+        } finally {
+            this.permits.release();
+        }
+        evictIdle();
+    }
+
+    private static void closeQuietly(final @NonNull Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LOGGER.debug("Failed to close pooled database connection", e);
+        }
+    }
+
+    private record IdleConnection(Connection connection, long since) {
+
+    }
+
+    /**
+     * A connection borrowed from a {@link ConnectionPool}. Closing the lease returns
+     * the connection to the pool, it must not be closed directly.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final Connection connection;
+        private boolean released = false;
+
+        private Lease(final @NonNull Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * Get the borrowed connection.
+         *
+         * @return connection
+         */
+        public @NonNull Connection connection() {
+            return this.connection;
+        }
+
+        @Override
+        public void close() {
+            if (this.released) {
+                return;
+            }
+            this.released = true;
+            release(this.connection);
+        }
+
+    }
+
+}
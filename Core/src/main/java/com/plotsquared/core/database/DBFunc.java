@@ -25,10 +25,12 @@ import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.plot.comment.PlotComment;
 import com.plotsquared.core.plot.flag.PlotFlag;
 import com.plotsquared.core.util.task.RunnableVal;
+import com.plotsquared.core.util.task.TaskManager;
 
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -320,6 +322,39 @@ public class DBFunc {
         return DBFunc.dbManager.getPlots();
     }
 
+    /**
+     * @param areas the areas to load
+     * @return Plots of the given areas
+     */
+    public static HashMap<String, HashMap<PlotId, Plot>> getPlots(Collection<String> areas) {
+        if (dbManager == null) {
+            return new HashMap<>();
+        }
+        return DBFunc.dbManager.getPlots(areas);
+    }
+
+    /**
+     * @param plots the plots to check
+     * @return {@code true} if writes of any of the plots may not have been committed yet
+     */
+    public static boolean hasPendingWrites(Collection<Plot> plots) {
+        if (dbManager == null) {
+            return false;
+        }
+        return DBFunc.dbManager.hasPendingWrites(plots);
+    }
+
+    /**
+     * @param task the task to run on the main thread once all queued writes have been committed
+     */
+    public static void addNotifyTask(Runnable task) {
+        if (dbManager == null) {
+            TaskManager.runTask(task);
+            return;
+        }
+        DBFunc.dbManager.addNotifyTask(task);
+    }
+
     public static void setMerged(Plot plot, boolean[] merged) {
         if (plot.temp == -1 || dbManager == null) {
             return;
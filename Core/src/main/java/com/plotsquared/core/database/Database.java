@@ -21,6 +21,7 @@ package com.plotsquared.core.database;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Statement;
 
 /**
@@ -33,6 +34,20 @@ public abstract class Database {
 
     public abstract Connection forceConnection() throws SQLException, ClassNotFoundException;
 
+    /**
+     * Opens a new connection with the database, independent of the connection
+     * managed by this instance. The caller is responsible for closing it.
+     * Databases that do not override this method are read through their single connection.
+     *
+     * @return Opened connection
+     * @throws SQLException           if the connection can not be opened, or the database does not support it
+     * @throws ClassNotFoundException if the driver cannot be found
+     * @since TODO
+     */
+    public Connection createConnection() throws SQLException, ClassNotFoundException {
+        throw new SQLFeatureNotSupportedException(getClass().getSimpleName() + " does not support additional connections");
+    }
+
     /**
      * Opens a connection with the database.
      *
@@ -47,18 +47,21 @@ import com.plotsquared.core.util.task.TaskManager;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Statement;
 import java.sql.Timestamp;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -72,13 +75,35 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 
 @SuppressWarnings("SqlDialectInspection")
 public class SQLManager implements AbstractDB {
 
     private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + SQLManager.class.getSimpleName());
+    /**
+     * Maximum number of queued statements sent in one transaction
+     */
+    private static final int MAX_BATCH_SIZE = 10000;
+    /**
+     * Time in milliseconds the writer waits for new tasks before checking the connection pool
+     */
+    private static final long IDLE_TIMEOUT = 1000;
+    /**
+     * Number of rows fetched per round trip while loading plots from SQLite
+     */
+    private static final int LOAD_FETCH_SIZE = 1000;
+    /**
+     * Maximum number of connections the flag table is split across while loading plots
+     */
+    private static final int LOAD_MAX_FLAG_PARTITIONS = 4;
 
     // Public final
     public final String SET_OWNER;
@@ -128,6 +153,19 @@ public class SQLManager implements AbstractDB {
      * cluster_settings
      */
     public volatile ConcurrentHashMap<PlotCluster, Queue<UniqueStatement>> clusterTasks;
+    /**
+     * Held while a batch is sent through the main connection
+     */
+    private final ReentrantLock batchLock = new ReentrantLock();
+    /**
+     * Set while statements taken from the task queues may not have been committed yet
+     */
+    private volatile boolean sending = false;
+    private final BatchMetrics batchMetrics = new BatchMetrics();
+    /**
+     * Pool used for reads that do not need to see uncommitted writes, or null if pooling is disabled
+     */
+    private final ConnectionPool readPool;
     // Private
     private Connection connection;
     private boolean supportsGetGeneratedKeys;
@@ -164,6 +202,7 @@ public class SQLManager implements AbstractDB {
         this.playerTasks = new ConcurrentHashMap<>();
         this.clusterTasks = new ConcurrentHashMap<>();
         this.prefix = prefix;
+        this.readPool = createReadPool(database);
 
         if (mySQL && !supportsGetGeneratedKeys) {
             String driver = databaseMetaData.getDriverName();
@@ -216,39 +255,83 @@ public class SQLManager implements AbstractDB {
         TaskManager.runTaskAsync(() -> {
             long last = System.currentTimeMillis();
             while (!SQLManager.this.closed) {
-                boolean hasTask =
-                        !globalTasks.isEmpty() || !playerTasks.isEmpty() || !plotTasks.isEmpty()
-                                || !clusterTasks.isEmpty();
-                if (hasTask) {
-                    if (SQLManager.this.mySQL && System.currentTimeMillis() - last > 550000
-                            || !isValid()) {
-                        last = System.currentTimeMillis();
-                        reconnect();
+                if (!awaitTasks()) {
+                    if (this.readPool != null) {
+                        this.readPool.evictIdle();
                     }
-                    if (!sendBatch()) {
+                    continue;
+                }
+                if (SQLManager.this.mySQL && System.currentTimeMillis() - last > 550000
+                        || !isValid()) {
+                    last = System.currentTimeMillis();
+                    reconnect();
+                }
+                if (!sendBatch()) {
+                    // Everything has been written, let the waiting tasks know
+                    Runnable task;
+                    while ((task = getNotifyTasks().poll()) != null) {
+                        TaskManager.runTask(task);
+                    }
+                    if (hasTasks()) {
+                        // Nothing could be written, don't spin while the database is unavailable
                         try {
-                            if (!getNotifyTasks().isEmpty()) {
-                                for (Runnable task : getNotifyTasks()) {
-                                    TaskManager.runTask(task);
-                                }
-                                getNotifyTasks().clear();
-                            }
                             Thread.sleep(50);
                         } catch (InterruptedException e) {
                             e.printStackTrace();
                         }
                     }
-                } else {
-                    try {
-                        Thread.sleep(1000);
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
-                    }
                 }
             }
         });
     }
 
+    private ConnectionPool createReadPool(final Database database) throws SQLException {
+        if (Storage.Pool.MAX_SIZE <= 0) {
+            return null;
+        }
+        final ConnectionPool pool = new ConnectionPool(
+                database,
+                Storage.Pool.MAX_SIZE,
+                Storage.Pool.IDLE_TIMEOUT,
+                Storage.Pool.VALIDATION_TIMEOUT
+        );
+        // Open the first connection right away, databases that cannot open further connections read through the main one
+        try (ConnectionPool.Lease ignored = pool.acquire()) {
+            LOGGER.debug("Opened a pool of up to {} connections for database reads", pool.getMaxSize());
+        } catch (SQLFeatureNotSupportedException e) {
+            pool.close();
+            return null;
+        }
+        if (!this.mySQL) {
+            // Allow the pooled connections to read while the main connection is writing
+            try (Statement statement = this.connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=WAL");
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Wait until a task is queued or the idle timeout has passed.
+     *
+     * @return {@code true} if there are tasks to process
+     */
+    private synchronized boolean awaitTasks() {
+        if (!hasTasks() && !this.closed) {
+            try {
+                wait(IDLE_TIMEOUT);
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+        }
+        return hasTasks();
+    }
+
+    private boolean hasTasks() {
+        return !this.globalTasks.isEmpty() || !this.playerTasks.isEmpty() || !this.plotTasks.isEmpty()
+                || !this.clusterTasks.isEmpty() || !this.notifyTasks.isEmpty();
+    }
+
     public boolean isValid() {
         try {
             if (connection.isClosed()) {
@@ -267,8 +350,7 @@ public class SQLManager implements AbstractDB {
 
     public void reconnect() {
         try {
-            close();
-            SQLManager.this.closed = false;
+            closeConnection();
             SQLManager.this.connection = database.forceConnection();
         } catch (SQLException | ClassNotFoundException e) {
             e.printStackTrace();
@@ -311,7 +393,8 @@ public class SQLManager implements AbstractDB {
 
             };
         }
-        tasks.add(task);
+        enqueue(tasks, task);
+        notifyAll();
     }
 
     public synchronized void addPlayerTask(UUID uuid, UniqueStatement task) {
@@ -345,7 +428,8 @@ public class SQLManager implements AbstractDB {
 
             };
         }
-        tasks.add(task);
+        enqueue(tasks, task);
+        notifyAll();
     }
 
     public synchronized void addClusterTask(PlotCluster cluster, UniqueStatement task) {
@@ -376,27 +460,105 @@ public class SQLManager implements AbstractDB {
 
             };
         }
+        enqueue(tasks, task);
+        notifyAll();
+    }
+
+    /**
+     * Queue a statement, dropping a pending statement that writes the same value as it would be
+     * overwritten by the new statement anyway.
+     *
+     * @param tasks statements queued for a plot, player or cluster
+     * @param task  statement to queue
+     */
+    private void enqueue(final Queue<UniqueStatement> tasks, final UniqueStatement task) {
+        if (task.key != null && tasks.removeIf(pending -> task.key.equals(pending.key))) {
+            this.batchMetrics.recordCoalesced();
+        }
         tasks.add(task);
     }
 
     public synchronized void addGlobalTask(Runnable task) {
         getGlobalTasks().add(task);
+        notifyAll();
     }
 
+    @Override
     public synchronized void addNotifyTask(Runnable task) {
         if (task != null) {
             getNotifyTasks().add(task);
+            notifyAll();
+        }
+    }
+
+    @Override
+    public boolean hasPendingWrites(final @NonNull Collection<Plot> plots) {
+        if (!this.globalTasks.isEmpty()) {
+            return true;
+        }
+        for (final Plot plot : plots) {
+            if (this.plotTasks.containsKey(plot)) {
+                return true;
+            }
+        }
+        // Checked last, as the writer only takes statements from the queues while sending is set
+        return this.sending;
+    }
+
+    /**
+     * Get the number of tasks waiting to be written to the database.
+     *
+     * @return number of queued tasks
+     */
+    public int getQueueDepth() {
+        int depth = this.globalTasks.size();
+        for (final Queue<UniqueStatement> tasks : this.plotTasks.values()) {
+            depth += tasks.size();
         }
+        for (final Queue<UniqueStatement> tasks : this.playerTasks.values()) {
+            depth += tasks.size();
+        }
+        for (final Queue<UniqueStatement> tasks : this.clusterTasks.values()) {
+            depth += tasks.size();
+        }
+        return depth;
+    }
+
+    /**
+     * Get statistics about the batches written to the database.
+     *
+     * @return batch metrics
+     */
+    public BatchMetrics getBatchMetrics() {
+        return this.batchMetrics;
     }
 
     public boolean sendBatch() {
+        this.batchLock.lock();
+        try {
+            // Set before any task is taken from the queues, so pooled reads never miss an uncommitted write
+            this.sending = true;
+            return processBatch();
+        } finally {
+            this.sending = false;
+            this.batchLock.unlock();
+        }
+    }
+
+    private boolean processBatch() {
         try {
             if (!getGlobalTasks().isEmpty()) {
                 if (this.connection.getAutoCommit()) {
                     this.connection.setAutoCommit(false);
                 }
-                Runnable task = getGlobalTasks().remove();
-                if (task != null) {
+                // Only drain the tasks queued so far, tasks added meanwhile go into the next batch
+                int count = 0;
+                for (int remaining = getGlobalTasks().size(); remaining > 0; remaining--) {
+                    Runnable task = getGlobalTasks().poll();
+                    if (task == null) {
+                        break;
+                    }
+                    count++;
                     try {
                         task.run();
                     } catch (Throwable e) {
@@ -408,158 +570,21 @@ public class SQLManager implements AbstractDB {
                         LOGGER.error("========================================");
                     }
                 }
-                commit();
+                commitBatch(count);
                 return true;
             }
             int count = -1;
-            if (!this.plotTasks.isEmpty()) {
-                count = Math.max(count, 0);
-                if (this.connection.getAutoCommit()) {
-                    this.connection.setAutoCommit(false);
-                }
-                String method = null;
-                PreparedStatement statement = null;
-                UniqueStatement task = null;
-                UniqueStatement lastTask = null;
-                Iterator<Entry<Plot, Queue<UniqueStatement>>> iterator =
-                        this.plotTasks.entrySet().iterator();
-                while (iterator.hasNext()) {
-                    try {
-                        Entry<Plot, Queue<UniqueStatement>> entry = iterator.next();
-                        Queue<UniqueStatement> tasks = entry.getValue();
-                        if (tasks.isEmpty()) {
-                            iterator.remove();
-                            continue;
-                        }
-                        task = tasks.remove();
-                        count++;
-                        if (task != null) {
-                            if (task.method == null || !task.method.equals(method)
-                                    || statement == null) {
-                                if (statement != null) {
-                                    lastTask.execute(statement);
-                                    statement.close();
-                                }
-                                method = task.method;
-                                statement = task.get();
-                            }
-                            task.set(statement);
-                            task.addBatch(statement);
-                            try {
-                                if (statement.isClosed()) {
-                                    statement = null;
-                                }
-                            } catch (NullPointerException | AbstractMethodError ignore) {
-                            }
-                        }
-                        lastTask = task;
-                    } catch (Throwable e) {
-                        LOGGER.error("============ DATABASE ERROR ============");
-                        LOGGER.error("There was an error updating the database.");
-                        LOGGER.error(" - It will be corrected on shutdown");
-                        LOGGER.error("========================================");
-                        e.printStackTrace();
-                        LOGGER.error("========================================");
-                    }
-                }
-                if (statement != null && task != null) {
-                    task.execute(statement);
-                    statement.close();
-                }
-            }
-            if (!this.playerTasks.isEmpty()) {
-                count = Math.max(count, 0);
-                if (this.connection.getAutoCommit()) {
-                    this.connection.setAutoCommit(false);
-                }
-                String method = null;
-                PreparedStatement statement = null;
-                UniqueStatement task = null;
-                UniqueStatement lastTask = null;
-                for (Entry<UUID, Queue<UniqueStatement>> entry : this.playerTasks.entrySet()) {
-                    try {
-                        UUID uuid = entry.getKey();
-                        if (this.playerTasks.get(uuid).isEmpty()) {
-                            this.playerTasks.remove(uuid);
-                            continue;
-                        }
-                        task = this.playerTasks.get(uuid).remove();
-                        count++;
-                        if (task != null) {
-                            if (task.method == null || !task.method.equals(method)) {
-                                if (statement != null) {
-                                    lastTask.execute(statement);
-                                    statement.close();
-                                }
-                                method = task.method;
-                                statement = task.get();
-                            }
-                            task.set(statement);
-                            task.addBatch(statement);
-                        }
-                        lastTask = task;
-                    } catch (Throwable e) {
-                        LOGGER.error("============ DATABASE ERROR ============");
-                        LOGGER.error("There was an error updating the database.");
-                        LOGGER.error(" - It will be corrected on shutdown");
-                        LOGGER.error("========================================");
-                        e.printStackTrace();
-                        LOGGER.error("========================================");
-                    }
-                }
-                if (statement != null && task != null) {
-                    task.execute(statement);
-                    statement.close();
-                }
-            }
-            if (!this.clusterTasks.isEmpty()) {
-                count = Math.max(count, 0);
+            if (!this.plotTasks.isEmpty() || !this.playerTasks.isEmpty() || !this.clusterTasks.isEmpty()) {
+                count = 0;
                 if (this.connection.getAutoCommit()) {
                     this.connection.setAutoCommit(false);
                 }
-                String method = null;
-                PreparedStatement statement = null;
-                UniqueStatement task = null;
-                UniqueStatement lastTask = null;
-                for (Entry<PlotCluster, Queue<UniqueStatement>> entry : this.clusterTasks
-                        .entrySet()) {
-                    try {
-                        PlotCluster cluster = entry.getKey();
-                        if (this.clusterTasks.get(cluster).isEmpty()) {
-                            this.clusterTasks.remove(cluster);
-                            continue;
-                        }
-                        task = this.clusterTasks.get(cluster).remove();
-                        count++;
-                        if (task != null) {
-                            if (task.method == null || !task.method.equals(method)) {
-                                if (statement != null) {
-                                    lastTask.execute(statement);
-                                    statement.close();
-                                }
-                                method = task.method;
-                                statement = task.get();
-                            }
-                            task.set(statement);
-                            task.addBatch(statement);
-                        }
-                        lastTask = task;
-                    } catch (Throwable e) {
-                        LOGGER.error("============ DATABASE ERROR ============");
-                        LOGGER.error("There was an error updating the database.");
-                        LOGGER.error(" - It will be corrected on shutdown");
-                        LOGGER.error("========================================");
-                        e.printStackTrace();
-                        LOGGER.error("========================================");
-                    }
-                }
-                if (statement != null && task != null) {
-                    task.execute(statement);
-                    statement.close();
-                }
+                count += sendTasks(this.plotTasks, MAX_BATCH_SIZE);
+                count += sendTasks(this.playerTasks, MAX_BATCH_SIZE - count);
+                count += sendTasks(this.clusterTasks, MAX_BATCH_SIZE - count);
             }
             if (count > 0) {
-                commit();
+                commitBatch(count);
                 return true;
             }
             if (count != -1) {
@@ -567,12 +592,6 @@ public class SQLManager implements AbstractDB {
                     this.connection.setAutoCommit(true);
                 }
             }
-            if (!this.clusterTasks.isEmpty()) {
-                this.clusterTasks.clear();
-            }
-            if (!this.plotTasks.isEmpty()) {
-                this.plotTasks.clear();
-            }
         } catch (Throwable e) {
             LOGGER.error("============ DATABASE ERROR ============");
             LOGGER.error("There was an error updating the database.");
@@ -584,10 +603,128 @@ public class SQLManager implements AbstractDB {
         return false;
     }
 
+    /**
+     * Send the queued statements of the given task map through the main connection without committing.
+     * The queues are processed in rounds, taking one statement per key each round so that consecutive
+     * statements of the same method can share one prepared statement, until the queues are drained or
+     * the limit has been reached. Statements of the same key are always sent in the order they were queued.
+     *
+     * @param taskMap statements queued per key
+     * @param limit   maximum number of statements to send
+     * @param <T>     key type
+     * @return number of statements sent
+     */
+    private <T> int sendTasks(final ConcurrentHashMap<T, Queue<UniqueStatement>> taskMap, final int limit) {
+        int count = 0;
+        String method = null;
+        PreparedStatement statement = null;
+        UniqueStatement task = null;
+        UniqueStatement lastTask = null;
+        boolean sent = true;
+        while (sent && count < limit) {
+            sent = false;
+            for (final Entry<T, Queue<UniqueStatement>> entry : taskMap.entrySet()) {
+                if (count >= limit) {
+                    break;
+                }
+                try {
+                    final Queue<UniqueStatement> tasks = entry.getValue();
+                    task = tasks.poll();
+                    if (task == null) {
+                        removeIfEmpty(taskMap, entry.getKey(), tasks);
+                        continue;
+                    }
+                    sent = true;
+                    count++;
+                    if (task.method == null || !task.method.equals(method)
+                            || statement == null) {
+                        if (statement != null) {
+                            final PreparedStatement previous = statement;
+                            statement = null;
+                            lastTask.execute(previous);
+                            previous.close();
+                        }
+                        method = task.method;
+                        statement = task.get();
+                    }
+                    task.set(statement);
+                    task.addBatch(statement);
+                    try {
+                        if (statement.isClosed()) {
+                            statement = null;
+                        }
+                    } catch (NullPointerException | AbstractMethodError ignore) {
+                    }
+                    lastTask = task;
+                } catch (Throwable e) {
+                    LOGGER.error("============ DATABASE ERROR ============");
+                    LOGGER.error("There was an error updating the database.");
+                    LOGGER.error(" - It will be corrected on shutdown");
+                    LOGGER.error("========================================");
+                    e.printStackTrace();
+                    LOGGER.error("========================================");
+                }
+            }
+        }
+        if (statement != null && lastTask != null) {
+            try {
+                lastTask.execute(statement);
+                statement.close();
+            } catch (Throwable e) {
+                LOGGER.error("============ DATABASE ERROR ============");
+                LOGGER.error("There was an error updating the database.");
+                LOGGER.error(" - It will be corrected on shutdown");
+                LOGGER.error("========================================");
+                e.printStackTrace();
+                LOGGER.error("========================================");
+            }
+        }
+        return count;
+    }
+
+    private synchronized <T> void removeIfEmpty(
+            final ConcurrentHashMap<T, Queue<UniqueStatement>> taskMap,
+            final T key, final Queue<UniqueStatement> tasks
+    ) {
+        // Tasks are only added while holding this monitor, so the queue cannot be refilled concurrently
+        if (tasks.isEmpty()) {
+            taskMap.remove(key, tasks);
+        }
+    }
+
+    private void commitBatch(final int count) {
+        final long start = System.nanoTime();
+        commit();
+        this.batchMetrics.recordBatch(count, System.nanoTime() - start);
+    }
+
     public Connection getConnection() {
         return this.connection;
     }
 
+    /**
+     * Get the pool used for reads that may run concurrently to the batched writes.
+     *
+     * @return connection pool, or {@code null} if pooling is disabled
+     */
+    public ConnectionPool getReadPool() {
+        return this.readPool;
+    }
+
+    /**
+     * Check whether a read of the given key can be served by the connection pool. Reads must wait for
+     * the statements queued for the key, and a batch that is being sent may hold uncommitted writes of it.
+     *
+     * @param tasks statements queued per key
+     * @param key   plot or player the read belongs to
+     * @param <T>   key type
+     * @return {@code true} if the read pool should be used
+     */
+    private <T> boolean useReadPool(final Map<T, Queue<UniqueStatement>> tasks, final T key) {
+        // The queue is checked first, as the writer only removes statements from it while sending is set
+        return this.readPool != null && key != null && !tasks.containsKey(key) && !this.sending;
+    }
+
     /**
      * Set Plot owner
      *
@@ -596,7 +733,7 @@ public class SQLManager implements AbstractDB {
      */
     @Override
     public void setOwner(final Plot plot, final UUID uuid) {
-        addPlotTask(plot, new UniqueStatement("setOwner") {
+        addPlotTask(plot, new UniqueStatement("setOwner", "owner") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setString(1, uuid.toString());
@@ -1522,26 +1659,7 @@ public class SQLManager implements AbstractDB {
             return cluster.temp;
         }
         try {
-            commit();
-            if (cluster.temp > 0) {
-                return cluster.temp;
-            }
-            int c_id;
-            try (PreparedStatement stmt = this.connection.prepareStatement(
-                    "SELECT `id` FROM `" + this.prefix
-                            + "cluster` WHERE `pos1_x` = ? AND `pos1_z` = ? AND `pos2_x` = ? AND `pos2_z` = ? AND `world` = ? ORDER BY `timestamp` ASC")) {
-                stmt.setInt(1, cluster.getP1().getX());
-                stmt.setInt(2, cluster.getP1().getY());
-                stmt.setInt(3, cluster.getP2().getX());
-                stmt.setInt(4, cluster.getP2().getY());
-                stmt.setString(5, cluster.area.toString());
-                try (ResultSet resultSet = stmt.executeQuery()) {
-                    c_id = Integer.MAX_VALUE;
-                    while (resultSet.next()) {
-                        c_id = resultSet.getInt("id");
-                    }
-                }
-            }
+            int c_id = selectId(this.clusterTasks, cluster, connection -> selectClusterId(connection, cluster));
             if (c_id == Integer.MAX_VALUE || c_id == 0) {
                 if (cluster.temp > 0) {
                     return cluster.temp;
@@ -1556,30 +1674,67 @@ public class SQLManager implements AbstractDB {
         return Integer.MAX_VALUE;
     }
 
+    /**
+     * Select the id of a plot or cluster. The statements queued for it are sent first, as it may not have been inserted yet.
+     *
+     * @param tasks  statements queued per key
+     * @param key    plot or cluster to select the id of
+     * @param select query selecting the id through the given connection
+     * @param <T>    key type
+     * @return selected id
+     * @throws SQLException if the id could not be selected
+     */
+    private <T> int selectId(final Map<T, Queue<UniqueStatement>> tasks, final T key, final IdSelect select) throws SQLException {
+        if (this.batchLock.isHeldByCurrentThread()) {
+            // Called while sending a batch, the main connection sees the uncommitted writes of the batch
+            return select.select(this.connection);
+        }
+        if (!useReadPool(tasks, key)) {
+            this.batchLock.lock();
+            try {
+                while (tasks.containsKey(key)) {
+                    if (!sendBatch()) {
+                        break;
+                    }
+                }
+                if (this.readPool == null) {
+                    return select.select(this.connection);
+                }
+            } finally {
+                this.batchLock.unlock();
+            }
+        }
+        try (ConnectionPool.Lease lease = this.readPool.acquire()) {
+            return select.select(lease.connection());
+        }
+    }
+
+    private int selectClusterId(final Connection connection, final PlotCluster cluster) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "SELECT `id` FROM `" + this.prefix
+                        + "cluster` WHERE `pos1_x` = ? AND `pos1_z` = ? AND `pos2_x` = ? AND `pos2_z` = ? AND `world` = ? ORDER BY `timestamp` ASC")) {
+            stmt.setInt(1, cluster.getP1().getX());
+            stmt.setInt(2, cluster.getP1().getY());
+            stmt.setInt(3, cluster.getP2().getX());
+            stmt.setInt(4, cluster.getP2().getY());
+            stmt.setString(5, cluster.area.toString());
+            try (ResultSet resultSet = stmt.executeQuery()) {
+                int c_id = Integer.MAX_VALUE;
+                while (resultSet.next()) {
+                    c_id = resultSet.getInt("id");
+                }
+                return c_id;
+            }
+        }
+    }
+
     @Override
     public int getId(Plot plot) {
         if (plot.temp > 0) {
             return plot.temp;
         }
         try {
-            commit();
-            if (plot.temp > 0) {
-                return plot.temp;
-            }
-            int id;
-            try (PreparedStatement statement = this.connection.prepareStatement(
-                    "SELECT `id` FROM `" + this.prefix
-                            + "plot` WHERE `plot_id_x` = ? AND `plot_id_z` = ? AND world = ? ORDER BY `timestamp` ASC")) {
-                statement.setInt(1, plot.getId().getX());
-                statement.setInt(2, plot.getId().getY());
-                statement.setString(3, plot.getArea().toString());
-                try (ResultSet resultSet = statement.executeQuery()) {
-                    id = Integer.MAX_VALUE;
-                    while (resultSet.next()) {
-                        id = resultSet.getInt("id");
-                    }
-                }
-            }
+            int id = selectId(this.plotTasks, plot, connection -> selectPlotId(connection, plot));
             if (id == Integer.MAX_VALUE || id == 0) {
                 if (plot.temp > 0) {
                     return plot.temp;
@@ -1594,6 +1749,23 @@ public class SQLManager implements AbstractDB {
         return Integer.MAX_VALUE;
     }
 
+    private int selectPlotId(final Connection connection, final Plot plot) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT `id` FROM `" + this.prefix
+                        + "plot` WHERE `plot_id_x` = ? AND `plot_id_z` = ? AND world = ? ORDER BY `timestamp` ASC")) {
+            statement.setInt(1, plot.getId().getX());
+            statement.setInt(2, plot.getId().getY());
+            statement.setString(3, plot.getArea().toString());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                int id = Integer.MAX_VALUE;
+                while (resultSet.next()) {
+                    id = resultSet.getInt("id");
+                }
+                return id;
+            }
+        }
+    }
+
     @Override
     public void updateTables(int[] oldVersion) {
         try {
@@ -1815,8 +1987,75 @@ public class SQLManager implements AbstractDB {
      */
     @Override
     public HashMap<String, HashMap<PlotId, Plot>> getPlots() {
+        return loadPlots(null);
+    }
+
+    @Override
+    public HashMap<String, HashMap<PlotId, Plot>> getPlots(final @NonNull Collection<String> areas) {
+        if (areas.isEmpty()) {
+            return new HashMap<>();
+        }
+        return loadPlots(areas);
+    }
+
+    /**
+     * Load the plots of the given areas, or of all areas if null.
+     */
+    private HashMap<String, HashMap<PlotId, Plot>> loadPlots(final @Nullable Collection<String> areaFilter) {
+        final Connection connection;
+        try {
+            connection = openLoadConnection();
+        } catch (SQLException | ClassNotFoundException e) {
+            LOGGER.error("Failed to load plots", e);
+            return new HashMap<>();
+        }
+        if (connection == null) {
+            // Scan the tables one after another through the main connection, without batches being sent in between
+            this.batchLock.lock();
+            try {
+                return loadPlots(areaFilter, this.connection, false);
+            } finally {
+                this.batchLock.unlock();
+            }
+        }
+        try (connection) {
+            return loadPlots(areaFilter, connection, true);
+        } catch (SQLException e) {
+            LOGGER.error("Failed to close the connection used to load plots", e);
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * Open a connection to load the plots through, or return null if pooling is disabled or the database cannot open
+     * further connections. The tables are then read through the main connection.
+     */
+    private @Nullable Connection openLoadConnection() throws SQLException, ClassNotFoundException {
+        if (Storage.Pool.MAX_SIZE <= 0) {
+            return null;
+        }
+        try {
+            return this.database.createConnection();
+        } catch (SQLFeatureNotSupportedException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Load the plots of the given areas, or of all areas if null.
+     *
+     * @param areaFilter areas to load the plots of, or null to load all plots
+     * @param connection connection to scan the plot table through
+     * @param concurrent whether the remaining tables may be scanned concurrently, each on its own connection. Otherwise,
+     *                   they are scanned one after another through the given connection
+     */
+    private HashMap<String, HashMap<PlotId, Plot>> loadPlots(
+            final @Nullable Collection<String> areaFilter, final Connection connection,
+            final boolean concurrent
+    ) {
         HashMap<String, HashMap<PlotId, Plot>> newPlots = new HashMap<>();
         HashMap<Integer, Plot> plots = new HashMap<>();
+        ExecutorService executor = null;
         try {
             HashSet<String> areas = new HashSet<>();
             if (this.worldConfiguration.contains("worlds")) {
@@ -1839,306 +2078,225 @@ public class SQLManager implements AbstractDB {
             }
             HashMap<String, UUID> uuids = new HashMap<>();
             HashMap<String, AtomicInteger> noExist = new HashMap<>();
+            final List<String> parameters = areaFilter == null ? List.of() : List.copyOf(areaFilter);
+            final String areaCondition = areaFilter == null ? null :
+                    "`world` IN (" + String.join(", ", Collections.nCopies(parameters.size(), "?")) + ')';
 
             /*
              * Getting plots
              */
-            try (Statement statement = this.connection.createStatement()) {
+            ArrayList<Integer> toDeletePlots = new ArrayList<>();
+            try (PreparedStatement statement = createLoadStatement(
+                         connection,
+                         "SELECT `id`, `plot_id_x`, `plot_id_z`, `owner`, `world`, `timestamp` FROM `"
+                                 + this.prefix + "plot`" + (areaCondition == null ? "" : " WHERE " + areaCondition),
+                         parameters
+                 );
+                 ResultSet resultSet = statement.executeQuery()) {
                 int id;
                 String o;
                 UUID user;
-                try (ResultSet resultSet = statement.executeQuery(
-                        "SELECT `id`, `plot_id_x`, `plot_id_z`, `owner`, `world`, `timestamp` FROM `"
-                                + this.prefix + "plot`")) {
-                    ArrayList<Integer> toDelete = new ArrayList<>();
-                    while (resultSet.next()) {
-                        PlotId plot_id = PlotId.of(
-                                resultSet.getInt("plot_id_x"),
-                                resultSet.getInt("plot_id_z")
-                        );
-                        id = resultSet.getInt("id");
-                        String areaID = resultSet.getString("world");
-                        if (!areas.contains(areaID)) {
-                            if (Settings.Enabled_Components.DATABASE_PURGER) {
-                                toDelete.add(id);
-                                continue;
+                while (resultSet.next()) {
+                    PlotId plot_id = PlotId.of(
+                            resultSet.getInt("plot_id_x"),
+                            resultSet.getInt("plot_id_z")
+                    );
+                    id = resultSet.getInt("id");
+                    String areaID = resultSet.getString("world");
+                    if (!areas.contains(areaID)) {
+                        if (Settings.Enabled_Components.DATABASE_PURGER) {
+                            toDeletePlots.add(id);
+                            continue;
+                        } else {
+                            AtomicInteger value = noExist.get(areaID);
+                            if (value != null) {
+                                value.incrementAndGet();
                             } else {
-                                AtomicInteger value = noExist.get(areaID);
-                                if (value != null) {
-                                    value.incrementAndGet();
-                                } else {
-                                    noExist.put(areaID, new AtomicInteger(1));
-                                }
-                            }
-                        }
-                        o = resultSet.getString("owner");
-                        user = uuids.get(o);
-                        if (user == null) {
-                            try {
-                                user = UUID.fromString(o);
-                            } catch (IllegalArgumentException e) {
-                                if (Settings.UUID.FORCE_LOWERCASE) {
-                                    user = UUID.nameUUIDFromBytes(
-                                            ("OfflinePlayer:" + o.toLowerCase())
-                                                    .getBytes(Charsets.UTF_8));
-                                } else {
-                                    user = UUID.nameUUIDFromBytes(
-                                            ("OfflinePlayer:" + o).getBytes(Charsets.UTF_8));
-                                }
+                                noExist.put(areaID, new AtomicInteger(1));
                             }
-                            uuids.put(o, user);
                         }
-                        long time;
+                    }
+                    o = resultSet.getString("owner");
+                    user = uuids.get(o);
+                    if (user == null) {
                         try {
-                            Timestamp timestamp = resultSet.getTimestamp("timestamp");
-                            time = timestamp.getTime();
-                        } catch (SQLException exception) {
-                            String parsable = resultSet.getString("timestamp");
-                            try {
-                                time = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse(parsable)
-                                        .getTime();
-                            } catch (ParseException e) {
-                                LOGGER.error("Could not parse date for plot: #{}({};{}) ({})",
-                                        id, areaID, plot_id, parsable
-                                );
-                                time = System.currentTimeMillis() + id;
+                            user = UUID.fromString(o);
+                        } catch (IllegalArgumentException e) {
+                            if (Settings.UUID.FORCE_LOWERCASE) {
+                                user = UUID.nameUUIDFromBytes(
+                                        ("OfflinePlayer:" + o.toLowerCase())
+                                                .getBytes(Charsets.UTF_8));
+                            } else {
+                                user = UUID.nameUUIDFromBytes(
+                                        ("OfflinePlayer:" + o).getBytes(Charsets.UTF_8));
                             }
                         }
-                        Plot p = new Plot(plot_id, user, new HashSet<>(), new HashSet<>(),
-                                new HashSet<>(), "", null, null, null,
-                                new boolean[]{false, false, false, false}, time, id
-                        );
-                        HashMap<PlotId, Plot> map = newPlots.get(areaID);
-                        if (map != null) {
-                            Plot last = map.put(p.getId(), p);
-                            if (last != null) {
-                                if (Settings.Enabled_Components.DATABASE_PURGER) {
-                                    toDelete.add(last.temp);
-                                } else {
-                                    LOGGER.info(
-                                            "Plot #{}({}) in `{}plot` is a duplicate."
-                                                    + " Delete this plot or set `database-purger: true` in the settings.yml",
-                                            id,
-                                            last,
-                                            this.prefix
-                                    );
-                                }
-                            }
-                        } else {
-                            map = new HashMap<>();
-                            newPlots.put(areaID, map);
-                            map.put(p.getId(), p);
+                        uuids.put(o, user);
+                    }
+                    long time;
+                    try {
+                        Timestamp timestamp = resultSet.getTimestamp("timestamp");
+                        time = timestamp.getTime();
+                    } catch (SQLException exception) {
+                        String parsable = resultSet.getString("timestamp");
+                        try {
+                            time = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse(parsable)
+                                    .getTime();
+                        } catch (ParseException e) {
+                            LOGGER.error("Could not parse date for plot: #{}({};{}) ({})",
+                                    id, areaID, plot_id, parsable
+                            );
+                            time = System.currentTimeMillis() + id;
                         }
-                        plots.put(id, p);
                     }
-                    deleteRows(toDelete, this.prefix + "plot", "id");
-                }
-                if (Settings.Enabled_Components.RATING_CACHE) {
-                    try (ResultSet r = statement.executeQuery(
-                            "SELECT `plot_plot_id`, `player`, `rating` FROM `" + this.prefix
-                                    + "plot_rating`")) {
-                        ArrayList<Integer> toDelete = new ArrayList<>();
-                        while (r.next()) {
-                            id = r.getInt("plot_plot_id");
-                            o = r.getString("player");
-                            user = uuids.get(o);
-                            if (user == null) {
-                                user = UUID.fromString(o);
-                                uuids.put(o, user);
-                            }
-                            Plot plot = plots.get(id);
-                            if (plot != null) {
-                                plot.getSettings().getRatings().put(user, r.getInt("rating"));
-                            } else if (Settings.Enabled_Components.DATABASE_PURGER) {
-                                toDelete.add(id);
+                    Plot p = new Plot(plot_id, user, new HashSet<>(), new HashSet<>(),
+                            new HashSet<>(), "", null, null, null,
+                            new boolean[]{false, false, false, false}, time, id
+                    );
+                    HashMap<PlotId, Plot> map = newPlots.get(areaID);
+                    if (map != null) {
+                        Plot last = map.put(p.getId(), p);
+                        if (last != null) {
+                            if (Settings.Enabled_Components.DATABASE_PURGER) {
+                                toDeletePlots.add(last.temp);
                             } else {
-                                LOGGER.warn("Entry #{}({}) in `plot_rating` does not exist."
-                                        + " Create this plot or set `database-purger: true` in settings.yml", id, plot);
+                                LOGGER.info(
+                                        "Plot #{}({}) in `{}plot` is a duplicate."
+                                                + " Delete this plot or set `database-purger: true` in the settings.yml",
+                                        id,
+                                        last,
+                                        this.prefix
+                                );
                             }
                         }
-                        deleteRows(toDelete, this.prefix + "plot_rating", "plot_plot_id");
+                    } else {
+                        map = new HashMap<>();
+                        newPlots.put(areaID, map);
+                        map.put(p.getId(), p);
                     }
+                    plots.put(id, p);
                 }
+            }
+            deleteRows(toDeletePlots, this.prefix + "plot", "id");
 
-                /*
-                 * Getting helpers
-                 */
-                try (ResultSet r = statement.executeQuery(
-                        "SELECT `user_uuid`, `plot_plot_id` FROM `" + this.prefix + "plot_helpers`")) {
-                    ArrayList<Integer> toDelete = new ArrayList<>();
-                    while (r.next()) {
-                        id = r.getInt("plot_plot_id");
-                        o = r.getString("user_uuid");
-                        user = uuids.get(o);
-                        if (user == null) {
-                            user = UUID.fromString(o);
-                            uuids.put(o, user);
-                        }
-                        Plot plot = plots.get(id);
-                        if (plot != null) {
-                            plot.getTrusted().add(user);
-                        } else if (Settings.Enabled_Components.DATABASE_PURGER) {
-                            toDelete.add(id);
-                        } else {
-                            LOGGER.warn("Entry #{}({}) in `plot_helpers` does not exist."
-                                    + " Create this plot or set `database-purger: true` in settings.yml", id, plot);
+            /*
+             * Every remaining table only references the plots loaded above, and each of them
+             * modifies a different part of a plot. They are therefore scanned concurrently,
+             * each on its own connection, while the plot map is only read, unless the database
+             * is read through its main connection.
+             */
+            final int flagPartitions = Math.max(1, Math.min(
+                    LOAD_MAX_FLAG_PARTITIONS,
+                    Runtime.getRuntime().availableProcessors() / 2
+            ));
+            final Map<String, TableLoader> tables = new LinkedHashMap<>();
+            if (Settings.Enabled_Components.RATING_CACHE) {
+                final HashMap<String, UUID> ratingUuids = new HashMap<>();
+                tables.put("plot_rating", loadTable("plot_rating", "`plot_plot_id`, `player`, `rating`",
+                        loadConditions("plot_plot_id", areaCondition), parameters, plots,
+                        (plot, r) -> plot.getSettings().getRatings().put(
+                                ratingUuids.computeIfAbsent(r.getString("player"), UUID::fromString),
+                                r.getInt("rating")
+                        )
+                ));
+            }
+            tables.put("plot_helpers", loadTable("plot_helpers", "`user_uuid`, `plot_plot_id`",
+                    loadConditions("plot_plot_id", areaCondition), parameters, plots, uuidRow(Plot::getTrusted)
+            ));
+            tables.put("plot_trusted", loadTable("plot_trusted", "`user_uuid`, `plot_plot_id`",
+                    loadConditions("plot_plot_id", areaCondition), parameters, plots, uuidRow(Plot::getMembers)
+            ));
+            tables.put("plot_denied", loadTable("plot_denied", "`user_uuid`, `plot_plot_id`",
+                    loadConditions("plot_plot_id", areaCondition), parameters, plots, uuidRow(Plot::getDenied)
+            ));
+            // Flag parsing dominates the load, so the flag table is split by plot to parse in parallel
+            final List<Map<Plot, Collection<PlotFlag<?, ?>>>> invalidFlags = new ArrayList<>();
+            for (int partition = 0; partition < flagPartitions; partition++) {
+                final Map<Plot, Collection<PlotFlag<?, ?>>> partitionInvalid = new HashMap<>();
+                invalidFlags.add(partitionInvalid);
+                final List<String> conditions = loadConditions("plot_id", areaCondition);
+                if (flagPartitions > 1) {
+                    conditions.add("`plot_id` % " + flagPartitions + " = " + partition);
+                }
+                tables.put("plot_flags#" + partition, loadTable("plot_flags", "*", conditions, parameters, plots,
+                        (plot, resultSet) -> loadFlag(plot, resultSet, partitionInvalid)
+                ));
+            }
+            final Set<Integer> withSettings = new HashSet<>();
+            tables.put("plot_settings", loadTable("plot_settings", "*",
+                    loadConditions("plot_plot_id", areaCondition), parameters, plots,
+                    (plot, resultSet) -> {
+                        withSettings.add(plot.temp);
+                        String alias = resultSet.getString("alias");
+                        if (alias != null) {
+                            plot.getSettings().setAlias(alias);
                         }
-                    }
-                    deleteRows(toDelete, this.prefix + "plot_helpers", "plot_plot_id");
-                }
-
-                /*
-                 * Getting trusted
-                 */
-                try (ResultSet r = statement.executeQuery(
-                        "SELECT `user_uuid`, `plot_plot_id` FROM `" + this.prefix + "plot_trusted`")) {
-                    ArrayList<Integer> toDelete = new ArrayList<>();
-                    while (r.next()) {
-                        id = r.getInt("plot_plot_id");
-                        o = r.getString("user_uuid");
-                        user = uuids.get(o);
-                        if (user == null) {
-                            user = UUID.fromString(o);
-                            uuids.put(o, user);
+                        String pos = resultSet.getString("position");
+                        switch (pos.toLowerCase()) {
+                            case "":
+                            case "default":
+                            case "0,0,0":
+                            case "center":
+                            case "centre":
+                                break;
+                            default:
+                                try {
+                                    plot.getSettings().setPosition(BlockLoc.fromString(pos));
+                                } catch (Exception ignored) {
+                                }
                         }
-                        Plot plot = plots.get(id);
-                        if (plot != null) {
-                            plot.getMembers().add(user);
-                        } else if (Settings.Enabled_Components.DATABASE_PURGER) {
-                            toDelete.add(id);
-                        } else {
-                            LOGGER.warn("Entry #{}({}) in `plot_trusted` does not exist."
-                                    + " Create this plot or set `database-purger: true` in settings.yml", id, plot);
+                        int m = resultSet.getInt("merged");
+                        boolean[] merged = new boolean[4];
+                        for (int i = 0; i < 4; i++) {
+                            merged[3 - i] = (m & 1 << i) != 0;
                         }
+                        plot.getSettings().setMerged(merged);
                     }
-                    deleteRows(toDelete, this.prefix + "plot_trusted", "plot_plot_id");
-                }
+            ));
 
-                /*
-                 * Getting denied
-                 */
-                try (ResultSet r = statement.executeQuery(
-                        "SELECT `user_uuid`, `plot_plot_id` FROM `" + this.prefix + "plot_denied`")) {
-                    ArrayList<Integer> toDelete = new ArrayList<>();
-                    while (r.next()) {
-                        id = r.getInt("plot_plot_id");
-                        o = r.getString("user_uuid");
-                        user = uuids.get(o);
-                        if (user == null) {
-                            user = UUID.fromString(o);
-                            uuids.put(o, user);
-                        }
-                        Plot plot = plots.get(id);
-                        if (plot != null) {
-                            plot.getDenied().add(user);
-                        } else if (Settings.Enabled_Components.DATABASE_PURGER) {
-                            toDelete.add(id);
-                        } else {
-                            LOGGER.warn("Entry #{}({}) in `plot_denied` does not exist."
-                                    + " Create this plot or set `database-purger: true` in settings.yml", id, plot);
-                        }
-                    }
-                    deleteRows(toDelete, this.prefix + "plot_denied", "plot_plot_id");
-                }
-
-                try (final ResultSet resultSet = statement
-                        .executeQuery("SELECT * FROM `" + this.prefix + "plot_flags`")) {
-                    BlockTypeListFlag.skipCategoryVerification =
-                            true; // allow invalid tags, as initialized lazily
-                    final ArrayList<Integer> toDelete = new ArrayList<>();
-                    final Map<Plot, Collection<PlotFlag<?, ?>>> invalidFlags = new HashMap<>();
-                    while (resultSet.next()) {
-                        id = resultSet.getInt("plot_id");
-                        final String flag = resultSet.getString("flag");
-                        String value = resultSet.getString("value");
-                        final Plot plot = plots.get(id);
-                        if (plot != null) {
-                            final PlotFlag<?, ?> plotFlag =
-                                    GlobalFlagContainer.getInstance().getFlagFromString(flag);
-                            if (plotFlag == null) {
-                                plot.getFlagContainer().addUnknownFlag(flag, value);
-                            } else {
-                                value = CaptionUtility.stripClickEvents(plotFlag, value);
-                                try {
-                                    plot.getFlagContainer().addFlag(plotFlag.parse(value));
-                                } catch (final FlagParseException e) {
-                                    e.printStackTrace();
-                                    LOGGER.error("Plot with ID {} has an invalid value:", id);
-                                    LOGGER.error("Failed to parse flag '{}', value '{}': {}",
-                                            plotFlag.getName(), e.getValue(), e.getErrorMessage()
-                                    );
-                                    if (!invalidFlags.containsKey(plot)) {
-                                        invalidFlags.put(plot, new ArrayList<>());
-                                    }
-                                    invalidFlags.get(plot).add(plotFlag);
-                                }
+            BlockTypeListFlag.skipCategoryVerification = true; // allow invalid tags, as initialized lazily
+            try {
+                if (concurrent) {
+                    final AtomicInteger threadId = new AtomicInteger();
+                    executor = Executors.newFixedThreadPool(tables.size(), runnable -> {
+                        final Thread thread = new Thread(runnable, "PlotSquared Plot Loader #" + threadId.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    final Map<String, Future<ArrayList<Integer>>> futures = new LinkedHashMap<>();
+                    for (final Entry<String, TableLoader> entry : tables.entrySet()) {
+                        futures.put(entry.getKey(), executor.submit(() -> {
+                            try (Connection tableConnection = this.database.createConnection()) {
+                                return entry.getValue().load(tableConnection);
                             }
-                        } else if (Settings.Enabled_Components.DATABASE_PURGER) {
-                            toDelete.add(id);
-                        } else {
-                            LOGGER.warn("Entry #{}({}) in `plot_flags` does not exist."
-                                    + " Create this plot or set `database-purger: true` in settings.yml", id, plot);
-                        }
+                        }));
                     }
-                    BlockTypeListFlag.skipCategoryVerification =
-                            false; // don't allow invalid tags anymore
-                    if (Settings.Enabled_Components.DATABASE_PURGER) {
-                        for (final Map.Entry<Plot, Collection<PlotFlag<?, ?>>> plotFlagEntry : invalidFlags
-                                .entrySet()) {
-                            for (final PlotFlag<?, ?> flag : plotFlagEntry.getValue()) {
-                                LOGGER.info(
-                                        "Plot {} has an invalid flag ({}). A fix has been attempted",
-                                        plotFlagEntry.getKey(), flag.getName()
-                                );
-                                removeFlag(plotFlagEntry.getKey(), flag);
-                            }
-                        }
+                    for (final Entry<String, Future<ArrayList<Integer>>> entry : futures.entrySet()) {
+                        deleteLoadedRows(entry.getKey(), awaitLoad(entry.getValue()));
                     }
-                    deleteRows(toDelete, this.prefix + "plot_flags", "plot_id");
-                }
-
-                try (ResultSet resultSet = statement
-                        .executeQuery("SELECT * FROM `" + this.prefix + "plot_settings`")) {
-                    ArrayList<Integer> toDelete = new ArrayList<>();
-                    while (resultSet.next()) {
-                        id = resultSet.getInt("plot_plot_id");
-                        Plot plot = plots.get(id);
-                        if (plot != null) {
-                            plots.remove(id);
-                            String alias = resultSet.getString("alias");
-                            if (alias != null) {
-                                plot.getSettings().setAlias(alias);
-                            }
-                            String pos = resultSet.getString("position");
-                            switch (pos.toLowerCase()) {
-                                case "":
-                                case "default":
-                                case "0,0,0":
-                                case "center":
-                                case "centre":
-                                    break;
-                                default:
-                                    try {
-                                        plot.getSettings().setPosition(BlockLoc.fromString(pos));
-                                    } catch (Exception ignored) {
-                                    }
-                            }
-                            int m = resultSet.getInt("merged");
-                            boolean[] merged = new boolean[4];
-                            for (int i = 0; i < 4; i++) {
-                                merged[3 - i] = (m & 1 << i) != 0;
-                            }
-                            plot.getSettings().setMerged(merged);
-                        } else if (Settings.Enabled_Components.DATABASE_PURGER) {
-                            toDelete.add(id);
-                        } else {
-                            LOGGER.warn("Entry #{}({}) in `plot_settings` does not exist."
-                                    + " Create this plot or set `database-purger: true` in settings.yml", id, plot);
+                } else {
+                    for (final Entry<String, TableLoader> entry : tables.entrySet()) {
+                        deleteLoadedRows(entry.getKey(), entry.getValue().load(connection));
+                    }
+                }
+            } finally {
+                BlockTypeListFlag.skipCategoryVerification = false; // don't allow invalid tags anymore
+            }
+            if (Settings.Enabled_Components.DATABASE_PURGER) {
+                for (final Map<Plot, Collection<PlotFlag<?, ?>>> partitionInvalid : invalidFlags) {
+                    for (final Map.Entry<Plot, Collection<PlotFlag<?, ?>>> plotFlagEntry : partitionInvalid
+                            .entrySet()) {
+                        for (final PlotFlag<?, ?> flag : plotFlagEntry.getValue()) {
+                            LOGGER.info(
+                                    "Plot {} has an invalid flag ({}). A fix has been attempted",
+                                    plotFlagEntry.getKey(), flag.getName()
+                            );
+                            removeFlag(plotFlagEntry.getKey(), flag);
                         }
                     }
-                    deleteRows(toDelete, this.prefix + "plot_settings", "plot_plot_id");
                 }
             }
+            plots.keySet().removeAll(withSettings);
             if (!plots.entrySet().isEmpty()) {
                 createEmptySettings(new ArrayList<>(plots.keySet()), null);
                 for (Entry<Integer, Plot> entry : plots.entrySet()) {
@@ -2160,14 +2318,143 @@ public class SQLManager implements AbstractDB {
             }
         } catch (SQLException e) {
             LOGGER.error("Failed to load plots", e);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
         }
         return newPlots;
     }
 
+    /**
+     * Delete the rows of a loaded table that reference unknown plots.
+     */
+    private void deleteLoadedRows(final String table, final ArrayList<Integer> rowIds) {
+        final String column = table.startsWith("plot_flags") ? "plot_id" : "plot_plot_id";
+        deleteRows(rowIds, this.prefix + table.split("#")[0], column);
+    }
+
+    /**
+     * Create a forward only statement that streams its rows instead of buffering the whole result.
+     */
+    private PreparedStatement createLoadStatement(
+            final Connection connection, final String query,
+            final List<String> parameters
+    ) throws SQLException {
+        final PreparedStatement statement =
+                connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        try {
+            // Connector/J only streams row by row with this exact fetch size
+            statement.setFetchSize(this.mySQL ? Integer.MIN_VALUE : LOAD_FETCH_SIZE);
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setString(i + 1, parameters.get(i));
+            }
+        } catch (SQLException e) {
+            statement.close();
+            throw e;
+        }
+        return statement;
+    }
+
+    /**
+     * Scan a table referencing plots. Rows referencing unknown plots are returned so that
+     * they can be purged once all tables are loaded.
+     */
+    private TableLoader loadTable(
+            final String table, final String columns, final List<String> conditions,
+            final List<String> parameters, final Map<Integer, Plot> plots, final LoadRowHandler handler
+    ) {
+        final String idColumn = table.equals("plot_flags") ? "plot_id" : "plot_plot_id";
+        final String query = "SELECT " + columns + " FROM `" + this.prefix + table + '`'
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions));
+        // Each condition on the plot table references all parameters
+        final List<String> bound = new ArrayList<>();
+        for (final String condition : conditions) {
+            if (condition.contains("?")) {
+                bound.addAll(parameters);
+            }
+        }
+        return connection -> {
+            final ArrayList<Integer> toDelete = new ArrayList<>();
+            try (PreparedStatement statement = createLoadStatement(connection, query, bound);
+                 ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    final int id = resultSet.getInt(idColumn);
+                    final Plot plot = plots.get(id);
+                    if (plot != null) {
+                        handler.accept(plot, resultSet);
+                    } else if (Settings.Enabled_Components.DATABASE_PURGER) {
+                        toDelete.add(id);
+                    } else {
+                        LOGGER.warn("Entry #{} in `{}` does not exist."
+                                + " Create this plot or set `database-purger: true` in settings.yml", id, table);
+                    }
+                }
+            }
+            return toDelete;
+        };
+    }
+
+    /**
+     * Conditions restricting a table referencing plots to the plots of the loaded areas.
+     */
+    private List<String> loadConditions(final String idColumn, final @Nullable String areaCondition) {
+        final List<String> conditions = new ArrayList<>();
+        if (areaCondition != null) {
+            conditions.add('`' + idColumn + "` IN (SELECT `id` FROM `" + this.prefix + "plot` WHERE "
+                    + areaCondition + ')');
+        }
+        return conditions;
+    }
+
+    private static LoadRowHandler uuidRow(final Function<Plot, Set<UUID>> target) {
+        final HashMap<String, UUID> uuids = new HashMap<>();
+        return (plot, resultSet) -> target.apply(plot)
+                .add(uuids.computeIfAbsent(resultSet.getString("user_uuid"), UUID::fromString));
+    }
+
+    private static void loadFlag(
+            final Plot plot, final ResultSet resultSet,
+            final Map<Plot, Collection<PlotFlag<?, ?>>> invalidFlags
+    ) throws SQLException {
+        final String flag = resultSet.getString("flag");
+        String value = resultSet.getString("value");
+        final PlotFlag<?, ?> plotFlag = GlobalFlagContainer.getInstance().getFlagFromString(flag);
+        if (plotFlag == null) {
+            plot.getFlagContainer().addUnknownFlag(flag, value);
+            return;
+        }
+        value = CaptionUtility.stripClickEvents(plotFlag, value);
+        try {
+            plot.getFlagContainer().addFlag(plotFlag.parse(value));
+        } catch (final FlagParseException e) {
+            e.printStackTrace();
+            LOGGER.error("Plot with ID {} has an invalid value:", plot.temp);
+            LOGGER.error("Failed to parse flag '{}', value '{}': {}",
+                    plotFlag.getName(), e.getValue(), e.getErrorMessage()
+            );
+            invalidFlags.computeIfAbsent(plot, k -> new ArrayList<>()).add(plotFlag);
+        }
+    }
+
+    private static ArrayList<Integer> awaitLoad(final Future<ArrayList<Integer>> future) throws SQLException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while loading plots", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new SQLException("Failed to load plots", e.getCause());
+        }
+    }
+
     @Override
     public void setMerged(final Plot plot, final boolean[] merged) {
         plot.getSettings().setMerged(merged);
-        addPlotTask(plot, new UniqueStatement("setMerged") {
+        addPlotTask(plot, new UniqueStatement("setMerged", "merged") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 int hash = HashUtil.hash(merged);
@@ -2237,7 +2524,7 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void setFlag(final Plot plot, final PlotFlag<?, ?> flag) {
-        addPlotTask(plot, new UniqueStatement("setFlag") {
+        addPlotTask(plot, new UniqueStatement("setFlag", "flag_" + flag.getName()) {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setInt(1, getId(plot));
@@ -2265,7 +2552,7 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void removeFlag(final Plot plot, final PlotFlag<?, ?> flag) {
-        addPlotTask(plot, new UniqueStatement("removeFlag") {
+        addPlotTask(plot, new UniqueStatement("removeFlag", "flag_" + flag.getName()) {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setInt(1, getId(plot));
@@ -2283,7 +2570,7 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void setAlias(final Plot plot, final String alias) {
-        addPlotTask(plot, new UniqueStatement("setAlias") {
+        addPlotTask(plot, new UniqueStatement("setAlias", "alias") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setString(1, alias);
@@ -2398,7 +2685,7 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void setPosition(final Plot plot, final String position) {
-        addPlotTask(plot, new UniqueStatement("setPosition") {
+        addPlotTask(plot, new UniqueStatement("setPosition", "position") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 // Please see the table creation statement. There is the default value of "default"
@@ -2479,6 +2766,25 @@ public class SQLManager implements AbstractDB {
             @NonNull Plot plot, final String inbox,
             final RunnableVal<List<PlotComment>> whenDone
     ) {
+        if (useReadPool(this.plotTasks, plot)) {
+            // Nothing pending for this plot, so the comments can be read without waiting for the batch
+            TaskManager.runTaskAsync(() -> {
+                try (ConnectionPool.Lease lease = this.readPool.acquire();
+                     PreparedStatement statement = lease.connection().prepareStatement(
+                             "SELECT * FROM `" + this.prefix
+                                     + "plot_comments` WHERE `world` = ? AND `hashcode` = ? AND `inbox` = ?")) {
+                    statement.setString(1, plot.getArea().toString());
+                    statement.setInt(2, plot.getId().hashCode());
+                    statement.setString(3, inbox);
+                    whenDone.value = readComments(statement, inbox);
+                } catch (SQLException e) {
+                    LOGGER.error("Failed to fetch comments for plot {}", plot.getId(), e);
+                    return;
+                }
+                TaskManager.runTask(whenDone);
+            });
+            return;
+        }
         addPlotTask(plot, new UniqueStatement("getComments_" + plot) {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
@@ -2509,31 +2815,35 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public void addBatch(PreparedStatement statement) throws SQLException {
-                ArrayList<PlotComment> comments = new ArrayList<>();
-                try (ResultSet set = statement.executeQuery()) {
-                    while (set.next()) {
-                        String sender = set.getString("sender");
-                        String world = set.getString("world");
-                        int hash = set.getInt("hashcode");
-                        PlotId id;
-                        if (hash != 0) {
-                            id = PlotId.unpair(hash);
-                        } else {
-                            id = null;
-                        }
-                        String msg = set.getString("comment");
-                        long timestamp = set.getInt("timestamp") * 1000;
-                        PlotComment comment =
-                                new PlotComment(world, id, msg, sender, inbox, timestamp);
-                        comments.add(comment);
-                    }
-                    whenDone.value = comments;
-                }
+                whenDone.value = readComments(statement, inbox);
                 TaskManager.runTask(whenDone);
             }
         });
     }
 
+    private List<PlotComment> readComments(final PreparedStatement statement, final String inbox) throws SQLException {
+        ArrayList<PlotComment> comments = new ArrayList<>();
+        try (ResultSet set = statement.executeQuery()) {
+            while (set.next()) {
+                String sender = set.getString("sender");
+                String world = set.getString("world");
+                int hash = set.getInt("hashcode");
+                PlotId id;
+                if (hash != 0) {
+                    id = PlotId.unpair(hash);
+                } else {
+                    id = null;
+                }
+                String msg = set.getString("comment");
+                long timestamp = set.getInt("timestamp") * 1000;
+                PlotComment comment =
+                        new PlotComment(world, id, msg, sender, inbox, timestamp);
+                comments.add(comment);
+            }
+        }
+        return comments;
+    }
+
     @Override
     public void setComment(final Plot plot, final PlotComment comment) {
         addPlotTask(plot, new UniqueStatement("setComment") {
@@ -2667,10 +2977,27 @@ public class SQLManager implements AbstractDB {
     @Override
     public HashMap<UUID, Integer> getRatings(Plot plot) {
         HashMap<UUID, Integer> map = new HashMap<>();
-        try (PreparedStatement statement = this.connection.prepareStatement(
+        final int id = getId(plot);
+        try {
+            if (useReadPool(this.plotTasks, plot)) {
+                try (ConnectionPool.Lease lease = this.readPool.acquire()) {
+                    selectRatings(lease.connection(), id, map);
+                }
+            } else {
+                selectRatings(this.connection, id, map);
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Failed to fetch rating for plot {}", plot.getId().toString());
+            e.printStackTrace();
+        }
+        return map;
+    }
+
+    private void selectRatings(final Connection connection, final int id, final Map<UUID, Integer> map) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
                 "SELECT `rating`, `player` FROM `" + this.prefix
                         + "plot_rating` WHERE `plot_plot_id` = ? ")) {
-            statement.setInt(1, getId(plot));
+            statement.setInt(1, id);
             try (ResultSet resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
                     UUID uuid = UUID.fromString(resultSet.getString("player"));
@@ -2678,11 +3005,7 @@ public class SQLManager implements AbstractDB {
                     map.put(uuid, rating);
                 }
             }
-        } catch (SQLException e) {
-            LOGGER.error("Failed to fetch rating for plot {}", plot.getId().toString());
-            e.printStackTrace();
         }
-        return map;
     }
 
     @Override
@@ -2814,6 +3137,24 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void getPersistentMeta(final UUID uuid, final RunnableVal<Map<String, byte[]>> result) {
+        if (useReadPool(this.playerTasks, uuid)) {
+            // Nothing pending for this player, so the meta can be read without waiting for the batch
+            TaskManager.runTaskAsync(() -> {
+                final Map<String, byte[]> metaMap;
+                try (ConnectionPool.Lease lease = this.readPool.acquire();
+                     PreparedStatement statement = lease.connection().prepareStatement(
+                             "SELECT * FROM `" + this.prefix
+                                     + "player_meta` WHERE `uuid` = ? ORDER BY `meta_id` ASC")) {
+                    statement.setString(1, uuid.toString());
+                    metaMap = readPersistentMeta(statement);
+                } catch (SQLException e) {
+                    LOGGER.error("Failed to fetch persistent meta for {}", uuid, e);
+                    return;
+                }
+                result.run(metaMap);
+            });
+            return;
+        }
         addPlayerTask(uuid, new UniqueStatement("getPersistentMeta") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
@@ -2833,23 +3174,25 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public void addBatch(PreparedStatement statement) throws SQLException {
-                ResultSet resultSet = statement.executeQuery();
-
-                final Map<String, byte[]> metaMap = new HashMap<>();
-
-                while (resultSet.next()) {
-                    String key = resultSet.getString("key");
-                    byte[] bytes = resultSet.getBytes("value");
-                    metaMap.put(key, bytes);
-                }
-
-                resultSet.close();
+                final Map<String, byte[]> metaMap = readPersistentMeta(statement);
                 TaskManager.runTaskAsync(() -> result.run(metaMap));
             }
 
         });
     }
 
+    private Map<String, byte[]> readPersistentMeta(final PreparedStatement statement) throws SQLException {
+        final Map<String, byte[]> metaMap = new HashMap<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                String key = resultSet.getString("key");
+                byte[] bytes = resultSet.getBytes("value");
+                metaMap.put(key, bytes);
+            }
+        }
+        return metaMap;
+    }
+
     @Override
     public HashMap<String, Set<PlotCluster>> getClusters() {
         LinkedHashMap<String, Set<PlotCluster>> newClusters = new LinkedHashMap<>();
@@ -3001,7 +3344,7 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void setClusterName(final PlotCluster cluster, final String name) {
-        addClusterTask(cluster, new UniqueStatement("setClusterName") {
+        addClusterTask(cluster, new UniqueStatement("setClusterName", "alias") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setString(1, name);
@@ -3136,7 +3479,7 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void setPosition(final PlotCluster cluster, final String position) {
-        addClusterTask(cluster, new UniqueStatement("setPosition") {
+        addClusterTask(cluster, new UniqueStatement("setPosition", "position") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setString(1, position);
@@ -3193,8 +3536,7 @@ public class SQLManager implements AbstractDB {
         try (Statement stmt = this.connection.createStatement();
              PreparedStatement statement = this.connection
                      .prepareStatement("DROP TABLE `" + this.prefix + "plot`")) {
-            close();
-            this.closed = false;
+            closeConnection();
             SQLManager.this.connection = this.database.forceConnection();
             stmt.addBatch("DROP TABLE `" + this.prefix + "cluster_invited`");
             stmt.addBatch("DROP TABLE `" + this.prefix + "cluster_helpers`");
@@ -3429,8 +3771,19 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void close() {
+        this.closed = true;
+        synchronized (this) {
+            // Wake up the writer so it can stop
+            notifyAll();
+        }
+        closeConnection();
+        if (this.readPool != null) {
+            this.readPool.close();
+        }
+    }
+
+    private void closeConnection() {
         try {
-            this.closed = true;
             this.connection.close();
         } catch (SQLException e) {
             e.printStackTrace();
@@ -3447,9 +3800,20 @@ public class SQLManager implements AbstractDB {
     public abstract static class UniqueStatement {
 
         public final String method;
+        /**
+         * Key of the value written by this statement, or null. Statements with a key are
+         * last-write-wins: queuing a statement drops a pending statement with the same key
+         * for the same plot, player or cluster.
+         */
+        public final String key;
 
         public UniqueStatement(String method) {
+            this(method, null);
+        }
+
+        public UniqueStatement(String method, String key) {
             this.method = method;
+            this.key = key;
         }
 
         public void addBatch(PreparedStatement statement) throws SQLException {
@@ -3470,4 +3834,25 @@ public class SQLManager implements AbstractDB {
 
     }
 
+    @FunctionalInterface
+    private interface LoadRowHandler {
+
+        void accept(Plot plot, ResultSet resultSet) throws SQLException;
+
+    }
+
+    @FunctionalInterface
+    private interface TableLoader {
+
+        ArrayList<Integer> load(Connection connection) throws SQLException;
+
+    }
+
+    @FunctionalInterface
+    private interface IdSelect {
+
+        int select(Connection connection) throws SQLException;
+
+    }
+
 }
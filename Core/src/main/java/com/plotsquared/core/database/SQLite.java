@@ -65,8 +65,7 @@ public class SQLite extends Database {
                 LOGGER.error("Unable to create database");
             }
         }
-        Class.forName("org.sqlite.JDBC");
-        this.connection = DriverManager.getConnection("jdbc:sqlite:" + this.dbLocation);
+        this.connection = createConnection();
         return this.connection;
     }
 
@@ -112,9 +111,14 @@ public class SQLite extends Database {
 
     @Override
     public Connection forceConnection() throws SQLException, ClassNotFoundException {
-        Class.forName("org.sqlite.JDBC");
-        this.connection = DriverManager.getConnection("jdbc:sqlite:" + this.dbLocation);
+        this.connection = createConnection();
         return this.connection;
     }
 
+    @Override
+    public Connection createConnection() throws SQLException, ClassNotFoundException {
+        Class.forName("org.sqlite.JDBC");
+        return DriverManager.getConnection("jdbc:sqlite:" + this.dbLocation);
+    }
+
 }
@@ -283,37 +283,33 @@ public class ClassicPlotManager extends SquarePlotManager {
 
         int maxY = classicPlotWorld.getMaxBuildHeight() - 1;
         if (!plot.isMerged(Direction.NORTH)) {
-            int z = bottom.getZ();
-            for (int x = bottom.getX(); x <= top.getX(); x++) {
-                for (int y = classicPlotWorld.PLOT_HEIGHT; y <= maxY; y++) {
-                    queue.setBlock(x, y, z, blocks);
-                }
-            }
+            queue.setCuboid(
+                    Location.at(classicPlotWorld.getWorldName(), bottom.getX(), classicPlotWorld.PLOT_HEIGHT, bottom.getZ()),
+                    Location.at(classicPlotWorld.getWorldName(), top.getX(), maxY, bottom.getZ()),
+                    blocks
+            );
         }
         if (!plot.isMerged(Direction.WEST)) {
-            int x = bottom.getX();
-            for (int z = bottom.getZ(); z <= top.getZ(); z++) {
-                for (int y = classicPlotWorld.PLOT_HEIGHT; y <= maxY; y++) {
-                    queue.setBlock(x, y, z, blocks);
-                }
-            }
+            queue.setCuboid(
+                    Location.at(classicPlotWorld.getWorldName(), bottom.getX(), classicPlotWorld.PLOT_HEIGHT, bottom.getZ()),
+                    Location.at(classicPlotWorld.getWorldName(), bottom.getX(), maxY, top.getZ()),
+                    blocks
+            );
         }
 
         if (!plot.isMerged(Direction.SOUTH)) {
-            int z = top.getZ();
-            for (int x = bottom.getX(); x <= top.getX(); x++) {
-                for (int y = classicPlotWorld.PLOT_HEIGHT; y <= maxY; y++) {
-                    queue.setBlock(x, y, z, blocks);
-                }
-            }
+            queue.setCuboid(
+                    Location.at(classicPlotWorld.getWorldName(), bottom.getX(), classicPlotWorld.PLOT_HEIGHT, top.getZ()),
+                    Location.at(classicPlotWorld.getWorldName(), top.getX(), maxY, top.getZ()),
+                    blocks
+            );
         }
         if (!plot.isMerged(Direction.EAST)) {
-            int x = top.getX();
-            for (int z = bottom.getZ(); z <= top.getZ(); z++) {
-                for (int y = classicPlotWorld.PLOT_HEIGHT; y <= maxY; y++) {
-                    queue.setBlock(x, y, z, blocks);
-                }
-            }
+            queue.setCuboid(
+                    Location.at(classicPlotWorld.getWorldName(), top.getX(), classicPlotWorld.PLOT_HEIGHT, bottom.getZ()),
+                    Location.at(classicPlotWorld.getWorldName(), top.getX(), maxY, top.getZ()),
+                    blocks
+            );
         }
         if (plot.isBasePlot()) {
             for (CuboidRegion region : plot.getRegions()) {
@@ -381,36 +377,32 @@ public class ClassicPlotManager extends SquarePlotManager {
 
         int yStart = classicPlotWorld.getMinComponentHeight();
         if (!plot.isMerged(Direction.NORTH)) {
-            int z = bot.getZ();
-            for (int x = bot.getX(); x < top.getX(); x++) {
-                for (int y = yStart; y <= classicPlotWorld.WALL_HEIGHT; y++) {
-                    queue.setBlock(x, y, z, blocks);
-                }
-            }
+            queue.setCuboid(
+                    Location.at(classicPlotWorld.getWorldName(), bot.getX(), yStart, bot.getZ()),
+                    Location.at(classicPlotWorld.getWorldName(), top.getX() - 1, classicPlotWorld.WALL_HEIGHT, bot.getZ()),
+                    blocks
+            );
         }
         if (!plot.isMerged(Direction.WEST)) {
-            int x = bot.getX();
-            for (int z = bot.getZ(); z < top.getZ(); z++) {
-                for (int y = yStart; y <= classicPlotWorld.WALL_HEIGHT; y++) {
-                    queue.setBlock(x, y, z, blocks);
-                }
-            }
+            queue.setCuboid(
+                    Location.at(classicPlotWorld.getWorldName(), bot.getX(), yStart, bot.getZ()),
+                    Location.at(classicPlotWorld.getWorldName(), bot.getX(), classicPlotWorld.WALL_HEIGHT, top.getZ() - 1),
+                    blocks
+            );
         }
         if (!plot.isMerged(Direction.SOUTH)) {
-            int z = top.getZ();
-            for (int x = bot.getX(); x < top.getX() + (plot.isMerged(Direction.EAST) ? 0 : 1); x++) {
-                for (int y = yStart; y <= classicPlotWorld.WALL_HEIGHT; y++) {
-                    queue.setBlock(x, y, z, blocks);
-                }
-            }
+            queue.setCuboid(
+                    Location.at(classicPlotWorld.getWorldName(), bot.getX(), yStart, top.getZ()),
+                    Location.at(classicPlotWorld.getWorldName(), top.getX() - (plot.isMerged(Direction.EAST) ? 1 : 0), classicPlotWorld.WALL_HEIGHT, top.getZ()),
+                    blocks
+            );
         }
         if (!plot.isMerged(Direction.EAST)) {
-            int x = top.getX();
-            for (int z = bot.getZ(); z < top.getZ() + (plot.isMerged(Direction.SOUTH) ? 0 : 1); z++) {
-                for (int y = yStart; y <= classicPlotWorld.WALL_HEIGHT; y++) {
-                    queue.setBlock(x, y, z, blocks);
-                }
-            }
+            queue.setCuboid(
+                    Location.at(classicPlotWorld.getWorldName(), top.getX(), yStart, bot.getZ()),
+                    Location.at(classicPlotWorld.getWorldName(), top.getX(), classicPlotWorld.WALL_HEIGHT, top.getZ() - (plot.isMerged(Direction.SOUTH) ? 1 : 0)),
+                    blocks
+            );
         }
         return !enqueue || queue.enqueue();
     }
@@ -461,28 +453,32 @@ public class ClassicPlotManager extends SquarePlotManager {
 
         int y = classicPlotWorld.WALL_HEIGHT + 1;
         if (!plot.isMerged(Direction.NORTH)) {
-            int z = bot.getZ();
-            for (int x = bot.getX(); x < top.getX(); x++) {
-                queue.setBlock(x, y, z, blocks);
-            }
+            queue.setCuboid(
+                    Location.at(classicPlotWorld.getWorldName(), bot.getX(), y, bot.getZ()),
+                    Location.at(classicPlotWorld.getWorldName(), top.getX() - 1, y, bot.getZ()),
+                    blocks
+            );
         }
         if (!plot.isMerged(Direction.WEST)) {
-            int x = bot.getX();
-            for (int z = bot.getZ(); z < top.getZ(); z++) {
-                queue.setBlock(x, y, z, blocks);
-            }
+            queue.setCuboid(
+                    Location.at(classicPlotWorld.getWorldName(), bot.getX(), y, bot.getZ()),
+                    Location.at(classicPlotWorld.getWorldName(), bot.getX(), y, top.getZ() - 1),
+                    blocks
+            );
         }
         if (!plot.isMerged(Direction.SOUTH)) {
-            int z = top.getZ();
-            for (int x = bot.getX(); x < top.getX() + (plot.isMerged(Direction.EAST) ? 0 : 1); x++) {
-                queue.setBlock(x, y, z, blocks);
-            }
+            queue.setCuboid(
+                    Location.at(classicPlotWorld.getWorldName(), bot.getX(), y, top.getZ()),
+                    Location.at(classicPlotWorld.getWorldName(), top.getX() - (plot.isMerged(Direction.EAST) ? 1 : 0), y, top.getZ()),
+                    blocks
+            );
         }
         if (!plot.isMerged(Direction.EAST)) {
-            int x = top.getX();
-            for (int z = bot.getZ(); z < top.getZ() + (plot.isMerged(Direction.SOUTH) ? 0 : 1); z++) {
-                queue.setBlock(x, y, z, blocks);
-            }
+            queue.setCuboid(
+                    Location.at(classicPlotWorld.getWorldName(), top.getX(), y, bot.getZ()),
+                    Location.at(classicPlotWorld.getWorldName(), top.getX(), y, top.getZ() - (plot.isMerged(Direction.SOUTH) ? 1 : 0)),
+                    blocks
+            );
         }
         return !enqueue || queue.enqueue();
     }
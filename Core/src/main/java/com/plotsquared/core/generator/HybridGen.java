@@ -27,7 +27,6 @@ import com.plotsquared.core.location.Location;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.queue.ZeroedDelegateScopedQueueCoordinator;
-import com.plotsquared.core.util.MathMan;
 import com.sk89q.worldedit.entity.BaseEntity;
 import com.sk89q.worldedit.entity.Entity;
 import com.sk89q.worldedit.extent.Extent;
@@ -38,7 +37,6 @@ import com.sk89q.worldedit.regions.RegionOperationException;
 import com.sk89q.worldedit.world.NullWorld;
 import com.sk89q.worldedit.world.biome.BiomeType;
 import com.sk89q.worldedit.world.block.BaseBlock;
-import com.sk89q.worldedit.world.block.BlockTypes;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -75,12 +73,13 @@ public class HybridGen extends IndependentPlotGenerator {
         } else {
             minY = world.getMinBuildHeight();
         }
-        BaseBlock[] blocks = world.G_SCH.get(MathMan.pair(relativeX, relativeZ));
-        if (blocks != null) {
-            for (int y = 0; y < blocks.length; y++) {
-                if (blocks[y] != null) {
-                    if (!features.contains(SchematicFeature.POPULATING) || blocks[y].hasNbtData()) {
-                        result.setBlock(x, minY + y, z, blocks[y]);
+        SchematicOverlay overlay = world.getSchematicOverlay();
+        if (overlay.hasColumn(relativeX, relativeZ)) {
+            for (int y = 0; y < overlay.getHeight(); y++) {
+                BaseBlock block = overlay.getBlock(relativeX, y, relativeZ);
+                if (block != null) {
+                    if (!features.contains(SchematicFeature.POPULATING) || block.hasNbtData()) {
+                        result.setBlock(x, minY + y, z, block);
                     }
                 }
             }
@@ -88,7 +87,7 @@ public class HybridGen extends IndependentPlotGenerator {
         if (!features.contains(SchematicFeature.BIOMES)) {
             return;
         }
-        BiomeType biome = world.G_SCH_B.get(MathMan.pair(relativeX, relativeZ));
+        BiomeType biome = overlay.getBiome(relativeX, relativeZ);
         if (biome != null) {
             result.setBiome(x, z, biome);
         }
@@ -104,21 +103,6 @@ public class HybridGen extends IndependentPlotGenerator {
         if (biomes) {
             result.fillBiome(hybridPlotWorld.getPlotBiome());
         }
-        // Bedrock
-        if (hybridPlotWorld.PLOT_BEDROCK) {
-            for (short x = 0; x < 16; x++) {
-                for (short z = 0; z < 16; z++) {
-                    result.setBlock(x, hybridPlotWorld.getMinGenHeight(), z, BlockTypes.BEDROCK.getDefaultState());
-                }
-            }
-        }
-        EnumSet<SchematicFeature> roadFeatures = EnumSet.of(SchematicFeature.ROAD);
-        EnumSet<SchematicFeature> plotFeatures = EnumSet.noneOf(SchematicFeature.class);
-        if (biomes) {
-            roadFeatures.add(SchematicFeature.BIOMES);
-            plotFeatures.add(SchematicFeature.BIOMES);
-        }
-
         // Coords
         Location min = result.getMin();
         int bx = min.getX() - hybridPlotWorld.ROAD_OFFSET_X;
@@ -131,114 +115,8 @@ public class HybridGen extends IndependentPlotGenerator {
         // contained in the scoped queue
         short relativeOffsetZ = (short) Math.floorMod(bz, hybridPlotWorld.SIZE);
 
-        // The X-coordinate of a given X coordinate, relative to the
-        // plot (Counting from the corner with the least positive
-        // coordinates)
-        short[] relativeX = new short[16];
-        boolean[] insideRoadX = new boolean[16];
-        boolean[] insideWallX = new boolean[16];
-        short offsetX = relativeOffsetX;
-        for (short i = 0; i < 16; i++) {
-            if (offsetX >= hybridPlotWorld.SIZE) {
-                offsetX -= hybridPlotWorld.SIZE;
-            }
-            relativeX[i] = offsetX;
-            if (hybridPlotWorld.ROAD_WIDTH != 0) {
-                insideRoadX[i] = offsetX < hybridPlotWorld.PATH_WIDTH_LOWER || offsetX > hybridPlotWorld.PATH_WIDTH_UPPER;
-                insideWallX[i] = offsetX == hybridPlotWorld.PATH_WIDTH_LOWER || offsetX == hybridPlotWorld.PATH_WIDTH_UPPER;
-            }
-            offsetX++;
-        }
-        // The Z-coordinate of a given Z coordinate, relative to the
-        // plot (Counting from the corner with the least positive
-        // coordinates)
-        short[] relativeZ = new short[16];
-        boolean[] insideRoadZ = new boolean[16];
-        boolean[] insideWallZ = new boolean[16];
-        short offsetZ = relativeOffsetZ;
-        for (short i = 0; i < 16; i++) {
-            if (offsetZ >= hybridPlotWorld.SIZE) {
-                offsetZ -= hybridPlotWorld.SIZE;
-            }
-            relativeZ[i] = offsetZ;
-            if (hybridPlotWorld.ROAD_WIDTH != 0) {
-                insideRoadZ[i] = offsetZ < hybridPlotWorld.PATH_WIDTH_LOWER || offsetZ > hybridPlotWorld.PATH_WIDTH_UPPER;
-                insideWallZ[i] = offsetZ == hybridPlotWorld.PATH_WIDTH_LOWER || offsetZ == hybridPlotWorld.PATH_WIDTH_UPPER;
-            }
-            offsetZ++;
-        }
-        // generation
-        int startY = hybridPlotWorld.getMinGenHeight() + (hybridPlotWorld.PLOT_BEDROCK ? 1 : 0);
-        for (short x = 0; x < 16; x++) {
-            if (insideRoadX[x]) {
-                for (short z = 0; z < 16; z++) {
-                    // Road
-                    for (int y = startY; y <= hybridPlotWorld.ROAD_HEIGHT; y++) {
-                        result.setBlock(x, y, z, hybridPlotWorld.ROAD_BLOCK.toPattern());
-                    }
-                    if (hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
-                        placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z, roadFeatures);
-                    }
-                }
-            } else if (insideWallX[x]) {
-                for (short z = 0; z < 16; z++) {
-                    if (insideRoadZ[z]) {
-                        // road
-                        for (int y = startY; y <= hybridPlotWorld.ROAD_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.ROAD_BLOCK.toPattern());
-                        }
-                        if (hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
-                            placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z, roadFeatures);
-                        }
-                    } else {
-                        // wall
-                        for (int y = startY; y <= hybridPlotWorld.WALL_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.WALL_FILLING.toPattern());
-                        }
-                        if (!hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
-                            if (hybridPlotWorld.PLACE_TOP_BLOCK) {
-                                result.setBlock(x, hybridPlotWorld.WALL_HEIGHT + 1, z, hybridPlotWorld.WALL_BLOCK.toPattern());
-                            }
-                        } else {
-                            placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z, roadFeatures);
-                        }
-                    }
-                }
-            } else {
-                for (short z = 0; z < 16; z++) {
-                    if (insideRoadZ[z]) {
-                        // road
-                        for (int y = startY; y <= hybridPlotWorld.ROAD_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.ROAD_BLOCK.toPattern());
-                        }
-                        if (hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
-                            placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z, roadFeatures);
-                        }
-                    } else if (insideWallZ[z]) {
-                        // wall
-                        for (int y = startY; y <= hybridPlotWorld.WALL_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.WALL_FILLING.toPattern());
-                        }
-                        if (!hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
-                            if (hybridPlotWorld.PLACE_TOP_BLOCK) {
-                                result.setBlock(x, hybridPlotWorld.WALL_HEIGHT + 1, z, hybridPlotWorld.WALL_BLOCK.toPattern());
-                            }
-                        } else {
-                            placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z, roadFeatures);
-                        }
-                    } else {
-                        // plot
-                        for (int y = startY; y < hybridPlotWorld.PLOT_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.MAIN_BLOCK.toPattern());
-                        }
-                        result.setBlock(x, hybridPlotWorld.PLOT_HEIGHT, z, hybridPlotWorld.TOP_BLOCK.toPattern());
-                        if (hybridPlotWorld.PLOT_SCHEMATIC) {
-                            placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z, plotFeatures);
-                        }
-                    }
-                }
-            }
-        }
+        // generation: copy the precomputed bedrock, road, wall and plot columns (schematics included)
+        hybridPlotWorld.getGenerationTemplate().apply(result, min.getWorldName(), relativeOffsetX, relativeOffsetZ, biomes);
     }
 
     @Override
@@ -398,7 +276,7 @@ public class HybridGen extends IndependentPlotGenerator {
         int size = hybridPlotWorld.PLOT_WIDTH + hybridPlotWorld.ROAD_WIDTH;
         relativeX = Math.floorMod(relativeX, size);
         relativeZ = Math.floorMod(relativeZ, size);
-        BiomeType biome = hybridPlotWorld.G_SCH_B.get(MathMan.pair((short) relativeX, (short) relativeZ));
+        BiomeType biome = hybridPlotWorld.getSchematicOverlay().getBiome(relativeX, relativeZ);
         return biome == null ? hybridPlotWorld.getPlotBiome() : biome;
     }
 
@@ -0,0 +1,329 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.plot.BlockBucket;
+import com.plotsquared.core.queue.ZeroedDelegateScopedQueueCoordinator;
+import com.sk89q.worldedit.function.pattern.BlockPattern;
+import com.sk89q.worldedit.function.pattern.Pattern;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockTypes;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Block columns of a {@link HybridPlotWorld}, computed once for every position within a plot and the road around it (the
+ * road schematic and plot schematic included). Chunk generation copies these columns instead of classifying every column
+ * as road, wall or plot and setting its blocks one at a time. Identical columns share one instance, so that neighbouring
+ * columns can be filled as a single cuboid.
+ */
+final class HybridGenTemplate {
+
+    private final short size;
+    private final Column[] columns;
+
+    HybridGenTemplate(final @NonNull HybridPlotWorld world) {
+        this.size = world.SIZE;
+        this.columns = new Column[this.size * this.size];
+        final Map<Column, Column> interned = new HashMap<>();
+        for (short x = 0; x < this.size; x++) {
+            for (short z = 0; z < this.size; z++) {
+                Column column = createColumn(world, x, z);
+                this.columns[x * this.size + z] = interned.computeIfAbsent(column, k -> column);
+            }
+        }
+    }
+
+    private static @NonNull Column createColumn(final @NonNull HybridPlotWorld world, final short x, final short z) {
+        boolean insideRoad = false;
+        boolean insideWall = false;
+        if (world.ROAD_WIDTH != 0) {
+            insideRoad = x < world.PATH_WIDTH_LOWER || x > world.PATH_WIDTH_UPPER
+                    || z < world.PATH_WIDTH_LOWER || z > world.PATH_WIDTH_UPPER;
+            insideWall = x == world.PATH_WIDTH_LOWER || x == world.PATH_WIDTH_UPPER
+                    || z == world.PATH_WIDTH_LOWER || z == world.PATH_WIDTH_UPPER;
+        }
+        int minY = Math.min(world.getMinGenHeight(), Math.min(world.getMinBuildHeight(), world.SCHEM_Y));
+        ColumnBuilder builder = new ColumnBuilder(minY);
+        if (world.PLOT_BEDROCK) {
+            builder.set(world.getMinGenHeight(), BlockTypes.BEDROCK.getDefaultState());
+        }
+        int startY = world.getMinGenHeight() + (world.PLOT_BEDROCK ? 1 : 0);
+        BiomeType biome = null;
+        if (insideRoad) {
+            builder.fill(startY, world.ROAD_HEIGHT, world.ROAD_BLOCK);
+            if (world.ROAD_SCHEMATIC_ENABLED) {
+                biome = placeSchem(world, builder, x, z, true);
+            }
+        } else if (insideWall) {
+            builder.fill(startY, world.WALL_HEIGHT, world.WALL_FILLING);
+            if (!world.ROAD_SCHEMATIC_ENABLED) {
+                if (world.PLACE_TOP_BLOCK) {
+                    builder.fill(world.WALL_HEIGHT + 1, world.WALL_HEIGHT + 1, world.WALL_BLOCK);
+                }
+            } else {
+                biome = placeSchem(world, builder, x, z, true);
+            }
+        } else {
+            builder.fill(startY, world.PLOT_HEIGHT - 1, world.MAIN_BLOCK);
+            builder.fill(world.PLOT_HEIGHT, world.PLOT_HEIGHT, world.TOP_BLOCK);
+            if (world.PLOT_SCHEMATIC) {
+                biome = placeSchem(world, builder, x, z, false);
+            }
+        }
+        return builder.build(biome);
+    }
+
+    private static @Nullable BiomeType placeSchem(
+            final @NonNull HybridPlotWorld world,
+            final @NonNull ColumnBuilder builder,
+            final short x,
+            final short z,
+            final boolean road
+    ) {
+        int minY;
+        if ((road && Settings.Schematics.PASTE_ROAD_ON_TOP) || (!road && Settings.Schematics.PASTE_ON_TOP)) {
+            minY = world.SCHEM_Y;
+        } else {
+            minY = world.getMinBuildHeight();
+        }
+        SchematicOverlay overlay = world.getSchematicOverlay();
+        if (overlay.hasColumn(x, z)) {
+            for (int y = 0; y < overlay.getHeight(); y++) {
+                builder.set(minY + y, overlay.getBlock(x, y, z));
+            }
+        }
+        return overlay.getBiome(x, z);
+    }
+
+    /**
+     * Copy the columns of the template into a chunk
+     *
+     * @param result          chunk queue, zeroed to the chunk's minimum x and z
+     * @param world           name of the world the chunk is in
+     * @param relativeOffsetX x coordinate within the plot of the chunk's minimum x coordinate
+     * @param relativeOffsetZ z coordinate within the plot of the chunk's minimum z coordinate
+     * @param biomes          if the biomes of the schematics should be set
+     */
+    void apply(
+            final @NonNull ZeroedDelegateScopedQueueCoordinator result,
+            final @NonNull String world,
+            final short relativeOffsetX,
+            final short relativeOffsetZ,
+            final boolean biomes
+    ) {
+        final Column[] chunk = new Column[256];
+        int relativeX = relativeOffsetX;
+        for (int x = 0; x < 16; x++) {
+            int relativeZ = relativeOffsetZ;
+            for (int z = 0; z < 16; z++) {
+                chunk[x << 4 | z] = this.columns[relativeX * this.size + relativeZ];
+                if (++relativeZ == this.size) {
+                    relativeZ = 0;
+                }
+            }
+            if (++relativeX == this.size) {
+                relativeX = 0;
+            }
+        }
+        // Greedily merge identical columns into rectangles, so that each rectangle is filled at once
+        final boolean[] done = new boolean[256];
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                if (done[x << 4 | z]) {
+                    continue;
+                }
+                Column column = chunk[x << 4 | z];
+                int maxZ = z;
+                while (maxZ < 15 && !done[x << 4 | maxZ + 1] && chunk[x << 4 | maxZ + 1] == column) {
+                    maxZ++;
+                }
+                int maxX = x;
+                extend:
+                while (maxX < 15) {
+                    for (int i = z; i <= maxZ; i++) {
+                        int index = (maxX + 1) << 4 | i;
+                        if (done[index] || chunk[index] != column) {
+                            break extend;
+                        }
+                    }
+                    maxX++;
+                }
+                for (int i = x; i <= maxX; i++) {
+                    Arrays.fill(done, i << 4 | z, (i << 4 | maxZ) + 1, true);
+                }
+                column.apply(result, world, x, z, maxX, maxZ, biomes);
+            }
+        }
+    }
+
+    /**
+     * Blocks that are stored as block states can be filled as cuboids; only random patterns and blocks with NBT data need
+     * to be set one at a time.
+     */
+    private static @Nullable Pattern simplify(final @Nullable Pattern pattern) {
+        if (pattern instanceof BlockPattern blockPattern) {
+            return simplify(blockPattern.getBlock());
+        }
+        if (pattern instanceof BaseBlock block && !block.hasNbtData()) {
+            return block.toImmutableState();
+        }
+        return pattern;
+    }
+
+    private static final class ColumnBuilder {
+
+        private final int minY;
+        private Pattern[] blocks = new Pattern[0];
+
+        private ColumnBuilder(final int minY) {
+            this.minY = minY;
+        }
+
+        private void fill(final int fromY, final int toY, final @NonNull BlockBucket bucket) {
+            if (fromY > toY) {
+                return;
+            }
+            Pattern pattern = bucket.toPattern();
+            for (int y = fromY; y <= toY; y++) {
+                set(y, pattern);
+            }
+        }
+
+        private void set(final int y, final @Nullable Pattern pattern) {
+            if (pattern == null) {
+                return;
+            }
+            int index = y - this.minY;
+            if (index < 0) {
+                return;
+            }
+            if (index >= this.blocks.length) {
+                this.blocks = Arrays.copyOf(this.blocks, index + 1);
+            }
+            this.blocks[index] = simplify(pattern);
+        }
+
+        private @NonNull Column build(final @Nullable BiomeType biome) {
+            List<Integer> from = new ArrayList<>();
+            List<Integer> to = new ArrayList<>();
+            List<Pattern> patterns = new ArrayList<>();
+            for (int i = 0; i < this.blocks.length; i++) {
+                Pattern pattern = this.blocks[i];
+                if (pattern == null) {
+                    continue;
+                }
+                int end = i;
+                while (end + 1 < this.blocks.length && pattern.equals(this.blocks[end + 1])) {
+                    end++;
+                }
+                from.add(this.minY + i);
+                to.add(this.minY + end);
+                patterns.add(pattern);
+                i = end;
+            }
+            return new Column(
+                    from.stream().mapToInt(Integer::intValue).toArray(),
+                    to.stream().mapToInt(Integer::intValue).toArray(),
+                    patterns.toArray(new Pattern[0]),
+                    biome
+            );
+        }
+
+    }
+
+    /**
+     * Runs of equal blocks from bottom to top, with inclusive y bounds
+     */
+    private record Column(int[] from, int[] to, Pattern[] patterns, @Nullable BiomeType biome) {
+
+        private void apply(
+                final @NonNull ZeroedDelegateScopedQueueCoordinator result,
+                final @NonNull String world,
+                final int minX,
+                final int minZ,
+                final int maxX,
+                final int maxZ,
+                final boolean biomes
+        ) {
+            for (int i = 0; i < this.patterns.length; i++) {
+                Pattern pattern = this.patterns[i];
+                if (pattern instanceof BlockState state) {
+                    result.setCuboid(
+                            Location.at(world, minX, this.from[i], minZ),
+                            Location.at(world, maxX, this.to[i], maxZ),
+                            state
+                    );
+                    continue;
+                }
+                for (int y = this.from[i]; y <= this.to[i]; y++) {
+                    for (int x = minX; x <= maxX; x++) {
+                        for (int z = minZ; z <= maxZ; z++) {
+                            if (pattern instanceof BaseBlock block) {
+                                result.setBlock(x, y, z, block);
+                            } else {
+                                result.setBlock(x, y, z, pattern);
+                            }
+                        }
+                    }
+                }
+            }
+            if (biomes && this.biome != null) {
+                for (int x = minX; x <= maxX; x++) {
+                    for (int z = minZ; z <= maxZ; z++) {
+                        result.setBiome(x, z, this.biome);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Column column)) {
+                return false;
+            }
+            return Arrays.equals(this.from, column.from) && Arrays.equals(this.to, column.to)
+                    && Arrays.equals(this.patterns, column.patterns) && Objects.equals(this.biome, column.biome);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Arrays.hashCode(this.from);
+            result = 31 * result + Arrays.hashCode(this.to);
+            result = 31 * result + Arrays.hashCode(this.patterns);
+            return 31 * result + Objects.hashCode(this.biome);
+        }
+
+    }
+
+}
@@ -70,7 +70,15 @@ public class HybridPlotWorld extends ClassicPlotWorld {
     public boolean PLOT_SCHEMATIC = false;
     public short PATH_WIDTH_LOWER;
     public short PATH_WIDTH_UPPER;
+    /**
+     * @deprecated Use {@link #getSchematicOverlay()}
+     */
+    @Deprecated(forRemoval = true, since = "TODO")
     public HashMap<Integer, BaseBlock[]> G_SCH;
+    /**
+     * @deprecated Use {@link #getSchematicOverlay()}
+     */
+    @Deprecated(forRemoval = true, since = "TODO")
     public HashMap<Integer, BiomeType> G_SCH_B;
     /**
      * The Y level at which schematic generation will start, lowest of either road or plot schematic generation.
@@ -87,6 +95,8 @@ public class HybridPlotWorld extends ClassicPlotWorld {
     private boolean schem1PopulationNeeded = false;
     private boolean schem2PopulationNeeded = false;
     private boolean schem3PopulationNeeded = false;
+    private volatile SchematicOverlay schematicOverlay = null;
+    private volatile HybridGenTemplate generationTemplate = null;
 
     @Inject
     private SchematicHandler schematicHandler;
@@ -210,8 +220,18 @@ public class HybridPlotWorld extends ClassicPlotWorld {
     }
 
     public void setupSchematics() throws SchematicHandler.UnsupportedFormatException {
+        try {
+            loadSchematics();
+        } finally {
+            // Generation columns are recreated from the new schematics on next use
+            this.generationTemplate = null;
+        }
+    }
+
+    private void loadSchematics() throws SchematicHandler.UnsupportedFormatException {
         this.G_SCH = new HashMap<>();
         this.G_SCH_B = new HashMap<>();
+        this.schematicOverlay = new SchematicOverlay(this.SIZE, 0);
 
         // Try to determine root. This means that plot areas can have separate schematic
         // directories
@@ -256,7 +276,7 @@ public class HybridPlotWorld extends ClassicPlotWorld {
         SCHEM_Y = schematicStartHeight();
 
         // plotY and roadY are important to allow plot and/or road schematic "overflow" into each other
-        // without causing AIOOB exceptions when attempting either to set blocks to, or get block from G_SCH
+        // without causing AIOOB exceptions when attempting either to set blocks to, or get block from the schematic overlay
         // Default plot schematic start height, normalized to the minimum height schematics are pasted from.
         plotY = PLOT_HEIGHT - SCHEM_Y;
         int minRoadWall = Settings.Schematics.USE_WALL_IN_ROAD_SCHEM_HEIGHT ? Math.min(ROAD_HEIGHT, WALL_HEIGHT) : ROAD_HEIGHT;
@@ -309,6 +329,7 @@ public class HybridPlotWorld extends ClassicPlotWorld {
             }
         }
         int maxSchematicHeight = Math.max(plotY + plotSchemHeight, roadY + roadSchemHeight);
+        this.schematicOverlay = new SchematicOverlay(this.SIZE, maxSchematicHeight);
 
         if (schematic3 != null) {
             this.PLOT_SCHEMATIC = true;
@@ -349,8 +370,7 @@ public class HybridPlotWorld extends ClassicPlotWorld {
                                 (short) (y + plotY),
                                 (short) (z + shift + oddshift + centerShiftZ),
                                 id,
-                                false,
-                                maxSchematicHeight
+                                false
                         );
                     }
                     if (blockArrayClipboard3.hasBiomes()) {
@@ -407,16 +427,14 @@ public class HybridPlotWorld extends ClassicPlotWorld {
                             (short) (y + roadY),
                             (short) (z + shift + oddshift),
                             id,
-                            false,
-                            maxSchematicHeight
+                            false
                     );
                     addOverlayBlock(
                             (short) (z + shift + oddshift),
                             (short) (y + roadY),
                             (short) (shift - x + (oddshift - 1)),
                             id,
-                            true,
-                            maxSchematicHeight
+                            true
                     );
                 }
                 if (blockArrayClipboard1.hasBiomes()) {
@@ -451,8 +469,7 @@ public class HybridPlotWorld extends ClassicPlotWorld {
                             (short) (y + roadY),
                             (short) (z - shift),
                             id,
-                            false,
-                            maxSchematicHeight
+                            false
                     );
                 }
                 if (blockArrayClipboard2.hasBiomes()) {
@@ -463,7 +480,7 @@ public class HybridPlotWorld extends ClassicPlotWorld {
         }
     }
 
-    private void addOverlayBlock(short x, short y, short z, BaseBlock id, boolean rotate, int height) {
+    private void addOverlayBlock(short x, short y, short z, BaseBlock id, boolean rotate) {
         if (z < 0) {
             z += this.SIZE;
         } else if (z >= this.SIZE) {
@@ -477,21 +494,22 @@ public class HybridPlotWorld extends ClassicPlotWorld {
         if (rotate) {
             id = rotate(id);
         }
-        int pair = MathMan.pair(x, z);
-        BaseBlock[] existing = this.G_SCH.computeIfAbsent(pair, k -> new BaseBlock[height]);
-        if (y >= height) {
+        int height = this.schematicOverlay.getHeight();
+        BaseBlock[] existing = this.G_SCH.computeIfAbsent(MathMan.pair(x, z), k -> new BaseBlock[height]);
+        if (y < existing.length) {
+            existing[y] = id;
+        }
+        if (!this.schematicOverlay.setBlock(x, y, z, id)) {
             if (y > lastOverlayHeightError) {
                 lastOverlayHeightError = y;
                 LOGGER.error(
                         "Error adding overlay block in world {}. `y > height`. y={}, height={}",
                         getWorldName(),
                         y,
-                        height
+                        this.schematicOverlay.getHeight()
                 );
             }
-            return;
         }
-        existing[y] = id;
     }
 
     private void addOverlayBiome(short x, short z, BiomeType id) {
@@ -505,8 +523,8 @@ public class HybridPlotWorld extends ClassicPlotWorld {
         } else if (x >= this.SIZE) {
             x -= this.SIZE;
         }
-        int pair = MathMan.pair(x, z);
-        this.G_SCH_B.put(pair, id);
+        this.G_SCH_B.put(MathMan.pair(x, z), id);
+        this.schematicOverlay.setBiome(x, z, id);
     }
 
     /**
@@ -539,6 +557,34 @@ public class HybridPlotWorld extends ClassicPlotWorld {
         return schem1PopulationNeeded || schem2PopulationNeeded || schem3PopulationNeeded;
     }
 
+    /**
+     * Get the blocks and biomes of the road and plot schematics, indexed by the position within a plot. Empty if the area
+     * does not use schematics or they were not yet set up via {@link HybridPlotWorld#setupSchematics()}.
+     *
+     * @return the schematic overlay
+     * @since TODO
+     */
+    public @NonNull SchematicOverlay getSchematicOverlay() {
+        SchematicOverlay overlay = this.schematicOverlay;
+        if (overlay == null) {
+            this.schematicOverlay = overlay = new SchematicOverlay(this.SIZE, 0);
+        }
+        return overlay;
+    }
+
+    /**
+     * Get the precomputed columns used to generate chunks in this area, creating them on first use after the schematics were
+     * (re)loaded. Intended for internal use only.
+     */
+    @NonNull HybridGenTemplate getGenerationTemplate() {
+        HybridGenTemplate template = this.generationTemplate;
+        if (template == null) {
+            // Concurrent generation threads may both create the template, which is harmless as the results are equal
+            this.generationTemplate = template = new HybridGenTemplate(this);
+        }
+        return template;
+    }
+
     /**
      * Get the root folder for this world's generation schematics. May be null if schematics not initialised via
      * {@link HybridPlotWorld#setupSchematics()}
@@ -37,9 +37,9 @@ import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.queue.BlockArrayCacheScopedQueueCoordinator;
 import com.plotsquared.core.queue.GlobalBlockQueue;
 import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.queue.QueuePriority;
 import com.plotsquared.core.util.ChunkManager;
 import com.plotsquared.core.util.EventDispatcher;
-import com.plotsquared.core.util.MathMan;
 import com.plotsquared.core.util.RegionManager;
 import com.plotsquared.core.util.RegionUtil;
 import com.plotsquared.core.util.SchematicHandler;
@@ -53,8 +53,6 @@ import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldedit.world.biome.BiomeType;
 import com.sk89q.worldedit.world.block.BaseBlock;
 import com.sk89q.worldedit.world.block.BlockState;
-import com.sk89q.worldedit.world.block.BlockType;
-import com.sk89q.worldedit.world.block.BlockTypes;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -75,7 +73,10 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class HybridUtils {
 
     private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + HybridUtils.class.getSimpleName());
-    private static final BlockState AIR = BlockTypes.AIR.getDefaultState();
+    /**
+     * Number of chunks read from the world at a time when analysing a region
+     */
+    private static final int ANALYSIS_BATCH_SIZE = 16;
 
     /**
      * Deprecated and likely to be removed in a future release.
@@ -138,178 +139,72 @@ public class HybridUtils {
                 return;
             }
 
+            // Statistics are gathered chunk by chunk, comparing each chunk to a freshly generated copy of itself
+            final RegionAnalysis analysis = new RegionAnalysis(region, hpw.getMinGenHeight(), hpw.getMaxGenHeight());
             final BlockVector3 bot = region.getMinimumPoint();
             final BlockVector3 top = region.getMaximumPoint();
-
-            final int bx = bot.getX();
-            final int bz = bot.getZ();
-            final int tx = top.getX();
-            final int tz = top.getZ();
-            final int cbx = bx >> 4;
-            final int cbz = bz >> 4;
-            final int ctx = tx >> 4;
-            final int ctz = tz >> 4;
-            final int width = tx - bx + 1;
-            final int length = tz - bz + 1;
-            final int height = area.getMaxGenHeight() - area.getMinGenHeight() + 1;
-            final int minHeight = area.getMinGenHeight();
-
-            final BlockState[][][] newBlocks = new BlockState[height][width][length];
-
-            BlockArrayCacheScopedQueueCoordinator oldBlockQueue = new BlockArrayCacheScopedQueueCoordinator(
-                    Location.at("", region.getMinimumPoint().withY(hpw.getMinGenHeight())),
-                    Location.at("", region.getMaximumPoint().withY(hpw.getMaxGenHeight()))
-            );
-
-            region.getChunks().forEach(chunkPos -> {
-                int relChunkX = chunkPos.getX() - cbx;
-                int relChunkZ = chunkPos.getZ() - cbz;
-                oldBlockQueue.setOffsetX(relChunkX << 4);
-                oldBlockQueue.setOffsetZ(relChunkZ << 4);
-                hpw.getGenerator().generateChunk(oldBlockQueue, hpw, false);
-            });
-
-            final BlockState[][][] oldBlocks = oldBlockQueue.getBlockStates();
-
-            QueueCoordinator queue = area.getQueue();
-            queue.addReadChunks(region.getChunks());
-            queue.setChunkConsumer(chunkPos -> {
-                int X = chunkPos.getX();
-                int Z = chunkPos.getZ();
-                int minX;
-                if (X == cbx) {
-                    minX = bx & 15;
-                } else {
-                    minX = 0;
-                }
-                int minZ;
-                if (Z == cbz) {
-                    minZ = bz & 15;
-                } else {
-                    minZ = 0;
-                }
-                int maxX;
-                if (X == ctx) {
-                    maxX = tx & 15;
-                } else {
-                    maxX = 15;
-                }
-                int maxZ;
-                if (Z == ctz) {
-                    maxZ = tz & 15;
-                } else {
-                    maxZ = 15;
-                }
-
-                int chunkBlockX = X << 4;
-                int chunkBlockZ = Z << 4;
-
-                int xb = chunkBlockX - bx;
-                int zb = chunkBlockZ - bz;
-                for (int x = minX; x <= maxX; x++) {
-                    int xx = chunkBlockX + x;
-                    for (int z = minZ; z <= maxZ; z++) {
-                        int zz = chunkBlockZ + z;
-                        for (int yIndex = 0; yIndex < height; yIndex++) {
-                            int y = yIndex + minHeight;
-                            BlockState block = queue.getBlock(xx, y, zz);
-                            if (block == null) {
-                                block = AIR;
-                            }
-                            int xr = xb + x;
-                            int zr = zb + z;
-                            newBlocks[yIndex][xr][zr] = block;
-                        }
+            final Iterator<BlockVector2> chunks = region.getChunks().iterator();
+            Runnable analyzeBatch = new Runnable() {
+                @Override
+                public void run() {
+                    if (!chunks.hasNext()) {
+                        TaskManager.runTask(() -> {
+                            whenDone.value = analysis.toAnalysis();
+                            whenDone.run();
+                        });
+                        return;
                     }
-                }
-            });
-
-            final Runnable run = () -> {
-                int size = width * length;
-                int[] changes = new int[size];
-                int[] faces = new int[size];
-                int[] data = new int[size];
-                int[] air = new int[size];
-                int[] variety = new int[size];
-                int i = 0;
-                for (int x = 0; x < width; x++) {
-                    for (int z = 0; z < length; z++) {
-                        Set<BlockType> types = new HashSet<>();
-                        for (int yIndex = 0; yIndex < height; yIndex++) {
-                            BlockState old = oldBlocks[yIndex][x][z]; // Nullable
-                            BlockState now = newBlocks[yIndex][x][z]; // Not null
-                            if (now == null) {
-                                throw new NullPointerException(String.format(
-                                        "\"now\" block null attempting to perform plot analysis. Indexes: x=%d of %d, yIndex=%d" +
-                                                " of %d, z=%d of %d",
-                                        x,
-                                        width,
-                                        yIndex,
-                                        height,
-                                        z,
-                                        length
-                                ));
-                            }
-                            if (!now.equals(old) && !(old == null && now.getBlockType().equals(BlockTypes.AIR))) {
-                                changes[i]++;
-                            }
-                            if (now.getBlockType().getMaterial().isAir()) {
-                                air[i]++;
-                            } else {
-                                // check vertices
-                                // modifications_adjacent
-                                if (x > 0 && z > 0 && yIndex > 0 && x < width - 1 && z < length - 1 && yIndex < (height - 1)) {
-                                    if (newBlocks[yIndex - 1][x][z].getBlockType().getMaterial().isAir()) {
-                                        faces[i]++;
-                                    }
-                                    if (newBlocks[yIndex][x - 1][z].getBlockType().getMaterial().isAir()) {
-                                        faces[i]++;
-                                    }
-                                    if (newBlocks[yIndex][x][z - 1].getBlockType().getMaterial().isAir()) {
-                                        faces[i]++;
-                                    }
-                                    if (newBlocks[yIndex + 1][x][z].getBlockType().getMaterial().isAir()) {
-                                        faces[i]++;
-                                    }
-                                    if (newBlocks[yIndex][x + 1][z].getBlockType().getMaterial().isAir()) {
-                                        faces[i]++;
-                                    }
-                                    if (newBlocks[yIndex][x][z + 1].getBlockType().getMaterial().isAir()) {
-                                        faces[i]++;
-                                    }
-                                }
-
-                                if (!now.equals(now.getBlockType().getDefaultState())) {
-                                    data[i]++;
-                                }
-                                types.add(now.getBlockType());
-                            }
-                        }
-                        variety[i] = types.size();
-                        i++;
+                    // Only read the next chunks once the previous ones have been analysed, so that the blocks copied from the
+                    // world but not analysed yet never exceed one batch
+                    final Set<BlockVector2> batch = new HashSet<>();
+                    while (batch.size() < ANALYSIS_BATCH_SIZE && chunks.hasNext()) {
+                        batch.add(chunks.next());
                     }
+                    // One for the queue and one for every chunk still being analysed
+                    final AtomicInteger pending = new AtomicInteger(1);
+                    final Runnable finish = () -> {
+                        if (pending.decrementAndGet() == 0) {
+                            run();
+                        }
+                    };
+
+                    QueueCoordinator queue = area.getQueue();
+                    queue.addReadChunks(batch);
+                    queue.setChunkConsumer(chunkPos -> {
+                        // Only the world is read here, on the main thread. Generating and comparing the chunk happens
+                        // asynchronously.
+                        pending.incrementAndGet();
+                        final BlockState[] current = analysis.readChunk(chunkPos.getX(), chunkPos.getZ(), queue);
+                        int chunkBlockX = chunkPos.getX() << 4;
+                        int chunkBlockZ = chunkPos.getZ() << 4;
+                        BlockVector3 min = BlockVector3.at(
+                                Math.max(chunkBlockX, bot.getX()),
+                                hpw.getMinGenHeight(),
+                                Math.max(chunkBlockZ, bot.getZ())
+                        );
+                        BlockVector3 max = BlockVector3.at(
+                                Math.min(chunkBlockX + 15, top.getX()),
+                                hpw.getMaxGenHeight(),
+                                Math.min(chunkBlockZ + 15, top.getZ())
+                        );
+                        TaskManager.runTaskAsync(() -> {
+                            try {
+                                BlockArrayCacheScopedQueueCoordinator generated = new BlockArrayCacheScopedQueueCoordinator(
+                                        Location.at("", min),
+                                        Location.at("", max)
+                                );
+                                hpw.getGenerator().generateChunk(generated, hpw, false);
+                                analysis.analyzeChunk(chunkPos.getX(), chunkPos.getZ(), current, generated);
+                            } finally {
+                                finish.run();
+                            }
+                        });
+                    });
+                    queue.setCompleteTask(finish);
+                    queue.enqueue();
                 }
-                // analyze plot
-                // put in analysis obj
-
-                // run whenDone
-                PlotAnalysis analysis = new PlotAnalysis();
-                analysis.changes = (int) (MathMan.getMean(changes) * 100);
-                analysis.faces = (int) (MathMan.getMean(faces) * 100);
-                analysis.data = (int) (MathMan.getMean(data) * 100);
-                analysis.air = (int) (MathMan.getMean(air) * 100);
-                analysis.variety = (int) (MathMan.getMean(variety) * 100);
-
-                analysis.changes_sd = (int) (MathMan.getSD(changes, analysis.changes) * 100);
-                analysis.faces_sd = (int) (MathMan.getSD(faces, analysis.faces) * 100);
-                analysis.data_sd = (int) (MathMan.getSD(data, analysis.data) * 100);
-                analysis.air_sd = (int) (MathMan.getSD(air, analysis.air) * 100);
-                analysis.variety_sd = (int) (MathMan.getSD(variety, analysis.variety) * 100);
-                whenDone.value = analysis;
-                whenDone.run();
             };
-            queue.setCompleteTask(run);
-            queue.enqueue();
+            analyzeBatch.run();
         });
     }
 
@@ -362,10 +257,10 @@ public class HybridUtils {
                     PlotFlag<?, ?> plotFlag = GlobalFlagContainer.getInstance().getFlag(AnalysisFlag.class).createFlagInstance(
                             result);
                     PlotFlagAddEvent event = eventDispatcher.callFlagAdd(plotFlag, origin);
-                    if (event.getEventResult() == Result.DENY) {
-                        return;
+                    // Whoever waits for the analysis still needs the result when storing it is denied
+                    if (event.getEventResult() != Result.DENY) {
+                        origin.setFlag(event.getFlag());
                     }
-                    origin.setFlag(event.getFlag());
                     TaskManager.runTask(whenDone);
                     return;
                 }
@@ -426,12 +321,14 @@ public class HybridUtils {
         HybridUtils.chunks = chunks;
         final int initial = 1024 * regions.size() + chunks.size();
         final AtomicInteger count = new AtomicInteger(0);
+        // Road updates are only started by staff, so their queues are prioritised over player work
         TaskManager.runTask(new Runnable() {
             @Override
             public void run() {
                 if (!UPDATE) {
                     Iterator<BlockVector2> iter = chunks.iterator();
                     QueueCoordinator queue = blockQueue.getNewQueue(worldUtil.getWeWorld(area.getWorldName()));
+                    queue.setPriority(QueuePriority.HIGH);
                     queue.setShouldGen(false);
                     while (iter.hasNext()) {
                         BlockVector2 chunk = iter.next();
@@ -475,6 +372,7 @@ public class HybridUtils {
                                     Iterator<BlockVector2> iterator = chunks.iterator();
                                     if (chunks.size() >= 32) {
                                         QueueCoordinator queue = blockQueue.getNewQueue(worldUtil.getWeWorld(area.getWorldName()));
+                                        queue.setPriority(QueuePriority.HIGH);
                                         queue.setShouldGen(false);
                                         for (int i = 0; i < 32; i++) {
                                             final BlockVector2 chunk = iterator.next();
@@ -489,6 +387,7 @@ public class HybridUtils {
                                         return null;
                                     }
                                     QueueCoordinator queue = blockQueue.getNewQueue(worldUtil.getWeWorld(area.getWorldName()));
+                                    queue.setPriority(QueuePriority.HIGH);
                                     queue.setShouldGen(false);
                                     while (!chunks.isEmpty()) {
                                         final BlockVector2 chunk = iterator.next();
@@ -649,6 +548,7 @@ public class HybridUtils {
                 }
             }
             short size = plotWorld.SIZE;
+            SchematicOverlay overlay = plotWorld.getSchematicOverlay();
             for (int X = 0; X < 16; X++) {
                 short absX = (short) ((finalX + X) % size);
                 for (int Z = 0; Z < 16; Z++) {
@@ -673,38 +573,19 @@ public class HybridUtils {
                         boolean lz = absZ < plotWorld.PATH_WIDTH_UPPER;
                         condition = !gx || !gz || !lx || !lz;
                     }
-                    if (condition) {
-                        BaseBlock[] blocks = plotWorld.G_SCH.get(MathMan.pair(absX, absZ));
+                    if (condition && overlay.hasColumn(absX, absZ)) {
                         int minY = plotWorld.getRoadYStart();
-                        int maxDy = Math.max(extend, blocks.length);
+                        int maxDy = Math.max(extend, overlay.getHeight());
                         for (int dy = 0; dy < maxDy; dy++) {
-                            if (dy > blocks.length - 1) {
-                                queue.setBlock(
-                                        finalX + X + plotWorld.ROAD_OFFSET_X,
-                                        minY + dy,
-                                        finalZ + Z + plotWorld.ROAD_OFFSET_Z,
-                                        WEExtent.AIRBASE
-                                );
-                            } else {
-                                BaseBlock block = blocks[dy];
-                                if (block != null) {
-                                    queue.setBlock(
-                                            finalX + X + plotWorld.ROAD_OFFSET_X,
-                                            minY + dy,
-                                            finalZ + Z + plotWorld.ROAD_OFFSET_Z,
-                                            block
-                                    );
-                                } else {
-                                    queue.setBlock(
-                                            finalX + X + plotWorld.ROAD_OFFSET_X,
-                                            minY + dy,
-                                            finalZ + Z + plotWorld.ROAD_OFFSET_Z,
-                                            WEExtent.AIRBASE
-                                    );
-                                }
-                            }
+                            BaseBlock block = overlay.getBlock(absX, dy, absZ);
+                            queue.setBlock(
+                                    finalX + X + plotWorld.ROAD_OFFSET_X,
+                                    minY + dy,
+                                    finalZ + Z + plotWorld.ROAD_OFFSET_Z,
+                                    block != null ? block : WEExtent.AIRBASE
+                            );
                         }
-                        BiomeType biome = plotWorld.G_SCH_B.get(MathMan.pair(absX, absZ));
+                        BiomeType biome = overlay.getBiome(absX, absZ);
                         if (biome != null) {
                             queue.setBiome(finalX + X + plotWorld.ROAD_OFFSET_X, finalZ + Z + plotWorld.ROAD_OFFSET_Z, biome);
                         } else {
@@ -0,0 +1,290 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.plot.expiration.PlotAnalysis;
+import com.plotsquared.core.queue.BlockArrayCacheScopedQueueCoordinator;
+import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.util.MathMan;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockType;
+import com.sk89q.worldedit.world.block.BlockTypes;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Statistics of a region compared to freshly generated terrain, gathered one chunk at a time. Only the counts per column and
+ * the air of the columns along chunk borders (needed to count faces between chunks) are kept, so that analysing large merged
+ * plots does not hold the blocks of the whole region in memory.
+ */
+final class RegionAnalysis {
+
+    private final int minX;
+    private final int minZ;
+    private final int maxX;
+    private final int maxZ;
+    private final int length;
+    private final int minY;
+    private final int height;
+    private final int words;
+    private final int[] changes;
+    private final int[] faces;
+    private final int[] data;
+    private final int[] air;
+    private final int[] variety;
+    // Air bit set of every column along a chunk border, null until the chunk containing the column has been analysed
+    private final long[][] edgeAir;
+
+    RegionAnalysis(final @NonNull CuboidRegion region, final int minY, final int maxY) {
+        final BlockVector3 bot = region.getMinimumPoint();
+        final BlockVector3 top = region.getMaximumPoint();
+        this.minX = bot.getX();
+        this.minZ = bot.getZ();
+        this.maxX = top.getX();
+        this.maxZ = top.getZ();
+        this.length = this.maxZ - this.minZ + 1;
+        this.minY = minY;
+        this.height = maxY - minY + 1;
+        this.words = (this.height + 63) >> 6;
+        final int size = (this.maxX - this.minX + 1) * this.length;
+        this.changes = new int[size];
+        this.faces = new int[size];
+        this.data = new int[size];
+        this.air = new int[size];
+        this.variety = new int[size];
+        this.edgeAir = new long[size][];
+    }
+
+    /**
+     * Read the current blocks of the part of a chunk within the region, to be analysed later by
+     * {@link #analyzeChunk(int, int, BlockState[], BlockArrayCacheScopedQueueCoordinator)}. Must be called where the queue may
+     * read the world.
+     *
+     * @param chunkX x coordinate of the chunk
+     * @param chunkZ z coordinate of the chunk
+     * @param queue  queue to read the current blocks from
+     * @return the current blocks, indexed by x, then z, then y
+     */
+    @NonNull BlockState[] readChunk(final int chunkX, final int chunkZ, final @NonNull QueueCoordinator queue) {
+        final int x0 = Math.max(chunkX << 4, this.minX);
+        final int z0 = Math.max(chunkZ << 4, this.minZ);
+        final int x1 = Math.min((chunkX << 4) + 15, this.maxX);
+        final int z1 = Math.min((chunkZ << 4) + 15, this.maxZ);
+        final BlockState[] blocks = new BlockState[(x1 - x0 + 1) * (z1 - z0 + 1) * this.height];
+        int index = 0;
+        for (int x = x0; x <= x1; x++) {
+            for (int z = z0; z <= z1; z++) {
+                for (int yIndex = 0; yIndex < this.height; yIndex++) {
+                    blocks[index++] = queue.getBlock(x, yIndex + this.minY, z);
+                }
+            }
+        }
+        return blocks;
+    }
+
+    /**
+     * Analyse the part of a chunk within the region. Chunks may be analysed in any order, but not concurrently.
+     *
+     * @param chunkX    x coordinate of the chunk
+     * @param chunkZ    z coordinate of the chunk
+     * @param current   current blocks of the part of the chunk within the region, as read by
+     *                  {@link #readChunk(int, int, QueueCoordinator)}
+     * @param generated freshly generated blocks of the part of the chunk within the region
+     */
+    synchronized void analyzeChunk(
+            final int chunkX,
+            final int chunkZ,
+            final @NonNull BlockState[] current,
+            final @NonNull BlockArrayCacheScopedQueueCoordinator generated
+    ) {
+        final int x0 = Math.max(chunkX << 4, this.minX);
+        final int z0 = Math.max(chunkZ << 4, this.minZ);
+        final int x1 = Math.min((chunkX << 4) + 15, this.maxX);
+        final int z1 = Math.min((chunkZ << 4) + 15, this.maxZ);
+        final int chunkLength = z1 - z0 + 1;
+        int blockIndex = 0;
+        final long[] chunkAir = new long[(x1 - x0 + 1) * chunkLength * this.words];
+        final Set<BlockType> types = new HashSet<>();
+        for (int x = x0; x <= x1; x++) {
+            for (int z = z0; z <= z1; z++) {
+                int i = index(x, z);
+                int offset = ((x - x0) * chunkLength + z - z0) * this.words;
+                types.clear();
+                for (int yIndex = 0; yIndex < this.height; yIndex++) {
+                    int y = yIndex + this.minY;
+                    BlockState now = current[blockIndex++];
+                    if (now == null) {
+                        now = BlockTypes.AIR.getDefaultState();
+                    }
+                    BlockState old = generated.getBlock(x - x0, y, z - z0); // Nullable
+                    if (!now.equals(old) && !(old == null && now.getBlockType().equals(BlockTypes.AIR))) {
+                        this.changes[i]++;
+                    }
+                    if (now.getBlockType().getMaterial().isAir()) {
+                        this.air[i]++;
+                        chunkAir[offset + (yIndex >> 6)] |= 1L << yIndex;
+                    } else {
+                        if (!now.equals(now.getBlockType().getDefaultState())) {
+                            this.data[i]++;
+                        }
+                        types.add(now.getBlockType());
+                    }
+                }
+                this.variety[i] = types.size();
+            }
+        }
+        countFaces(x0, z0, x1, z1, chunkAir);
+    }
+
+    /**
+     * Count the faces between blocks and air within the part of a chunk within the region, and between it and the neighbouring
+     * chunks that have already been analysed. Chunks analysed later count the faces shared with this chunk from the border
+     * columns stored here.
+     *
+     * @param x0       min x of the part of the chunk within the region
+     * @param z0       min z of the part of the chunk within the region
+     * @param x1       max x of the part of the chunk within the region
+     * @param z1       max z of the part of the chunk within the region
+     * @param chunkAir air bit set of every column, indexed by x, then z, then y
+     */
+    synchronized void countFaces(final int x0, final int z0, final int x1, final int z1, final long @NonNull [] chunkAir) {
+        final int chunkLength = z1 - z0 + 1;
+        // Faces between blocks within the chunk
+        for (int x = x0; x <= x1; x++) {
+            for (int z = z0; z <= z1; z++) {
+                if (!isInterior(x, z)) {
+                    continue;
+                }
+                int offset = ((x - x0) * chunkLength + z - z0) * this.words;
+                int i = index(x, z);
+                for (int yIndex = 1; yIndex < this.height - 1; yIndex++) {
+                    if (isAir(chunkAir, offset, yIndex)) {
+                        continue;
+                    }
+                    if (isAir(chunkAir, offset, yIndex - 1)) {
+                        this.faces[i]++;
+                    }
+                    if (isAir(chunkAir, offset, yIndex + 1)) {
+                        this.faces[i]++;
+                    }
+                    if (x > x0 && isAir(chunkAir, offset - chunkLength * this.words, yIndex)) {
+                        this.faces[i]++;
+                    }
+                    if (x < x1 && isAir(chunkAir, offset + chunkLength * this.words, yIndex)) {
+                        this.faces[i]++;
+                    }
+                    if (z > z0 && isAir(chunkAir, offset - this.words, yIndex)) {
+                        this.faces[i]++;
+                    }
+                    if (z < z1 && isAir(chunkAir, offset + this.words, yIndex)) {
+                        this.faces[i]++;
+                    }
+                }
+            }
+        }
+        // Faces between this chunk and neighbouring chunks that have already been analysed
+        for (int z = z0; z <= z1; z++) {
+            int offset = (z - z0) * this.words;
+            if (x0 > this.minX) {
+                countSharedFaces(x0, z, chunkAir, offset, x0 - 1, z);
+            }
+            offset = ((x1 - x0) * chunkLength + z - z0) * this.words;
+            if (x1 < this.maxX) {
+                countSharedFaces(x1, z, chunkAir, offset, x1 + 1, z);
+            }
+        }
+        for (int x = x0; x <= x1; x++) {
+            int offset = (x - x0) * chunkLength * this.words;
+            if (z0 > this.minZ) {
+                countSharedFaces(x, z0, chunkAir, offset, x, z0 - 1);
+            }
+            offset = ((x - x0) * chunkLength + z1 - z0) * this.words;
+            if (z1 < this.maxZ) {
+                countSharedFaces(x, z1, chunkAir, offset, x, z1 + 1);
+            }
+        }
+        for (int x = x0; x <= x1; x++) {
+            for (int z = z0; z <= z1; z++) {
+                if (x == x0 || x == x1 || z == z0 || z == z1) {
+                    int offset = ((x - x0) * chunkLength + z - z0) * this.words;
+                    this.edgeAir[index(x, z)] = Arrays.copyOfRange(chunkAir, offset, offset + this.words);
+                }
+            }
+        }
+    }
+
+    private void countSharedFaces(final int x, final int z, final long[] chunkAir, final int offset, final int nx, final int nz) {
+        final long[] neighbourAir = this.edgeAir[index(nx, nz)];
+        if (neighbourAir == null) {
+            return;
+        }
+        final boolean interior = isInterior(x, z);
+        final boolean neighbourInterior = isInterior(nx, nz);
+        for (int yIndex = 1; yIndex < this.height - 1; yIndex++) {
+            boolean isAir = isAir(chunkAir, offset, yIndex);
+            if (isAir == isAir(neighbourAir, 0, yIndex)) {
+                continue;
+            }
+            if (!isAir && interior) {
+                this.faces[index(x, z)]++;
+            } else if (isAir && neighbourInterior) {
+                this.faces[index(nx, nz)]++;
+            }
+        }
+    }
+
+    private boolean isInterior(final int x, final int z) {
+        return x > this.minX && x < this.maxX && z > this.minZ && z < this.maxZ;
+    }
+
+    private static boolean isAir(final long[] air, final int offset, final int yIndex) {
+        return (air[offset + (yIndex >> 6)] & 1L << yIndex) != 0;
+    }
+
+    private int index(final int x, final int z) {
+        return (x - this.minX) * this.length + z - this.minZ;
+    }
+
+    /**
+     * Create the analysis of the region from the statistics of all analysed chunks
+     *
+     * @return the analysis
+     */
+    synchronized @NonNull PlotAnalysis toAnalysis() {
+        PlotAnalysis analysis = new PlotAnalysis();
+        analysis.changes = (int) (MathMan.getMean(this.changes) * 100);
+        analysis.faces = (int) (MathMan.getMean(this.faces) * 100);
+        analysis.data = (int) (MathMan.getMean(this.data) * 100);
+        analysis.air = (int) (MathMan.getMean(this.air) * 100);
+        analysis.variety = (int) (MathMan.getMean(this.variety) * 100);
+
+        analysis.changes_sd = (int) (MathMan.getSD(this.changes, analysis.changes) * 100);
+        analysis.faces_sd = (int) (MathMan.getSD(this.faces, analysis.faces) * 100);
+        analysis.data_sd = (int) (MathMan.getSD(this.data, analysis.data) * 100);
+        analysis.air_sd = (int) (MathMan.getSD(this.air, analysis.air) * 100);
+        analysis.variety_sd = (int) (MathMan.getSD(this.variety, analysis.variety) * 100);
+        return analysis;
+    }
+
+}
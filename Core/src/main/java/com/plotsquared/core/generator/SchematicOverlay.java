@@ -0,0 +1,161 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Blocks and biomes of the road and plot schematics of a {@link HybridPlotWorld}, indexed by the position within a plot
+ * (including the road around it) and the height above the schematic start. Each column stores indices into a palette of
+ * distinct blocks, so lookups need neither boxed keys nor a block array per column.
+ *
+ * @since TODO
+ */
+public final class SchematicOverlay {
+
+    private static final char NONE = 0;
+
+    private final int size;
+    private final int height;
+    private final char[][] columns;
+    private final BiomeType[] biomes;
+    private final Map<BaseBlock, Character> paletteLookup = new HashMap<>();
+    private BaseBlock[] palette = new BaseBlock[16];
+    private int paletteSize = 1;
+
+    /**
+     * @param size   width of the plot and its road
+     * @param height height of the tallest schematic column
+     */
+    SchematicOverlay(final int size, final int height) {
+        this.size = size;
+        this.height = height;
+        this.columns = new char[size * size][];
+        this.biomes = new BiomeType[size * size];
+    }
+
+    /**
+     * Get the width of the plot and road covered by the overlay. Valid x and z coordinates range from zero, inclusive, to
+     * the size, exclusive.
+     *
+     * @return size of the overlay
+     * @since TODO
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Get the height of every column in the overlay. Valid y coordinates range from zero, inclusive, to the height,
+     * exclusive.
+     *
+     * @return height of the overlay
+     * @since TODO
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Get if a schematic covers the given column
+     *
+     * @param x x coordinate within the plot
+     * @param z z coordinate within the plot
+     * @return if a schematic covers the column
+     * @since TODO
+     */
+    public boolean hasColumn(final int x, final int z) {
+        return this.columns[x * this.size + z] != null;
+    }
+
+    /**
+     * Get the schematic block at the given position
+     *
+     * @param x x coordinate within the plot
+     * @param y height above the schematic start
+     * @param z z coordinate within the plot
+     * @return the block, or {@code null} if no schematic sets a block at the position
+     * @since TODO
+     */
+    public @Nullable BaseBlock getBlock(final int x, final int y, final int z) {
+        char[] column = this.columns[x * this.size + z];
+        if (column == null || y < 0 || y >= this.height) {
+            return null;
+        }
+        return this.palette[column[y]];
+    }
+
+    /**
+     * Get the schematic biome of the given column
+     *
+     * @param x x coordinate within the plot
+     * @param z z coordinate within the plot
+     * @return the biome, or {@code null} if no schematic sets the biome of the column
+     * @since TODO
+     */
+    public @Nullable BiomeType getBiome(final int x, final int z) {
+        return this.biomes[x * this.size + z];
+    }
+
+    /**
+     * Set a block, creating its column if needed
+     *
+     * @return {@code false} if the y coordinate lies outside the overlay, in which case only the column is created
+     */
+    boolean setBlock(final int x, final int y, final int z, final @Nullable BaseBlock block) {
+        int index = x * this.size + z;
+        char[] column = this.columns[index];
+        if (column == null) {
+            this.columns[index] = column = new char[this.height];
+        }
+        if (y < 0 || y >= this.height) {
+            return false;
+        }
+        column[y] = block == null ? NONE : paletteIndex(block);
+        return true;
+    }
+
+    void setBiome(final int x, final int z, final @Nullable BiomeType biome) {
+        this.biomes[x * this.size + z] = biome;
+    }
+
+    private char paletteIndex(final BaseBlock block) {
+        Character index = this.paletteLookup.get(block);
+        if (index != null) {
+            return index;
+        }
+        if (this.paletteSize > Character.MAX_VALUE) {
+            throw new IllegalStateException("Schematics contain more than " + Character.MAX_VALUE + " distinct blocks");
+        }
+        char next = (char) this.paletteSize++;
+        if (next == this.palette.length) {
+            this.palette = Arrays.copyOf(this.palette, this.palette.length << 1);
+        }
+        this.palette[next] = block;
+        this.paletteLookup.put(block, next);
+        return next;
+    }
+
+}
@@ -33,8 +33,7 @@ import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
-import java.util.Iterator;
-import java.util.Set;
+import java.util.ArrayDeque;
 
 /**
  * A plot manager with a square grid layout, with square shaped plots.
@@ -59,7 +58,7 @@ public abstract class SquarePlotManager extends GridPlotManager {
             @Nullable PlotPlayer<?> actor,
             @Nullable QueueCoordinator queue
     ) {
-        final Set<CuboidRegion> regions = plot.getRegions();
+        final ArrayDeque<CuboidRegion> regions = new ArrayDeque<>(plot.getRegions());
         Runnable run = new Runnable() {
             @Override
             public void run() {
@@ -69,9 +68,7 @@ public abstract class SquarePlotManager extends GridPlotManager {
                     }
                     return;
                 }
-                Iterator<CuboidRegion> iterator = regions.iterator();
-                CuboidRegion region = iterator.next();
-                iterator.remove();
+                CuboidRegion region = regions.poll();
                 final Location pos1 = Location.at(plot.getWorldName(), region.getMinimumPoint());
                 final Location pos2 = Location.at(plot.getWorldName(), region.getMaximumPoint());
                 regionManager.regenerateRegion(pos1, pos2, false, this);
@@ -42,7 +42,6 @@ import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotCluster;
 import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.plot.PlotWeather;
-import com.plotsquared.core.plot.flag.implementations.DoneFlag;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.plot.world.SinglePlotArea;
 import com.plotsquared.core.plot.world.SinglePlotAreaManager;
@@ -323,17 +322,7 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
         }
         final AtomicInteger count = new AtomicInteger(0);
         final UUID uuid = getUUID();
-        this.plotAreaManager.forEachPlotArea(value -> {
-            if (!Settings.Done.COUNTS_TOWARDS_LIMIT) {
-                for (Plot plot : value.getPlotsAbs(uuid)) {
-                    if (!DoneFlag.isDone(plot)) {
-                        count.incrementAndGet();
-                    }
-                }
-            } else {
-                count.addAndGet(value.getPlotsAbs(uuid).size());
-            }
-        });
+        this.plotAreaManager.forEachPlotArea(value -> count.addAndGet(value.getPlotCount(uuid)));
         return count.get();
     }
 
@@ -362,12 +351,7 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
         UUID uuid = getUUID();
         int count = 0;
         for (PlotArea area : this.plotAreaManager.getPlotAreasSet(world)) {
-            if (!Settings.Done.COUNTS_TOWARDS_LIMIT) {
-                count +=
-                        area.getPlotsAbs(uuid).stream().filter(plot -> !DoneFlag.isDone(plot)).count();
-            } else {
-                count += area.getPlotsAbs(uuid).size();
-            }
+            count += area.getPlotCount(uuid);
         }
         return count;
     }
@@ -121,6 +121,10 @@ public class Plot {
     private static final DecimalFormat FLAG_DECIMAL_FORMAT = new DecimalFormat("0");
     private static final MiniMessage MINI_MESSAGE = MiniMessage.builder().build();
     private static final Cleaner CLEANER = Cleaner.create();
+    /**
+     * Number of players whose access is cached per plot, before the cache is started over
+     */
+    private static final int MAX_CACHED_ACCESS = 256;
 
     static {
         FLAG_DECIMAL_FORMAT.setMaximumFractionDigits(340);
@@ -205,6 +209,21 @@ public class Plot {
     private Plot origin;
 
     private Set<Plot> connectedCache;
+    /**
+     * The cached region decomposition, only valid for the id and connected plots it was computed for
+     */
+    private RegionCache regionCache;
+    /**
+     * The cached results of {@link #isAdded(UUID)}, kept on the base plot and only valid for the connected plots they were
+     * computed for. Dropped by {@link #clearAccessCache()} whenever the outcome of a check may change.
+     */
+    private volatile AccessCache accessCache;
+    /**
+     * The number of connected plots with an online owner, kept on the base plot and only valid for the connected plots and
+     * the {@link #onlineOwnersVersion} it was counted for
+     */
+    private volatile OnlineOwners onlineOwners;
+    private volatile int onlineOwnersVersion;
 
     /**
      * Constructor for a new plot.
@@ -468,7 +487,12 @@ public class Plot {
      * @param owner The new owner of this particular sub-plot.
      */
     public void setOwnerAbs(final @Nullable UUID owner) {
+        final UUID oldOwner = this.owner;
         this.owner = owner;
+        if (this.area != null && !Objects.equals(oldOwner, owner)) {
+            this.area.updateOwner(this, oldOwner);
+            this.updateOnlineOwners();
+        }
     }
 
     /**
@@ -668,6 +692,33 @@ public class Plot {
      * @return {@code true} if the player is added/trusted or is the owner, else {@code false}
      */
     public boolean isAdded(final @NonNull UUID uuid) {
+        final Plot base = this.getBasePlot(false);
+        final AccessCache cache = base.getAccessCache();
+        final Boolean cached = cache.added().get(uuid);
+        if (cached != null) {
+            return cached;
+        }
+        final boolean added = base.computeAdded(uuid);
+        if (cache.added().size() >= MAX_CACHED_ACCESS) {
+            cache.added().clear();
+        }
+        cache.added().put(uuid, added);
+        return added;
+    }
+
+    private @NonNull AccessCache getAccessCache() {
+        // Connected plots share the cached set, so a new set means the merge layout changed
+        final Set<Plot> connected = this.isMerged() ? this.getConnectedPlots() : null;
+        final AccessCache cache = this.accessCache;
+        if (cache != null && cache.connected() == connected) {
+            return cache;
+        }
+        final AccessCache created = new AccessCache(connected, new ConcurrentHashMap<>());
+        this.accessCache = created;
+        return created;
+    }
+
+    private boolean computeAdded(final @NonNull UUID uuid) {
         if (!this.hasOwner() || getDenied().contains(uuid)) {
             return false;
         }
@@ -686,6 +737,34 @@ public class Plot {
         return false;
     }
 
+    /**
+     * Drop the cached results of {@link #isAdded(UUID)} for this plot and the plots connected to it. This has to be called
+     * after the owners or the trusted, members or denied players of the plot changed, or an owner joined or left the
+     * server.
+     *
+     * @since TODO
+     */
+    public void clearAccessCache() {
+        // A check that is still running stores its result in the dropped cache only
+        this.accessCache = null;
+        this.getBasePlot(false).accessCache = null;
+    }
+
+    /**
+     * Drop the cached number of online owners of this plot and the plots connected to it, as well as the cached results of
+     * {@link #isAdded(UUID)}. This has to be called after an owner of the plot changed, joined or left the server.
+     *
+     * @since TODO
+     */
+    public void updateOnlineOwners() {
+        final Plot base = this.getBasePlot(false);
+        // A count that is still running is stored with the old version and never used
+        base.onlineOwnersVersion++;
+        this.onlineOwners = null;
+        base.onlineOwners = null;
+        this.clearAccessCache();
+    }
+
     /**
      * Checks if the player is not permitted on this plot.
      *
@@ -1006,6 +1085,8 @@ public class Plot {
     public void addDenied(final @NonNull UUID uuid) {
         for (final Plot current : getConnectedPlots()) {
             if (current.getDenied().add(uuid)) {
+                current.area.updateDenied(current, uuid, true);
+                current.clearAccessCache();
                 DBFunc.setDenied(current, uuid);
             }
         }
@@ -1019,6 +1100,8 @@ public class Plot {
     public void addTrusted(final @NonNull UUID uuid) {
         for (final Plot current : getConnectedPlots()) {
             if (current.getTrusted().add(uuid)) {
+                current.area.updateTrusted(current, uuid, true);
+                current.clearAccessCache();
                 DBFunc.setTrusted(current, uuid);
             }
         }
@@ -1032,6 +1115,8 @@ public class Plot {
     public void addMember(final @NonNull UUID uuid) {
         for (final Plot current : getConnectedPlots()) {
             if (current.getMembers().add(uuid)) {
+                current.area.updateMember(current, uuid, true);
+                current.clearAccessCache();
                 DBFunc.setMember(current, uuid);
             }
         }
@@ -1105,6 +1190,9 @@ public class Plot {
             plot.reEnter();
             DBFunc.setFlag(plot, flag);
         }
+        if (flag instanceof ServerPlotFlag) {
+            this.clearAccessCache();
+        }
         return true;
     }
 
@@ -1196,6 +1284,9 @@ public class Plot {
             DBFunc.removeFlag(plot, flag);
             removed = true;
         }
+        if (removed && flag instanceof ServerPlotFlag) {
+            this.clearAccessCache();
+        }
         return removed;
     }
 
@@ -1973,6 +2064,8 @@ public class Plot {
     private boolean rmvDenied(UUID uuid) {
         for (Plot current : this.getConnectedPlots()) {
             if (current.getDenied().remove(uuid)) {
+                current.area.updateDenied(current, uuid, false);
+                current.clearAccessCache();
                 DBFunc.removeDenied(current, uuid);
             } else {
                 return false;
@@ -2002,6 +2095,8 @@ public class Plot {
     private boolean rmvTrusted(UUID uuid) {
         for (Plot plot : this.getConnectedPlots()) {
             if (plot.getTrusted().remove(uuid)) {
+                plot.area.updateTrusted(plot, uuid, false);
+                plot.clearAccessCache();
                 DBFunc.removeTrusted(plot, uuid);
             } else {
                 return false;
@@ -2034,6 +2129,8 @@ public class Plot {
     private boolean rmvMember(UUID uuid) {
         for (Plot current : this.getConnectedPlots()) {
             if (current.getMembers().remove(uuid)) {
+                current.area.updateMember(current, uuid, false);
+                current.clearAccessCache();
                 DBFunc.removeMember(current, uuid);
             } else {
                 return false;
@@ -2123,6 +2220,8 @@ public class Plot {
                     other.origin = base;
                     this.origin = base;
                     this.connectedCache = null;
+                    this.regionCache = null;
+                    this.accessCache = null;
                 }
             } else {
                 if (this.origin != null) {
@@ -2130,6 +2229,8 @@ public class Plot {
                     this.origin = null;
                 }
                 this.connectedCache = null;
+                this.regionCache = null;
+                this.accessCache = null;
             }
             DBFunc.setMerged(this, this.getSettings().getMerged());
         }
@@ -2167,6 +2268,8 @@ public class Plot {
 
     public void clearCache() {
         this.connectedCache = null;
+        this.regionCache = null;
+        this.accessCache = null;
         if (this.origin != null) {
             this.origin.origin = null;
             this.origin = null;
@@ -2265,11 +2368,11 @@ public class Plot {
      * @return Plot
      */
     public Plot getRelative(int x, int y) {
-        return this.area.getPlotAbs(PlotId.of(this.id.getX() + x, this.id.getY() + y));
+        return this.area.getPlotAbs(this.id.getX() + x, this.id.getY() + y);
     }
 
     public Plot getRelative(PlotArea area, int x, int y) {
-        return area.getPlotAbs(PlotId.of(this.id.getX() + x, this.id.getY() + y));
+        return area.getPlotAbs(this.id.getX() + x, this.id.getY() + y);
     }
 
     /**
@@ -2367,19 +2470,36 @@ public class Plot {
 
     /**
      * This will combine each plot into effective rectangular regions<br>
-     * - This result is cached globally<br>
+     * - This result is cached until the plot is merged, unlinked or moved<br>
      * - Useful for handling non rectangular shapes
      *
-     * @return all regions within the plot
+     * @return all regions within the plot, the returned set and regions must not be modified
      */
     public @NonNull Set<CuboidRegion> getRegions() {
-        if (!this.isMerged()) {
+        return getRegionCache().regions();
+    }
+
+    private @NonNull RegionCache getRegionCache() {
+        // Connected plots share the cached set, so a new set means the merge layout changed
+        final Set<Plot> connected = this.isMerged() ? this.getConnectedPlots() : null;
+        final RegionCache cache = this.regionCache;
+        if (cache != null && cache.connected() == connected && cache.id().equals(this.id)) {
+            return cache;
+        }
+        final Set<CuboidRegion> regions;
+        if (connected == null) {
             Location pos1 = this.getBottomAbs().withY(getArea().getMinBuildHeight());
             Location pos2 = this.getTopAbs().withY(getArea().getMaxBuildHeight());
-            CuboidRegion rg = new CuboidRegion(pos1.getBlockVector3(), pos2.getBlockVector3());
-            return Collections.singleton(rg);
+            regions = Collections.singleton(new CuboidRegion(pos1.getBlockVector3(), pos2.getBlockVector3()));
+        } else {
+            regions = Collections.unmodifiableSet(computeRegions(connected));
         }
-        Set<Plot> plots = this.getConnectedPlots();
+        final RegionCache computed = new RegionCache(this.id, connected, regions, computeLargestRegion(regions));
+        this.regionCache = computed;
+        return computed;
+    }
+
+    private @NonNull Set<CuboidRegion> computeRegions(final @NonNull Set<Plot> plots) {
         Set<CuboidRegion> regions = new HashSet<>();
         Set<PlotId> visited = new HashSet<>();
         for (Plot current : plots) {
@@ -2391,63 +2511,19 @@ public class Plot {
             PlotId top = current.getId();
             while (merge) {
                 merge = false;
-                Iterable<PlotId> ids = PlotId.PlotRangeIterator.range(
-                        PlotId.of(bot.getX(), bot.getY() - 1),
-                        PlotId.of(top.getX(), bot.getY() - 1)
-                );
-                boolean tmp = true;
-                for (PlotId id : ids) {
-                    Plot plot = this.area.getPlotAbs(id);
-                    if (plot == null || !plot.isMerged(Direction.SOUTH) || visited.contains(plot.getId())) {
-                        tmp = false;
-                    }
-                }
-                if (tmp) {
+                if (isEdgeMerged(bot.getX(), bot.getY() - 1, top.getX(), bot.getY() - 1, Direction.SOUTH, visited)) {
                     merge = true;
                     bot = PlotId.of(bot.getX(), bot.getY() - 1);
                 }
-                ids = PlotId.PlotRangeIterator.range(
-                        PlotId.of(top.getX() + 1, bot.getY()),
-                        PlotId.of(top.getX() + 1, top.getY())
-                );
-                tmp = true;
-                for (PlotId id : ids) {
-                    Plot plot = this.area.getPlotAbs(id);
-                    if (plot == null || !plot.isMerged(Direction.WEST) || visited.contains(plot.getId())) {
-                        tmp = false;
-                    }
-                }
-                if (tmp) {
+                if (isEdgeMerged(top.getX() + 1, bot.getY(), top.getX() + 1, top.getY(), Direction.WEST, visited)) {
                     merge = true;
                     top = PlotId.of(top.getX() + 1, top.getY());
                 }
-                ids = PlotId.PlotRangeIterator.range(
-                        PlotId.of(bot.getX(), top.getY() + 1),
-                        PlotId.of(top.getX(), top.getY() + 1)
-                );
-                tmp = true;
-                for (PlotId id : ids) {
-                    Plot plot = this.area.getPlotAbs(id);
-                    if (plot == null || !plot.isMerged(Direction.NORTH) || visited.contains(plot.getId())) {
-                        tmp = false;
-                    }
-                }
-                if (tmp) {
+                if (isEdgeMerged(bot.getX(), top.getY() + 1, top.getX(), top.getY() + 1, Direction.NORTH, visited)) {
                     merge = true;
                     top = PlotId.of(top.getX(), top.getY() + 1);
                 }
-                ids = PlotId.PlotRangeIterator.range(
-                        PlotId.of(bot.getX() - 1, bot.getY()),
-                        PlotId.of(bot.getX() - 1, top.getY())
-                );
-                tmp = true;
-                for (PlotId id : ids) {
-                    Plot plot = this.area.getPlotAbs(id);
-                    if (plot == null || !plot.isMerged(Direction.EAST) || visited.contains(plot.getId())) {
-                        tmp = false;
-                    }
-                }
-                if (tmp) {
+                if (isEdgeMerged(bot.getX() - 1, bot.getY(), bot.getX() - 1, top.getY(), Direction.EAST, visited)) {
                     merge = true;
                     bot = PlotId.of(bot.getX() - 1, bot.getY());
                 }
@@ -2458,7 +2534,7 @@ public class Plot {
             Location gbotabs = this.area.getPlotAbs(bot).getBottomAbs();
             visited.addAll(Lists.newArrayList((Iterable<? extends PlotId>) PlotId.PlotRangeIterator.range(bot, top)));
             for (int x = bot.getX(); x <= top.getX(); x++) {
-                Plot plot = this.area.getPlotAbs(PlotId.of(x, top.getY()));
+                Plot plot = this.area.getPlotAbs(x, top.getY());
                 if (plot.isMerged(Direction.SOUTH)) {
                     // south wedge
                     Location toploc = plot.getExtendedTopAbs();
@@ -2477,7 +2553,7 @@ public class Plot {
             }
 
             for (int y = bot.getY(); y <= top.getY(); y++) {
-                Plot plot = this.area.getPlotAbs(PlotId.of(top.getX(), y));
+                Plot plot = this.area.getPlotAbs(top.getX(), y);
                 if (plot.isMerged(Direction.EAST)) {
                     // east wedge
                     Location toploc = plot.getExtendedTopAbs();
@@ -2501,13 +2577,34 @@ public class Plot {
         return regions;
     }
 
+    /**
+     * Check whether every plot in the id range is claimed, unvisited and merged in the direction.
+     */
+    private boolean isEdgeMerged(
+            final int minX, final int minY, final int maxX, final int maxY,
+            final @NonNull Direction direction, final @NonNull Set<PlotId> visited
+    ) {
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                final Plot plot = this.area.getOwnedPlotAbs(x, y);
+                if (plot == null || !plot.isMerged(direction) || visited.contains(plot.getId())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     /**
      * Attempt to find the largest rectangular region in a plot (as plots can form non rectangular shapes)
      *
      * @return the plot's largest CuboidRegion
      */
     public CuboidRegion getLargestRegion() {
-        Set<CuboidRegion> regions = this.getRegions();
+        return getRegionCache().largest();
+    }
+
+    private static CuboidRegion computeLargestRegion(final @NonNull Set<CuboidRegion> regions) {
         CuboidRegion max = null;
         double area = Double.NEGATIVE_INFINITY;
         for (CuboidRegion region : regions) {
@@ -2633,19 +2730,34 @@ public class Plot {
         if (!this.hasOwner()) {
             return false;
         }
-        if (!isMerged()) {
-            return PlotSquared.platform().playerManager().getPlayerIfExists(Objects.requireNonNull(this.getOwnerAbs())) != null;
+        return this.getOnlineOwnerCount() > 0;
+    }
+
+    /**
+     * Get the number of plots connected to this plot (including this plot) with an owner that is online. The count is cached
+     * until an owner joins or leaves the server or the owners or merged plots change.
+     *
+     * @return number of connected plots with an online owner
+     * @since TODO
+     */
+    public int getOnlineOwnerCount() {
+        final Plot base = this.getBasePlot(false);
+        // Connected plots share the cached set, so a new set means the merge layout changed
+        final Set<Plot> connected = base.isMerged() ? base.getConnectedPlots() : null;
+        final int version = base.onlineOwnersVersion;
+        final OnlineOwners cached = base.onlineOwners;
+        if (cached != null && cached.version() == version && cached.connected() == connected) {
+            return cached.count();
         }
-        for (final Plot current : getConnectedPlots()) {
-            if (current.hasOwner()
-                    && PlotSquared
-                    .platform()
-                    .playerManager()
-                    .getPlayerIfExists(Objects.requireNonNull(current.getOwnerAbs())) != null) {
-                return true;
+        int count = 0;
+        for (final Plot current : connected == null ? Collections.singleton(base) : connected) {
+            final UUID owner = current.getOwnerAbs();
+            if (owner != null && PlotSquared.platform().playerManager().getPlayerIfExists(owner) != null) {
+                count++;
             }
         }
-        return false;
+        base.onlineOwners = new OnlineOwners(version, connected, count);
+        return count;
     }
 
     /**
@@ -3025,4 +3137,28 @@ public class Plot {
         return this.plotModificationManager;
     }
 
+    private record RegionCache(
+            PlotId id,
+            @Nullable Set<Plot> connected,
+            Set<CuboidRegion> regions,
+            CuboidRegion largest
+    ) {
+
+    }
+
+    private record OnlineOwners(
+            int version,
+            @Nullable Set<Plot> connected,
+            int count
+    ) {
+
+    }
+
+    private record AccessCache(
+            @Nullable Set<Plot> connected,
+            Map<UUID, Boolean> added
+    ) {
+
+    }
+
 }
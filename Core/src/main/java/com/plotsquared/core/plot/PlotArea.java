@@ -29,6 +29,7 @@ import com.plotsquared.core.configuration.ConfigurationUtil;
 import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.configuration.caption.TranslatableCaption;
 import com.plotsquared.core.configuration.file.YamlConfiguration;
+import com.plotsquared.core.database.DBFunc;
 import com.plotsquared.core.generator.GridPlotWorld;
 import com.plotsquared.core.generator.IndependentPlotGenerator;
 import com.plotsquared.core.inject.annotations.WorldConfig;
@@ -99,7 +100,16 @@ public abstract class PlotArea implements ComponentLike {
         FLAG_DECIMAL_FORMAT.setMaximumFractionDigits(340);
     }
 
-    protected final ConcurrentHashMap<PlotId, Plot> plots = new ConcurrentHashMap<>();
+    protected final PlotIdMap<Plot> plots = new PlotIdMap<>();
+    /**
+     * Secondary indices of {@link #plots}, mapping player UUIDs to the plots they own ({@link Plot#getOwnerAbs()}),
+     * are trusted on, are a member of or are denied from. Kept in sync by {@link #addPlot(Plot)},
+     * {@link #removePlot(PlotId)} and the owner/trusted/member/denied modifiers in {@link Plot}.
+     */
+    private final PlotUUIDIndex ownerIndex = new PlotUUIDIndex();
+    private final PlotUUIDIndex trustedIndex = new PlotUUIDIndex();
+    private final PlotUUIDIndex memberIndex = new PlotUUIDIndex();
+    private final PlotUUIDIndex deniedIndex = new PlotUUIDIndex();
     @NonNull
     private final String worldName;
     private final String id;
@@ -635,6 +645,17 @@ public abstract class PlotArea implements ComponentLike {
         return this.plots.get(id);
     }
 
+    /**
+     * Get the owned Plot at the given plot coordinates, without creating a {@link PlotId}.
+     *
+     * @param x the x-coordinate of the plot id
+     * @param y the y-coordinate of the plot id
+     * @return the plot or null
+     */
+    public @Nullable Plot getOwnedPlotAbs(final int x, final int y) {
+        return this.plots.get(x, y);
+    }
+
     public @Nullable Plot getOwnedPlot(final @NonNull PlotId id) {
         Plot plot = this.plots.get(id);
         return plot == null ? null : plot.getBasePlot(false);
@@ -693,17 +714,86 @@ public abstract class PlotArea implements ComponentLike {
             return Collections.emptySet();
         }
         final HashSet<Plot> myPlots = new HashSet<>();
-        forEachPlotAbs(value -> {
-            if (uuid.equals(value.getOwnerAbs())) {
-                myPlots.add(value);
+        for (final PlotId plotId : this.ownerIndex.get(uuid)) {
+            final Plot plot = this.plots.get(plotId);
+            if (plot != null && uuid.equals(plot.getOwnerAbs())) {
+                myPlots.add(plot);
             }
-        });
+        }
         return myPlots;
     }
 
+    /**
+     * Get the plots in this area that the given player is trusted on. Only the trusted players
+     * stored on each plot are considered, i.e. plots trusting {@link DBFunc#EVERYONE} are only
+     * returned when querying for that UUID.
+     *
+     * @param uuid player UUID
+     * @return set of plots trusting the player
+     */
+    public @NonNull Set<Plot> getTrustedPlots(final @NonNull UUID uuid) {
+        final HashSet<Plot> trustedPlots = new HashSet<>();
+        for (final PlotId plotId : this.trustedIndex.get(uuid)) {
+            final Plot plot = this.plots.get(plotId);
+            if (plot != null && plot.getTrusted().contains(uuid)) {
+                trustedPlots.add(plot);
+            }
+        }
+        return trustedPlots;
+    }
+
+    /**
+     * Get the plots in this area that the given player is a member of. Only the members
+     * stored on each plot are considered, i.e. plots adding {@link DBFunc#EVERYONE} are only
+     * returned when querying for that UUID.
+     *
+     * @param uuid player UUID
+     * @return set of plots the player is a member of
+     */
+    public @NonNull Set<Plot> getMemberPlots(final @NonNull UUID uuid) {
+        final HashSet<Plot> memberPlots = new HashSet<>();
+        for (final PlotId plotId : this.memberIndex.get(uuid)) {
+            final Plot plot = this.plots.get(plotId);
+            if (plot != null && plot.getMembers().contains(uuid)) {
+                memberPlots.add(plot);
+            }
+        }
+        return memberPlots;
+    }
+
+    /**
+     * Get the plots in this area that the given player is denied from. Only the denied players
+     * stored on each plot are considered, i.e. plots denying {@link DBFunc#EVERYONE} are only
+     * returned when querying for that UUID.
+     *
+     * @param uuid player UUID
+     * @return set of plots denying the player
+     */
+    public @NonNull Set<Plot> getDeniedPlots(final @NonNull UUID uuid) {
+        final HashSet<Plot> deniedPlots = new HashSet<>();
+        for (final PlotId plotId : this.deniedIndex.get(uuid)) {
+            final Plot plot = this.plots.get(plotId);
+            if (plot != null && plot.getDenied().contains(uuid)) {
+                deniedPlots.add(plot);
+            }
+        }
+        return deniedPlots;
+    }
+
     public @NonNull Set<Plot> getPlots(final @NonNull UUID uuid) {
-        return getPlots().stream().filter(plot -> plot.isBasePlot() && plot.isOwner(uuid))
-                .collect(ImmutableSet.toImmutableSet());
+        if (DBFunc.SERVER.equals(uuid)) {
+            // Server plots are determined by flag rather than by the stored owner
+            return getPlots().stream().filter(plot -> plot.isBasePlot() && plot.isOwner(uuid))
+                    .collect(ImmutableSet.toImmutableSet());
+        }
+        final ImmutableSet.Builder<Plot> myPlots = ImmutableSet.builder();
+        for (final Plot plot : getPlotsAbs(uuid)) {
+            final Plot base = plot.getBasePlot(false);
+            if (base.isBasePlot() && base.isOwner(uuid)) {
+                myPlots.add(base);
+            }
+        }
+        return myPlots.build();
     }
 
     /**
@@ -715,11 +805,27 @@ public abstract class PlotArea implements ComponentLike {
         return this.plots.values();
     }
 
+    /**
+     * Get the number of plots in this area that count towards the plot limit of the given owner. Only the plots
+     * stored as owned by the player ({@link Plot#getOwnerAbs()}) are considered. Plots marked as done are excluded
+     * unless {@link Settings.Done#COUNTS_TOWARDS_LIMIT} is enabled.
+     *
+     * @param uuid owner UUID
+     * @return number of plots counting towards the owner's limit
+     */
     public int getPlotCount(final @NonNull UUID uuid) {
-        if (!Settings.Done.COUNTS_TOWARDS_LIMIT) {
-            return (int) getPlotsAbs(uuid).stream().filter(plot -> !DoneFlag.isDone(plot)).count();
+        final Set<PlotId> ids = this.ownerIndex.get(uuid);
+        if (Settings.Done.COUNTS_TOWARDS_LIMIT) {
+            return ids.size();
         }
-        return getPlotsAbs(uuid).size();
+        int count = 0;
+        for (final PlotId plotId : ids) {
+            final Plot plot = this.plots.get(plotId);
+            if (plot != null && !DoneFlag.isDone(plot)) {
+                count++;
+            }
+        }
+        return count;
     }
 
     /**
@@ -737,7 +843,10 @@ public abstract class PlotArea implements ComponentLike {
     //todo check if this method is needed in this class
 
     public boolean hasPlot(final @NonNull UUID uuid) {
-        return this.plots.entrySet().stream().anyMatch(entry -> entry.getValue().isOwner(uuid));
+        if (DBFunc.SERVER.equals(uuid)) {
+            return this.plots.values().stream().anyMatch(plot -> plot.isOwner(uuid));
+        }
+        return getPlotsAbs(uuid).stream().anyMatch(plot -> plot.isOwner(uuid));
     }
 
     public int getPlotCount(final @Nullable PlotPlayer<?> player) {
@@ -756,6 +865,26 @@ public abstract class PlotArea implements ComponentLike {
         return plot;
     }
 
+    /**
+     * Get the plot at the given plot coordinates, creating an unowned plot if none is claimed.
+     *
+     * @param x the x-coordinate of the plot id
+     * @param y the y-coordinate of the plot id
+     * @return the plot, or null if the id is outside of this area
+     * @see #getOwnedPlotAbs(int, int)
+     */
+    public @Nullable Plot getPlotAbs(final int x, final int y) {
+        final Plot plot = getOwnedPlotAbs(x, y);
+        if (plot != null) {
+            return plot;
+        }
+        if (this.min != null && (x < this.min.getX() || x > this.max.getX() || y < this.min.getY()
+                || y > this.max.getY())) {
+            return null;
+        }
+        return new Plot(this, PlotId.of(x, y));
+    }
+
     public @Nullable Plot getPlot(final @NonNull PlotId id) {
         final Plot plot = getOwnedPlotAbs(id);
         if (plot == null) {
@@ -846,12 +975,6 @@ public abstract class PlotArea implements ComponentLike {
         return myPlots;
     }
 
-    private void forEachPlotAbs(Consumer<Plot> run) {
-        for (final Entry<PlotId, Plot> entry : this.plots.entrySet()) {
-            run.accept(entry.getValue());
-        }
-    }
-
     public void forEachBasePlot(Consumer<Plot> run) {
         for (final Plot plot : getPlots()) {
             if (plot.isBasePlot()) {
@@ -883,7 +1006,7 @@ public abstract class PlotArea implements ComponentLike {
                 metaDataAccess.set(plot);
             }
         }
-        return this.plots.put(plot.getId(), plot) == null;
+        return addPlotAbs(plot);
     }
 
     public Plot getNextFreePlot(final PlotPlayer<?> player, @Nullable PlotId start) {
@@ -919,6 +1042,7 @@ public abstract class PlotArea implements ComponentLike {
 
     public boolean addPlotIfAbsent(final @NonNull Plot plot) {
         if (this.plots.putIfAbsent(plot.getId(), plot) == null) {
+            index(plot, plot.getId());
             for (PlotPlayer<?> pp : plot.getPlayersInPlot()) {
                 try (final MetaDataAccess<Plot> metaDataAccess = pp.accessTemporaryMetaData(
                         PlayerMetaDataKeys.TEMPORARY_LAST_PLOT)) {
@@ -931,7 +1055,13 @@ public abstract class PlotArea implements ComponentLike {
     }
 
     public boolean addPlotAbs(final @NonNull Plot plot) {
-        return this.plots.put(plot.getId(), plot) == null;
+        final PlotId plotId = plot.getId();
+        final Plot previous = this.plots.put(plotId, plot);
+        if (previous != null) {
+            unindex(previous, plotId);
+        }
+        index(plot, plotId);
+        return previous == null;
     }
 
     /**
@@ -1041,7 +1171,106 @@ public abstract class PlotArea implements ComponentLike {
     }
 
     public boolean removePlot(final @NonNull PlotId id) {
-        return this.plots.remove(id) != null;
+        final Plot removed = this.plots.remove(id);
+        if (removed == null) {
+            return false;
+        }
+        unindex(removed, id);
+        return true;
+    }
+
+    /**
+     * Update the owner index after the stored owner of a plot changed. Called by {@link Plot#setOwnerAbs(UUID)}.
+     *
+     * @param plot     plot whose owner changed
+     * @param oldOwner the previous owner, may be {@code null}
+     */
+    void updateOwner(final @NonNull Plot plot, final @Nullable UUID oldOwner) {
+        final PlotId plotId = plot.getId();
+        // Plots that are not (yet) stored in this area are indexed once they are added
+        if (this.plots.get(plotId) != plot) {
+            return;
+        }
+        this.ownerIndex.remove(oldOwner, plotId);
+        this.ownerIndex.add(plot.getOwnerAbs(), plotId);
+    }
+
+    /**
+     * Update the trusted index after a player was added to or removed from the trusted players of a plot.
+     *
+     * @param plot  plot whose trusted players changed
+     * @param uuid  player that was added or removed
+     * @param added {@code true} if the player was added, {@code false} if they were removed
+     */
+    void updateTrusted(final @NonNull Plot plot, final @NonNull UUID uuid, final boolean added) {
+        updateIndex(this.trustedIndex, plot, uuid, added);
+    }
+
+    /**
+     * Update the member index after a player was added to or removed from the members of a plot.
+     *
+     * @param plot  plot whose members changed
+     * @param uuid  player that was added or removed
+     * @param added {@code true} if the player was added, {@code false} if they were removed
+     */
+    void updateMember(final @NonNull Plot plot, final @NonNull UUID uuid, final boolean added) {
+        updateIndex(this.memberIndex, plot, uuid, added);
+    }
+
+    /**
+     * Update the denied index after a player was added to or removed from the denied players of a plot.
+     *
+     * @param plot  plot whose denied players changed
+     * @param uuid  player that was added or removed
+     * @param added {@code true} if the player was added, {@code false} if they were removed
+     */
+    void updateDenied(final @NonNull Plot plot, final @NonNull UUID uuid, final boolean added) {
+        updateIndex(this.deniedIndex, plot, uuid, added);
+    }
+
+    /**
+     * Re-index the trusted, member and denied players of a plot after its player sets were replaced.
+     * Stale entries of the previous sets are skipped when the index is read.
+     *
+     * @param plot plot whose player sets were replaced
+     */
+    void updateAdded(final @NonNull Plot plot) {
+        final PlotId plotId = plot.getId();
+        if (this.plots.get(plotId) != plot) {
+            return;
+        }
+        this.trustedIndex.addAll(plot.trusted, plotId);
+        this.memberIndex.addAll(plot.members, plotId);
+        this.deniedIndex.addAll(plot.denied, plotId);
+    }
+
+    private void updateIndex(
+            final @NonNull PlotUUIDIndex index, final @NonNull Plot plot,
+            final @NonNull UUID uuid, final boolean added
+    ) {
+        final PlotId plotId = plot.getId();
+        if (this.plots.get(plotId) != plot) {
+            return;
+        }
+        if (added) {
+            index.add(uuid, plotId);
+        } else {
+            index.remove(uuid, plotId);
+        }
+    }
+
+    private void index(final @NonNull Plot plot, final @NonNull PlotId plotId) {
+        this.ownerIndex.add(plot.getOwnerAbs(), plotId);
+        this.trustedIndex.addAll(plot.trusted, plotId);
+        this.memberIndex.addAll(plot.members, plotId);
+        this.deniedIndex.addAll(plot.denied, plotId);
+    }
+
+    private void unindex(final @NonNull Plot plot, final @NonNull PlotId plotId) {
+        this.ownerIndex.remove(plot.getOwnerAbs(), plotId);
+        this.trustedIndex.removeAll(plot.trusted, plotId);
+        this.memberIndex.removeAll(plot.members, plotId);
+        this.deniedIndex.removeAll(plot.denied, plotId);
     }
 
     /**
@@ -31,6 +31,14 @@ import java.util.NoSuchElementException;
  */
 public final class PlotId {
 
+    /**
+     * Ids within this distance of the origin are interned, as plots are claimed outwards from it
+     */
+    private static final int CACHE_RADIUS = 64;
+    private static final int CACHE_WIDTH = 2 * CACHE_RADIUS + 1;
+    // Filled lazily, a racing thread at worst creates an equal instance
+    private static final PlotId[] CACHE = new PlotId[CACHE_WIDTH * CACHE_WIDTH];
+
     private final int x;
     private final int y;
     private final int hash;
@@ -48,14 +56,48 @@ public final class PlotId {
     }
 
     /**
-     * Returns a new PlotId instance with the specified x and y coordinates.
+     * Returns a PlotId instance with the specified x and y coordinates.
+     * Ids close to the origin are cached, so the returned instance may be shared.
      *
      * @param x the x-coordinate of the plot
      * @param y the y-coordinate of the plot
-     * @return a new PlotId instance with the specified x and y coordinates
+     * @return a PlotId instance with the specified x and y coordinates
      */
     public static @NonNull PlotId of(final int x, final int y) {
-        return new PlotId(x, y);
+        final int cacheX = x + CACHE_RADIUS;
+        final int cacheY = y + CACHE_RADIUS;
+        if (cacheX < 0 || cacheX >= CACHE_WIDTH || cacheY < 0 || cacheY >= CACHE_WIDTH) {
+            return new PlotId(x, y);
+        }
+        final int index = cacheX * CACHE_WIDTH + cacheY;
+        PlotId id = CACHE[index];
+        if (id == null) {
+            id = new PlotId(x, y);
+            CACHE[index] = id;
+        }
+        return id;
+    }
+
+    /**
+     * Returns the PlotId packed into a long by {@link #toLong(int, int)}.
+     *
+     * @param packed the packed coordinates
+     * @return a PlotId instance with the packed coordinates
+     */
+    public static @NonNull PlotId fromLong(final long packed) {
+        return of((int) (packed >> 32), (int) packed);
+    }
+
+    /**
+     * Packs plot coordinates into a long without creating a PlotId. Unlike {@link #hashCode()},
+     * the packed value is unique for all coordinates.
+     *
+     * @param x the x-coordinate of the plot
+     * @param y the y-coordinate of the plot
+     * @return the packed coordinates
+     */
+    public static long toLong(final int x, final int y) {
+        return (long) x << 32 | y & 0xFFFFFFFFL;
     }
 
     /**
@@ -127,6 +169,16 @@ public final class PlotId {
         return this.y;
     }
 
+    /**
+     * Returns the coordinates of this Plot ID packed into a long.
+     *
+     * @return the packed coordinates
+     * @see #toLong(int, int)
+     */
+    public long toLong() {
+        return toLong(this.x, this.y);
+    }
+
     /**
      * Returns the next Plot ID for claiming purposes based on the current Plot ID.
      *
@@ -0,0 +1,453 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Concurrent map from {@link PlotId} to values, keyed by the packed id ({@link PlotId#toLong()}) in an
+ * open addressing table.
+ * <p>
+ * Compared to a {@link java.util.concurrent.ConcurrentHashMap}, no key object or node is kept per entry,
+ * and keys never collide as {@link PlotId#hashCode()} does for ids beyond 32767 in either direction. Lookups are lock free
+ * and can be done by coordinates without creating a {@link PlotId}, while modifications are serialized.
+ * Like in a {@link java.util.concurrent.ConcurrentHashMap}, compound operations such as {@link #compute} and
+ * {@link #merge} are atomic, and their functions must not modify this map.
+ * Iterators are weakly consistent and never throw {@link java.util.ConcurrentModificationException}.
+ *
+ * @param <V> value type
+ */
+public final class PlotIdMap<V> extends AbstractMap<PlotId, V> implements ConcurrentMap<PlotId, V> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    /**
+     * Marks a slot whose entry was removed. Removed slots are never reused within a table, so a key
+     * never changes once a slot holds a value, and are dropped when the table is rebuilt.
+     */
+    private static final Object REMOVED = new Object();
+
+    private volatile Table table = new Table(INITIAL_CAPACITY);
+    private volatile int size;
+    // Slots holding a value or REMOVED, guarded by this
+    private int used;
+
+    private static int slot(final long key, final int mask) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ hash >>> 32) & mask;
+    }
+
+    /**
+     * Get the value stored for the given plot coordinates.
+     *
+     * @param x the x-coordinate of the plot id
+     * @param y the y-coordinate of the plot id
+     * @return the value, or null
+     */
+    public @Nullable V get(final int x, final int y) {
+        return get(PlotId.toLong(x, y));
+    }
+
+    /**
+     * Get the value stored for the given packed plot id.
+     *
+     * @param key packed plot id, see {@link PlotId#toLong()}
+     * @return the value, or null
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(final long key) {
+        final Table table = this.table;
+        int index = slot(key, table.mask);
+        Object value;
+        // Reading the value first guarantees the key of the slot is visible
+        while ((value = table.values.get(index)) != null) {
+            if (value != REMOVED && table.keys[index] == key) {
+                return (V) value;
+            }
+            index = index + 1 & table.mask;
+        }
+        return null;
+    }
+
+    /**
+     * Store a value for the given packed plot id.
+     *
+     * @param key   packed plot id, see {@link PlotId#toLong()}
+     * @param value the value
+     * @return the previous value, or null
+     */
+    public synchronized @Nullable V put(final long key, final @NonNull V value) {
+        return put(key, value, false);
+    }
+
+    /**
+     * Store a value for the given packed plot id, unless a value is already stored.
+     *
+     * @param key   packed plot id, see {@link PlotId#toLong()}
+     * @param value the value
+     * @return the stored value, or null if the value was stored
+     */
+    public synchronized @Nullable V putIfAbsent(final long key, final @NonNull V value) {
+        return put(key, value, true);
+    }
+
+    /**
+     * Remove the value stored for the given packed plot id.
+     *
+     * @param key packed plot id, see {@link PlotId#toLong()}
+     * @return the removed value, or null
+     */
+    public synchronized @Nullable V remove(final long key) {
+        return remove(key, null, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private @Nullable V put(final long key, final @NonNull V value, final boolean onlyIfAbsent) {
+        Objects.requireNonNull(value, "value");
+        Table table = this.table;
+        int index = slot(key, table.mask);
+        Object current;
+        while ((current = table.values.get(index)) != null) {
+            if (current != REMOVED && table.keys[index] == key) {
+                if (!onlyIfAbsent) {
+                    table.values.set(index, value);
+                }
+                return (V) current;
+            }
+            index = index + 1 & table.mask;
+        }
+        // Keep at least half of the slots empty so probes stay short and always terminate
+        if ((this.used + 1) * 2 > table.values.length()) {
+            table = rebuild(this.size + 1);
+            index = slot(key, table.mask);
+            while (table.values.get(index) != null) {
+                index = index + 1 & table.mask;
+            }
+        }
+        table.keys[index] = key;
+        table.values.set(index, value);
+        this.used++;
+        this.size++;
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private @Nullable V remove(final long key, final @Nullable Object expected, final boolean matchValue) {
+        final Table table = this.table;
+        int index = slot(key, table.mask);
+        Object current;
+        while ((current = table.values.get(index)) != null) {
+            if (current != REMOVED && table.keys[index] == key) {
+                if (matchValue && !current.equals(expected)) {
+                    return null;
+                }
+                table.values.set(index, REMOVED);
+                this.size--;
+                // Shrink once the table is mostly empty, rebuilding leaves it a quarter full
+                if (table.values.length() > INITIAL_CAPACITY && this.size * 8 < table.values.length()) {
+                    rebuild(this.size);
+                }
+                return (V) current;
+            }
+            index = index + 1 & table.mask;
+        }
+        return null;
+    }
+
+    /**
+     * Copy all entries into a new table with room for the given number of entries, dropping removed slots.
+     */
+    private Table rebuild(final int entries) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < entries * 4) {
+            capacity <<= 1;
+        }
+        final Table previous = this.table;
+        final Table table = new Table(capacity);
+        for (int i = 0; i < previous.values.length(); i++) {
+            final Object value = previous.values.get(i);
+            if (value == null || value == REMOVED) {
+                continue;
+            }
+            final long key = previous.keys[i];
+            int index = slot(key, table.mask);
+            while (table.values.get(index) != null) {
+                index = index + 1 & table.mask;
+            }
+            table.keys[index] = key;
+            table.values.set(index, value);
+        }
+        this.used = this.size;
+        this.table = table;
+        return table;
+    }
+
+    @Override
+    public @Nullable V get(final Object key) {
+        return key instanceof PlotId plotId ? get(plotId.toLong()) : null;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public @Nullable V put(final @NonNull PlotId key, final @NonNull V value) {
+        return put(key.toLong(), value);
+    }
+
+    @Override
+    public @Nullable V putIfAbsent(final @NonNull PlotId key, final @NonNull V value) {
+        return putIfAbsent(key.toLong(), value);
+    }
+
+    @Override
+    public @Nullable V remove(final Object key) {
+        return key instanceof PlotId plotId ? remove(plotId.toLong()) : null;
+    }
+
+    @Override
+    public synchronized boolean remove(final Object key, final Object value) {
+        return key instanceof PlotId plotId && value != null && remove(plotId.toLong(), value, true) != null;
+    }
+
+    @Override
+    public synchronized boolean replace(final @NonNull PlotId key, final @NonNull V oldValue, final @NonNull V newValue) {
+        final long packed = key.toLong();
+        if (!oldValue.equals(get(packed))) {
+            return false;
+        }
+        put(packed, newValue, false);
+        return true;
+    }
+
+    @Override
+    public synchronized @Nullable V replace(final @NonNull PlotId key, final @NonNull V value) {
+        final long packed = key.toLong();
+        return get(packed) == null ? null : put(packed, value, false);
+    }
+
+    @Override
+    public V computeIfAbsent(final @NonNull PlotId key, final @NonNull Function<? super PlotId, ? extends V> mappingFunction) {
+        final long packed = key.toLong();
+        final V existing = get(packed);
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (this) {
+            final V current = get(packed);
+            if (current != null) {
+                return current;
+            }
+            final V value = mappingFunction.apply(key);
+            if (value != null) {
+                put(packed, value, false);
+            }
+            return value;
+        }
+    }
+
+    @Override
+    public synchronized V computeIfPresent(
+            final @NonNull PlotId key,
+            final @NonNull BiFunction<? super PlotId, ? super V, ? extends V> remappingFunction
+    ) {
+        final long packed = key.toLong();
+        final V current = get(packed);
+        return current == null ? null : update(packed, current, remappingFunction.apply(key, current));
+    }
+
+    @Override
+    public synchronized V compute(
+            final @NonNull PlotId key,
+            final @NonNull BiFunction<? super PlotId, ? super V, ? extends V> remappingFunction
+    ) {
+        final long packed = key.toLong();
+        final V current = get(packed);
+        return update(packed, current, remappingFunction.apply(key, current));
+    }
+
+    @Override
+    public synchronized V merge(
+            final @NonNull PlotId key, final @NonNull V value,
+            final @NonNull BiFunction<? super V, ? super V, ? extends V> remappingFunction
+    ) {
+        final long packed = key.toLong();
+        final V current = get(packed);
+        return update(packed, current, current == null ? value : remappingFunction.apply(current, value));
+    }
+
+    /**
+     * Store the result of a remapping function, removing the entry if the result is null. Must hold the lock.
+     */
+    private @Nullable V update(final long key, final @Nullable V current, final @Nullable V value) {
+        if (value != null) {
+            put(key, value, false);
+        } else if (current != null) {
+            remove(key, null, false);
+        }
+        return value;
+    }
+
+    /**
+     * Get the number of slots of the current table.
+     *
+     * @return table capacity
+     */
+    int capacity() {
+        return this.table.values.length();
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public synchronized void clear() {
+        this.table = new Table(INITIAL_CAPACITY);
+        this.size = 0;
+        this.used = 0;
+    }
+
+    @Override
+    public @NonNull Collection<V> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public @NonNull Iterator<V> iterator() {
+                return new SlotIterator<>() {
+                    @Override
+                    V item(final long key, final V value) {
+                        return value;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return PlotIdMap.this.size;
+            }
+        };
+    }
+
+    @Override
+    public @NonNull Set<Entry<PlotId, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public @NonNull Iterator<Entry<PlotId, V>> iterator() {
+                return new SlotIterator<>() {
+                    @Override
+                    Entry<PlotId, V> item(final long key, final V value) {
+                        return new SimpleImmutableEntry<>(PlotId.fromLong(key), value);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return PlotIdMap.this.size;
+            }
+        };
+    }
+
+    private static final class Table {
+
+        private final long[] keys;
+        private final AtomicReferenceArray<Object> values;
+        private final int mask;
+
+        private Table(final int capacity) {
+            this.keys = new long[capacity];
+            this.values = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+
+    }
+
+    /**
+     * Iterates the table that was current when the iterator was created.
+     */
+    private abstract class SlotIterator<T> implements Iterator<T> {
+
+        private final Table table = PlotIdMap.this.table;
+        private int index = -1;
+        private long nextKey;
+        private V nextValue;
+        private long lastKey;
+        private V lastValue;
+
+        abstract T item(long key, V value);
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean hasNext() {
+            while (this.nextValue == null && this.index + 1 < this.table.values.length()) {
+                final Object value = this.table.values.get(++this.index);
+                if (value != null && value != REMOVED) {
+                    this.nextKey = this.table.keys[this.index];
+                    this.nextValue = (V) value;
+                }
+            }
+            return this.nextValue != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            this.lastKey = this.nextKey;
+            this.lastValue = this.nextValue;
+            this.nextValue = null;
+            return item(this.lastKey, this.lastValue);
+        }
+
+        @Override
+        public void remove() {
+            if (this.lastValue == null) {
+                throw new IllegalStateException();
+            }
+            synchronized (PlotIdMap.this) {
+                PlotIdMap.this.remove(this.lastKey, this.lastValue, true);
+            }
+            this.lastValue = null;
+        }
+
+    }
+
+}
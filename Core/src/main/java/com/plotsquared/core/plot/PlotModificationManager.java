@@ -35,9 +35,11 @@ import com.plotsquared.core.generator.SquarePlotWorld;
 import com.plotsquared.core.inject.factory.ProgressSubscriberFactory;
 import com.plotsquared.core.location.Direction;
 import com.plotsquared.core.location.Location;
+import com.plotsquared.core.permissions.Permission;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.flag.PlotFlag;
 import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.queue.QueuePriority;
 import com.plotsquared.core.util.task.TaskManager;
 import com.plotsquared.core.util.task.TaskTime;
 import com.sk89q.worldedit.function.pattern.Pattern;
@@ -151,6 +153,8 @@ public final class PlotModificationManager {
                     DBFunc.setDenied(other, denied);
                 }
             }
+            other.getArea().updateAdded(other);
+            other.clearAccessCache();
         }
         // copy terrain
         final ArrayDeque<CuboidRegion> regions = new ArrayDeque<>(this.plot.getRegions());
@@ -195,6 +199,24 @@ public final class PlotModificationManager {
         this.clear(false, false, null, whenDone);
     }
 
+    /**
+     * Get the priority of the queues clearing the plot on behalf of the given actor. Clears without an actor, such as of
+     * expired plots, run in the background. Clears of other players' plots by staff are prioritised over player work.
+     *
+     * @param actor The actor clearing the plot, or null
+     * @return the queue priority
+     * @since TODO
+     */
+    public @NonNull QueuePriority getClearPriority(final @Nullable PlotPlayer<?> actor) {
+        if (actor == null) {
+            return QueuePriority.LOW;
+        }
+        if (!this.plot.isOwner(actor.getUUID()) && actor.hasPermission(Permission.PERMISSION_ADMIN_COMMAND_CLEAR)) {
+            return QueuePriority.HIGH;
+        }
+        return QueuePriority.NORMAL;
+    }
+
     /**
      * Clear the plot
      *
@@ -235,6 +257,7 @@ public final class PlotModificationManager {
                         TaskManager.runTask(whenDone);
                     };
                     QueueCoordinator queue = plot.getArea().getQueue();
+                    queue.setPriority(getClearPriority(actor));
                     for (Plot current : plots) {
                         if (isDelete || !current.hasOwner()) {
                             manager.unClaimPlot(current, null, queue);
@@ -515,6 +538,7 @@ public final class PlotModificationManager {
         this.plot.getTrusted().clear();
         this.plot.getMembers().clear();
         this.plot.getDenied().clear();
+        this.plot.clearAccessCache();
         this.plot.settings = new PlotSettings();
         if (this.plot.getArea().addPlot(this.plot)) {
             DBFunc.createPlotAndSettings(this.plot, () -> {
@@ -0,0 +1,87 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reverse index mapping player UUIDs to the ids of the plots of a {@link PlotArea} they are related to,
+ * e.g. as owner, trusted, member or denied player.
+ * <p>
+ * The index stores the ids under which the plots are stored in the area, not the plots themselves, as
+ * the id (and thus the hash) of a stored plot changes when it is moved or swapped.
+ */
+final class PlotUUIDIndex {
+
+    private final ConcurrentHashMap<UUID, Set<PlotId>> index = new ConcurrentHashMap<>();
+
+    void add(final @Nullable UUID uuid, final @NonNull PlotId plotId) {
+        if (uuid == null) {
+            return;
+        }
+        this.index.computeIfAbsent(uuid, key -> ConcurrentHashMap.newKeySet()).add(plotId);
+    }
+
+    void addAll(final @Nullable Collection<UUID> uuids, final @NonNull PlotId plotId) {
+        if (uuids == null) {
+            return;
+        }
+        for (final UUID uuid : uuids) {
+            add(uuid, plotId);
+        }
+    }
+
+    void remove(final @Nullable UUID uuid, final @NonNull PlotId plotId) {
+        if (uuid == null) {
+            return;
+        }
+        this.index.computeIfPresent(uuid, (key, ids) -> {
+            ids.remove(plotId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    void removeAll(final @Nullable Collection<UUID> uuids, final @NonNull PlotId plotId) {
+        if (uuids == null) {
+            return;
+        }
+        for (final UUID uuid : uuids) {
+            remove(uuid, plotId);
+        }
+    }
+
+    /**
+     * Get the ids indexed for the given UUID.
+     *
+     * @param uuid player UUID
+     * @return unmodifiable live view of the indexed ids
+     */
+    @NonNull Set<PlotId> get(final @NonNull UUID uuid) {
+        final Set<PlotId> ids = this.index.get(uuid);
+        return ids == null ? Collections.emptySet() : Collections.unmodifiableSet(ids);
+    }
+
+}
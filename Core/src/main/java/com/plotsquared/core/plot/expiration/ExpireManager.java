@@ -20,6 +20,7 @@ package com.plotsquared.core.plot.expiration;
 
 import com.google.inject.Inject;
 import com.plotsquared.core.PlotSquared;
+import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.configuration.caption.Caption;
 import com.plotsquared.core.configuration.caption.TranslatableCaption;
 import com.plotsquared.core.database.DBFunc;
@@ -47,30 +48,46 @@ import com.plotsquared.core.util.task.TaskTime;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.tag.Tag;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
 
 public class ExpireManager {
 
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + ExpireManager.class.getSimpleName());
+    /**
+     * Order in which a sweep checks plots, stable across restarts so the progress of a sweep can be resumed
+     */
+    private static final Comparator<Plot> SWEEP_ORDER =
+            (a, b) -> compare(a, b.getArea().toString(), b.getId().getX(), b.getId().getY());
+
     private final ConcurrentHashMap<UUID, Long> dates_cache;
     private final ConcurrentHashMap<UUID, Long> account_age_cache;
     private final EventDispatcher eventDispatcher;
     private final ArrayDeque<ExpiryTask> tasks;
     private volatile HashSet<Plot> plotsToDelete;
     /**
-     * 0 = stopped, 1 = stopping, 2 = running
+     * 0 = stopped, 1 = stopping, 2 = running, 3 = waiting for the next sweep
      */
-    private int running;
+    private volatile int running;
 
     @Inject
     public ExpireManager(final @NonNull EventDispatcher eventDispatcher) {
@@ -183,10 +200,13 @@ public class ExpireManager {
             @Override
             public void run(Plot plot, Runnable runnable, Boolean confirm) {
                 if (confirm) {
-                    if (plotsToDelete == null) {
-                        plotsToDelete = new HashSet<>();
+                    // Several plots of a sweep may finish at the same time
+                    synchronized (ExpireManager.this) {
+                        if (plotsToDelete == null) {
+                            plotsToDelete = new HashSet<>();
+                        }
+                        plotsToDelete.add(plot);
                     }
-                    plotsToDelete.add(plot);
                     runnable.run();
                 } else {
                     deleteWithMessage(plot, runnable);
@@ -292,100 +312,221 @@ public class ExpireManager {
             return false;
         }
         this.running = 2;
-        TaskManager.runTaskAsync(new Runnable() {
-            private ConcurrentLinkedDeque<Plot> plots = null;
+        TaskManager.runTaskAsync(new Sweep(expiredTask));
+        return true;
+    }
 
-            @Override
-            public void run() {
-                final Runnable task = this;
-                if (ExpireManager.this.running != 2) {
-                    ExpireManager.this.running = 0;
-                    return;
-                }
-                if (plots == null) {
-                    plots = new ConcurrentLinkedDeque<>(PlotQuery.newQuery().allPlots().asList());
+    private File getProgressFile() {
+        return new File(PlotSquared.platform().getDirectory(), "expiry_progress");
+    }
+
+    /**
+     * A single pass over all plots. Up to {@link Settings.Expiry#ANALYSIS_WORKERS} plots are checked at the same time, each
+     * finished plot schedules the sweep again to start the next one. The first plot which has not finished yet is written
+     * to {@link #getProgressFile()} every {@link #PROGRESS_INTERVAL} plots, so a sweep interrupted by a restart skips most of
+     * the plots it already checked.
+     */
+    private final class Sweep implements Runnable {
+
+        private static final int PROGRESS_INTERVAL = 32;
+
+        private final RunnableVal3<Plot, Runnable, Boolean> expiredTask;
+        private final Object progressLock = new Object();
+        // Guarded by this. Plots are claimed in order, so the first pending plot is the progress of the sweep.
+        private final TreeSet<Integer> pending = new TreeSet<>();
+        private List<Plot> plots = null;
+        private int next;
+        private boolean done;
+        // Guarded by progressLock
+        private int saved = -1;
+
+        private Sweep(final RunnableVal3<Plot, Runnable, Boolean> expiredTask) {
+            this.expiredTask = expiredTask;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (this.plots == null) {
+                    this.plots = new ArrayList<>(PlotQuery.newQuery().allPlots().asList());
+                    this.plots.sort(SWEEP_ORDER);
+                    this.next = loadProgress();
+                    synchronized (this.progressLock) {
+                        this.saved = this.next;
+                    }
                 }
-                while (!plots.isEmpty()) {
-                    if (ExpireManager.this.running != 2) {
-                        ExpireManager.this.running = 0;
-                        return;
+            }
+            // Runs asynchronously, so plots finishing on the main thread never wait for the file to be written
+            saveProgress(progress(), false);
+            final int workers = Math.max(1, Math.min(Settings.Expiry.ANALYSIS_WORKERS, Settings.QUEUE.MAX_ACTIVE_QUEUES));
+            while (ExpireManager.this.running == 2) {
+                final int index;
+                synchronized (this) {
+                    if (this.pending.size() >= workers || this.next >= this.plots.size()) {
+                        break;
                     }
-                    Plot plot = plots.poll();
-                    PlotArea area = plot.getArea();
-                    final Plot newPlot = area.getPlot(plot.getId());
-                    final ArrayDeque<ExpiryTask> applicable = new ArrayDeque<>(tasks);
-                    final Collection<ExpiryTask> expired = isExpired(applicable, newPlot);
-                    if (expired.isEmpty()) {
-                        continue;
+                    index = this.next++;
+                    // Claimed before it is checked, so that the saved progress never skips the plot
+                    this.pending.add(index);
+                }
+                Plot plot = this.plots.get(index);
+                final Plot newPlot = plot.getArea().getPlot(plot.getId());
+                final Collection<ExpiryTask> expired = isExpired(new ArrayDeque<>(tasks), newPlot);
+                if (expired.isEmpty()) {
+                    synchronized (this) {
+                        this.pending.remove(index);
                     }
-                    for (ExpiryTask expiryTask : expired) {
-                        if (!expiryTask.needsAnalysis()) {
-                            expiredTask.run(newPlot, () -> TaskManager.getPlatformImplementation()
-                                            .taskLaterAsync(task, TaskTime.ticks(1L)),
-                                    expiryTask.requiresConfirmation()
-                            );
-                            return;
+                    continue;
+                }
+                check(newPlot, expired, () -> finish(index));
+            }
+            final int progress;
+            synchronized (this) {
+                if (!this.pending.isEmpty() || this.done) {
+                    // The last plot to finish runs the sweep again
+                    return;
+                }
+                this.done = true;
+                progress = this.next;
+            }
+            saveProgress(progress, true);
+            if (ExpireManager.this.running != 2) {
+                ExpireManager.this.running = 0;
+                return;
+            }
+            ExpireManager.this.running = 3;
+            TaskManager.runTaskLater(() -> {
+                if (ExpireManager.this.running == 3) {
+                    ExpireManager.this.running = 0;
+                    runTask(this.expiredTask);
+                }
+            }, TaskTime.ticks(86400000L));
+        }
+
+        private void check(final Plot plot, final Collection<ExpiryTask> expired, final Runnable whenDone) {
+            for (ExpiryTask expiryTask : expired) {
+                if (!expiryTask.needsAnalysis()) {
+                    this.expiredTask.run(plot, whenDone, expiryTask.requiresConfirmation());
+                    return;
+                }
+            }
+            final RunnableVal<PlotAnalysis> handleAnalysis = new RunnableVal<>() {
+                @Override
+                public void run(final PlotAnalysis changed) {
+                    passesComplexity(changed, expired, new RunnableVal<>() {
+                        @Override
+                        public void run(Boolean confirmation) {
+                            Sweep.this.expiredTask.run(plot, whenDone, confirmation);
                         }
-                    }
-                    final RunnableVal<PlotAnalysis> handleAnalysis =
-                            new RunnableVal<>() {
-                                @Override
-                                public void run(final PlotAnalysis changed) {
-                                    passesComplexity(changed, expired, new RunnableVal<>() {
-                                        @Override
-                                        public void run(Boolean confirmation) {
-                                            expiredTask.run(
-                                                    newPlot,
-                                                    () -> TaskManager
-                                                            .getPlatformImplementation()
-                                                            .taskLaterAsync(task, TaskTime.ticks(1L)),
-                                                    confirmation
-                                            );
-                                        }
-                                    }, () -> {
-                                        PlotFlag<?, ?> plotFlag = GlobalFlagContainer.getInstance()
-                                                .getFlag(AnalysisFlag.class)
-                                                .createFlagInstance(changed.asList());
-                                        PlotFlagAddEvent event =
-                                                eventDispatcher.callFlagAdd(plotFlag, plot);
-                                        if (event.getEventResult() == Result.DENY) {
-                                            return;
-                                        }
-                                        newPlot.setFlag(event.getFlag());
-                                        TaskManager.runTaskLaterAsync(task, TaskTime.seconds(1L));
-                                    });
-                                }
-                            };
-                    final Runnable doAnalysis =
-                            () -> PlotSquared.platform().hybridUtils().analyzePlot(newPlot, handleAnalysis);
-
-                    PlotAnalysis analysis = newPlot.getComplexity(null);
-                    if (analysis != null) {
-                        passesComplexity(analysis, expired, new RunnableVal<>() {
-                            @Override
-                            public void run(Boolean value) {
-                                doAnalysis.run();
-                            }
-                        }, () -> TaskManager.getPlatformImplementation().taskLaterAsync(task, TaskTime.ticks(1L)));
-                    } else {
+                    }, () -> {
+                        PlotFlag<?, ?> plotFlag = GlobalFlagContainer.getInstance()
+                                .getFlag(AnalysisFlag.class)
+                                .createFlagInstance(changed.asList());
+                        PlotFlagAddEvent event = eventDispatcher.callFlagAdd(plotFlag, plot);
+                        if (event.getEventResult() != Result.DENY) {
+                            plot.setFlag(event.getFlag());
+                        }
+                        whenDone.run();
+                    });
+                }
+            };
+            final Runnable doAnalysis = () -> PlotSquared.platform().hybridUtils().analyzePlot(plot, handleAnalysis);
+
+            PlotAnalysis analysis = plot.getComplexity(null);
+            if (analysis != null) {
+                passesComplexity(analysis, expired, new RunnableVal<>() {
+                    @Override
+                    public void run(Boolean value) {
                         doAnalysis.run();
                     }
+                }, whenDone);
+            } else {
+                doAnalysis.run();
+            }
+        }
+
+        private void finish(final int index) {
+            synchronized (this) {
+                this.pending.remove(index);
+            }
+            TaskManager.getPlatformImplementation().taskLaterAsync(this, TaskTime.ticks(1L));
+        }
+
+        /**
+         * @return the index of the first plot which has not finished yet
+         */
+        private synchronized int progress() {
+            return this.pending.isEmpty() ? this.next : this.pending.first();
+        }
+
+        /**
+         * @return the index of the first plot not checked by an earlier, interrupted sweep
+         */
+        private int loadProgress() {
+            final File file = getProgressFile();
+            if (!Settings.Expiry.RESUME_PROGRESS || !file.exists()) {
+                return 0;
+            }
+            try {
+                final List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+                final String area = lines.get(0);
+                final int x = Integer.parseInt(lines.get(1));
+                final int y = Integer.parseInt(lines.get(2));
+                for (int i = 0; i < this.plots.size(); i++) {
+                    if (compare(this.plots.get(i), area, x, y) >= 0) {
+                        LOGGER.info("Resuming plot expiry at plot {} of {}", i, this.plots.size());
+                        return i;
+                    }
+                }
+                return this.plots.size();
+            } catch (IOException | RuntimeException e) {
+                LOGGER.error("Could not read the expiry progress, starting from the first plot", e);
+                return 0;
+            }
+        }
+
+        /**
+         * @param index the index of the first plot which has not finished yet
+         * @param force {@code false} to only save once the sweep advanced {@link #PROGRESS_INTERVAL} plots since the last save
+         */
+        private void saveProgress(final int index, final boolean force) {
+            if (!Settings.Expiry.RESUME_PROGRESS) {
+                return;
+            }
+            synchronized (this.progressLock) {
+                if (index <= this.saved || (!force && index - this.saved < PROGRESS_INTERVAL)) {
                     return;
                 }
-                if (plots.isEmpty()) {
-                    ExpireManager.this.running = 3;
-                    TaskManager.runTaskLater(() -> {
-                        if (ExpireManager.this.running == 3) {
-                            ExpireManager.this.running = 2;
-                            runTask(expiredTask);
-                        }
-                    }, TaskTime.ticks(86400000L));
-                } else {
-                    TaskManager.runTaskLaterAsync(task, TaskTime.seconds(10L));
+                this.saved = index;
+                final File file = getProgressFile();
+                try {
+                    if (index >= this.plots.size()) {
+                        Files.deleteIfExists(file.toPath());
+                        return;
+                    }
+                    final Plot plot = this.plots.get(index);
+                    Files.write(file.toPath(), Arrays.asList(
+                            plot.getArea().toString(),
+                            Integer.toString(plot.getId().getX()),
+                            Integer.toString(plot.getId().getY())
+                    ), StandardCharsets.UTF_8);
+                } catch (IOException e) {
+                    LOGGER.error("Could not save the expiry progress", e);
                 }
             }
-        });
-        return true;
+        }
+
+    }
+
+    private static int compare(final Plot plot, final String area, final int x, final int y) {
+        int result = plot.getArea().toString().compareTo(area);
+        if (result == 0) {
+            result = Integer.compare(plot.getId().getX(), x);
+        }
+        if (result == 0) {
+            result = Integer.compare(plot.getId().getY(), y);
+        }
+        return result;
     }
 
     public void storeDate(UUID uuid, long time) {
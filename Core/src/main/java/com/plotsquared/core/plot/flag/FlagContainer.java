@@ -27,6 +27,7 @@ import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -39,6 +40,7 @@ import java.util.Map;
 public class FlagContainer {
 
     private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + FlagContainer.class.getSimpleName());
+    private static final PlotFlag<?, ?>[] NO_FLAGS = new PlotFlag<?, ?>[0];
 
     private final Map<String, String> unknownFlags = new HashMap<>();
     private final Map<Class<?>, PlotFlag<?, ?>> flagMap = new HashMap<>();
@@ -46,6 +48,11 @@ public class FlagContainer {
     private final Collection<PlotFlagUpdateHandler> updateSubscribers = new HashSet<>();
     private final PlotFlagUpdateHandler unknownsRef;
     private FlagContainer parentContainer;
+    /**
+     * Copy of the local flags, replaced whenever a flag is added or removed so views can be built from any thread
+     */
+    private volatile PlotFlag<?, ?>[] localFlags = NO_FLAGS;
+    private volatile FlagView flagView;
 
     /**
      * Construct a new flag container with an optional parent container and update handler.
@@ -149,6 +156,7 @@ public class FlagContainer {
                     "flag name may not be more than 64 characters. Check: " + flag.getName()
             );
             final PlotFlag<?, ?> oldInstance = this.flagMap.put(flag.getClass(), flag);
+            this.localFlags = this.flagMap.values().toArray(NO_FLAGS);
             final PlotFlagUpdateType plotFlagUpdateType;
             if (oldInstance != null) {
                 plotFlagUpdateType = PlotFlagUpdateType.FLAG_UPDATED;
@@ -179,6 +187,7 @@ public class FlagContainer {
     @SuppressWarnings("unchecked")
     public <V, T extends PlotFlag<V, ?>> V removeFlag(final T flag) {
         final Object value = this.flagMap.remove(flag.getClass());
+        this.localFlags = this.flagMap.values().toArray(NO_FLAGS);
         if (this.plotFlagUpdateHandler != null) {
             this.plotFlagUpdateHandler.handle(flag, PlotFlagUpdateType.FLAG_REMOVED);
         }
@@ -215,6 +224,7 @@ public class FlagContainer {
      */
     public void clearLocal() {
         this.flagMap.clear();
+        this.localFlags = NO_FLAGS;
     }
 
     /**
@@ -248,15 +258,7 @@ public class FlagContainer {
      * @return the plot flag
      */
     public PlotFlag<?, ?> getFlagErased(Class<?> flagClass) {
-        final PlotFlag<?, ?> flag = this.flagMap.get(flagClass);
-        if (flag != null) {
-            return flag;
-        } else {
-            if (getParentContainer() != null) {
-                return getParentContainer().getFlagErased(flagClass);
-            }
-        }
-        return null;
+        return this.getFlagView().get(flagClass);
     }
 
     /**
@@ -270,15 +272,47 @@ public class FlagContainer {
      * @return Flag instance
      */
     public <V, T extends PlotFlag<V, ?>> T getFlag(final Class<? extends T> flagClass) {
-        final PlotFlag<?, ?> flag = this.flagMap.get(flagClass);
+        final PlotFlag<?, ?> flag = this.getFlagView().get(flagClass);
         if (flag != null) {
             return castUnsafe(flag);
+        }
+        return null;
+    }
+
+    /**
+     * Get the flags of this container merged with the flags of all parent containers, indexed by
+     * {@link GlobalFlagContainer#getFlagId(Class)}. The view is rebuilt when a flag of this container
+     * changed, or the view of the parent container was rebuilt.
+     *
+     * @return Effective flags
+     */
+    private @NonNull FlagView getFlagView() {
+        final FlagContainer parent = this.parentContainer;
+        final FlagView parentView = parent == null ? null : parent.getFlagView();
+        final PlotFlag<?, ?>[] local = this.localFlags;
+        final FlagView view = this.flagView;
+        if (view != null && view.parent() == parentView && view.local() == local) {
+            return view;
+        }
+        final PlotFlag<?, ?>[] flags;
+        if (local.length == 0 && parentView != null) {
+            // Containers without flags of their own share the array of their parent
+            flags = parentView.flags();
         } else {
-            if (getParentContainer() != null) {
-                return getParentContainer().getFlag(flagClass);
+            int length = GlobalFlagContainer.getFlagCount();
+            final int[] ids = new int[local.length];
+            for (int i = 0; i < local.length; i++) {
+                ids[i] = GlobalFlagContainer.getFlagId(local[i].getClass());
+                length = Math.max(length, ids[i] + 1);
+            }
+            flags = parentView == null ? new PlotFlag<?, ?>[length] : Arrays.copyOf(parentView.flags(), length);
+            for (int i = 0; i < local.length; i++) {
+                flags[ids[i]] = local[i];
             }
         }
-        return null;
+        final FlagView built = new FlagView(flags, local, parentView);
+        this.flagView = built;
+        return built;
     }
 
     /**
@@ -380,6 +414,18 @@ public class FlagContainer {
         return flagMap.hashCode();
     }
 
+    /**
+     * Effective flags of a container, only valid for the local flags and parent view it was built from
+     */
+    private record FlagView(PlotFlag<?, ?>[] flags, PlotFlag<?, ?>[] local, @Nullable FlagView parent) {
+
+        private @Nullable PlotFlag<?, ?> get(final @NonNull Class<?> flagClass) {
+            final int id = GlobalFlagContainer.getFlagId(flagClass);
+            return id < this.flags.length ? this.flags[id] : null;
+        }
+
+    }
+
     /**
      * Update event types used in {@link PlotFlagUpdateHandler}.
      */
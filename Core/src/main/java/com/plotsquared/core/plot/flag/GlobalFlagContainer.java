@@ -122,9 +122,17 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class GlobalFlagContainer extends FlagContainer {
 
+    private static final AtomicInteger FLAG_COUNT = new AtomicInteger();
+    private static final ClassValue<Integer> FLAG_IDS = new ClassValue<>() {
+        @Override
+        protected Integer computeValue(final Class<?> type) {
+            return FLAG_COUNT.getAndIncrement();
+        }
+    };
     private static GlobalFlagContainer instance;
     private static Map<String, Class<?>> stringClassMap;
 
@@ -132,6 +140,8 @@ public final class GlobalFlagContainer extends FlagContainer {
         super(null, (flag, type) -> {
             if (type == PlotFlagUpdateType.FLAG_ADDED) {
                 stringClassMap.put(flag.getName().toLowerCase(Locale.ENGLISH), flag.getClass());
+                // Assign ids in the order flags are registered
+                getFlagId(flag.getClass());
             }
         });
         stringClassMap = new HashMap<>();
@@ -262,6 +272,26 @@ public final class GlobalFlagContainer extends FlagContainer {
         return GlobalFlagContainer.instance;
     }
 
+    /**
+     * Get the dense id of a flag type, used to index the effective flags of a {@link FlagContainer}. Ids are assigned when a
+     * flag is registered, or when a type that is not registered is first queried.
+     *
+     * @param flagClass Flag class
+     * @return Id of the flag type
+     */
+    static int getFlagId(final @NonNull Class<?> flagClass) {
+        return FLAG_IDS.get(flagClass);
+    }
+
+    /**
+     * Get the number of flag ids assigned by {@link #getFlagId(Class)}
+     *
+     * @return Number of ids
+     */
+    static int getFlagCount() {
+        return FLAG_COUNT.get();
+    }
+
     @Override
     public PlotFlag<?, ?> getFlagErased(Class<?> flagClass) {
         final PlotFlag<?, ?> flag = super.getFlagErased(flagClass);
@@ -37,10 +37,28 @@ public abstract class BlockTypeListFlag<F extends ListFlag<BlockTypeWrapper, F>>
 
     public static boolean skipCategoryVerification = false;
 
+    private volatile BlockTypeMatcher matcher;
+
     protected BlockTypeListFlag(List<BlockTypeWrapper> blockTypeList, Caption description) {
         super(blockTypeList, TranslatableCaption.of("flags.flag_category_block_list"), description);
     }
 
+    /**
+     * Get a matcher accepting the same block types as the {@link BlockTypeWrapper#accepts(BlockType) wrappers} of this flag.
+     * Block categories are expanded once, instead of checking every wrapper whenever a block type is tested.
+     *
+     * @return Block type matcher
+     * @since TODO
+     */
+    public @NonNull BlockTypeMatcher getMatcher() {
+        BlockTypeMatcher matcher = this.matcher;
+        if (matcher == null || !matcher.isValid()) {
+            matcher = BlockTypeMatcher.of(getValue());
+            this.matcher = matcher;
+        }
+        return matcher;
+    }
+
     @Override
     public F parse(@NonNull String input) throws FlagParseException {
         final List<BlockTypeWrapper> parsedBlocks = new ArrayList<>();
@@ -0,0 +1,120 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.flag.types;
+
+import com.sk89q.worldedit.world.block.BlockCategory;
+import com.sk89q.worldedit.world.block.BlockType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Matches block types against a list of {@link BlockTypeWrapper block types and categories}, with the categories
+ * expanded into the block types they contain when the matcher is created.
+ *
+ * @since TODO
+ */
+public final class BlockTypeMatcher {
+
+    /**
+     * Dense ids of all block types contained by a matcher, used as bit indices
+     */
+    private static final Map<BlockType, Integer> IDS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+
+    private final BitSet types;
+    private final int generation;
+    private final boolean complete;
+
+    private BlockTypeMatcher(final @NonNull BitSet types, final int generation, final boolean complete) {
+        this.types = types;
+        this.generation = generation;
+        this.complete = complete;
+    }
+
+    /**
+     * Create a matcher accepting the same block types as the given wrappers
+     *
+     * @param wrappers Block types and categories
+     * @return Matcher
+     */
+    static @NonNull BlockTypeMatcher of(final @NonNull Collection<BlockTypeWrapper> wrappers) {
+        final int generation = GENERATION.get();
+        final BitSet types = new BitSet();
+        boolean complete = true;
+        for (final BlockTypeWrapper wrapper : wrappers) {
+            if (wrapper.getBlockType() != null) {
+                types.set(getId(wrapper.getBlockType()));
+                continue;
+            }
+            final BlockCategory category = wrapper.getBlockCategory();
+            if (category == null) {
+                // The category registry is not populated yet, so the contents are not known
+                complete = false;
+                continue;
+            }
+            for (final BlockType blockType : category.getAll()) {
+                // Same check as BlockTypeWrapper#accepts, categories that do not exist contain nothing
+                if (category.contains(blockType)) {
+                    types.set(getId(blockType));
+                }
+            }
+        }
+        return new BlockTypeMatcher(types, generation, complete);
+    }
+
+    /**
+     * Invalidate all matchers, as the contents of the block categories they were created from may have changed.
+     * This should be called whenever the server reloads its tags.
+     */
+    public static void invalidateCategories() {
+        GENERATION.incrementAndGet();
+    }
+
+    private static int getId(final @NonNull BlockType blockType) {
+        return IDS.computeIfAbsent(blockType, type -> NEXT_ID.getAndIncrement());
+    }
+
+    /**
+     * Check whether the block type is one of the block types, or contained by one of the categories, of the matcher
+     *
+     * @param blockType Block type
+     * @return {@code true} if the block type is accepted
+     */
+    public boolean accepts(final @NonNull BlockType blockType) {
+        final Integer id = IDS.get(blockType);
+        return id != null && this.types.get(id);
+    }
+
+    /**
+     * Get whether this matcher may still be used, i.e. all categories were known when it was created and the tags of the
+     * server have not been reloaded since.
+     *
+     * @return {@code true} if the matcher is up to date
+     */
+    boolean isValid() {
+        return this.complete && this.generation == GENERATION.get();
+    }
+
+}
@@ -23,6 +23,7 @@ import com.plotsquared.core.queue.subscriber.ProgressSubscriber;
 import com.plotsquared.core.util.PatternUtil;
 import com.sk89q.jnbt.CompoundTag;
 import com.sk89q.worldedit.entity.Entity;
+import com.sk89q.worldedit.function.pattern.BlockPattern;
 import com.sk89q.worldedit.function.pattern.Pattern;
 import com.sk89q.worldedit.math.BlockVector2;
 import com.sk89q.worldedit.regions.CuboidRegion;
@@ -119,10 +120,11 @@ public abstract class BasicQueueCoordinator extends QueueCoordinator {
         if (disableBiomes) {
             return false;
         }
-        LocalChunk chunk = getChunk(x >> 4, z >> 4);
-        for (int y = world.getMinY(); y <= world.getMaxY(); y++) {
-            chunk.setBiome(x & 15, y, z & 15, biomeType);
-        }
+        getChunk(x >> 4, z >> 4).setBiomeCuboid(
+                x & 15, world.getMinY(), z & 15,
+                x & 15, world.getMaxY(), z & 15,
+                biomeType
+        );
         settingBiomes = true;
         return true;
     }
@@ -333,6 +335,67 @@ public abstract class BasicQueueCoordinator extends QueueCoordinator {
         this.sideEffectSet = sideEffectSet;
     }
 
+    @Override
+    public void setCuboid(
+            final com.plotsquared.core.location.@NonNull Location pos1,
+            final com.plotsquared.core.location.@NonNull Location pos2,
+            @NonNull final BlockState block
+    ) {
+        setCuboid(pos1, pos2, block.toBaseBlock());
+    }
+
+    @Override
+    public void setCuboid(
+            final com.plotsquared.core.location.@NonNull Location pos1,
+            final com.plotsquared.core.location.@NonNull Location pos2,
+            @NonNull final Pattern blocks
+    ) {
+        if (blocks instanceof BlockState blockState) {
+            setCuboid(pos1, pos2, blockState.toBaseBlock());
+            return;
+        }
+        // Single block buckets are compiled to a BlockPattern
+        if (blocks instanceof BlockPattern blockPattern) {
+            setCuboid(pos1, pos2, blockPattern.getBlock());
+            return;
+        }
+        super.setCuboid(pos1, pos2, blocks);
+    }
+
+    private void setCuboid(
+            final com.plotsquared.core.location.@NonNull Location pos1,
+            final com.plotsquared.core.location.@NonNull Location pos2,
+            @NonNull final BaseBlock baseBlock
+    ) {
+        final int minY = Math.max(world.getMinY(), Math.min(pos1.getY(), pos2.getY()));
+        final int maxY = Math.min(world.getMaxY(), Math.max(pos1.getY(), pos2.getY()));
+        if (minY > maxY) {
+            return;
+        }
+        final int minX = Math.min(pos1.getX(), pos2.getX());
+        final int maxX = Math.max(pos1.getX(), pos2.getX());
+        final int minZ = Math.min(pos1.getZ(), pos2.getZ());
+        final int maxZ = Math.max(pos1.getZ(), pos2.getZ());
+        // Fill each chunk at once, so that complete layers are stored as a single block
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                getChunk(chunkX, chunkZ).setCuboid(
+                        Math.max(minX, chunkX << 4) & 15, minY, Math.max(minZ, chunkZ << 4) & 15,
+                        Math.min(maxX, (chunkX << 4) + 15) & 15, maxY, Math.min(maxZ, (chunkZ << 4) + 15) & 15,
+                        baseBlock
+                );
+            }
+        }
+    }
+
+    @Override
+    public void setSection(final int chunkX, final int chunkZ, final int layer, @NonNull final BlockState block) {
+        if (layer < getMinLayer() || layer > getMaxLayer()) {
+            return;
+        }
+        getChunk(chunkX, chunkZ).setSection(layer, block.toBaseBlock());
+    }
+
     // Don't ask about the @NonNull placement. That's how it needs to be else it errors.
     @Override
     public void setBiomeCuboid(
@@ -343,7 +406,25 @@ public abstract class BasicQueueCoordinator extends QueueCoordinator {
         if (disableBiomes) {
             return;
         }
-        super.setBiomeCuboid(pos1, pos2, biome);
+        final int minY = Math.max(world.getMinY(), Math.min(pos1.getY(), pos2.getY()));
+        final int maxY = Math.min(world.getMaxY(), Math.max(pos1.getY(), pos2.getY()));
+        if (minY > maxY) {
+            return;
+        }
+        final int minX = Math.min(pos1.getX(), pos2.getX());
+        final int maxX = Math.max(pos1.getX(), pos2.getX());
+        final int minZ = Math.min(pos1.getZ(), pos2.getZ());
+        final int maxZ = Math.max(pos1.getZ(), pos2.getZ());
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                getChunk(chunkX, chunkZ).setBiomeCuboid(
+                        Math.max(minX, chunkX << 4) & 15, minY, Math.max(minZ, chunkZ << 4) & 15,
+                        Math.min(maxX, (chunkX << 4) + 15) & 15, maxY, Math.min(maxZ, (chunkZ << 4) + 15) & 15,
+                        biome
+                );
+            }
+        }
+        settingBiomes = true;
     }
 
     /**
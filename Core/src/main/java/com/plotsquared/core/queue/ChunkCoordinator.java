@@ -18,8 +18,16 @@
  */
 package com.plotsquared.core.queue;
 
+import com.plotsquared.core.queue.subscriber.ProgressSubscriber;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Collection;
+import java.util.Collections;
+
 public abstract class ChunkCoordinator implements Runnable {
 
+    private QueuePriority priority = QueuePriority.NORMAL;
+
     /**
      * Starts the chunk coordinator. This will usually (implementation-specific-permitting) mark chunks to be loaded in batches,
      * then add them to a queue and apply tickets once loaded to prevent unloading. A repeating task will then iterate over loaded
@@ -48,4 +56,68 @@ public abstract class ChunkCoordinator implements Runnable {
      */
     public abstract int getTotalChunks();
 
+    /**
+     * Called by the {@link GlobalBlockQueue} once the coordinator may run, the tick before it is first processed.
+     * Implementations should only start loading chunks from here on, so coordinators that wait for their turn do not keep
+     * any chunks loaded.
+     *
+     * @since TODO
+     */
+    public void activate() {
+    }
+
+    /**
+     * Process chunks for at most about the given time. Called once per tick by the {@link GlobalBlockQueue} for coordinators
+     * it schedules. The default implementation runs the coordinator once.
+     *
+     * @param allowance time the coordinator may spend in nanoseconds
+     * @return time spent in nanoseconds
+     * @since TODO
+     */
+    public long process(final long allowance) {
+        final long start = System.nanoTime();
+        run();
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Get whether the coordinator has finished or was cancelled, and does not need to be processed anymore.
+     *
+     * @return if the coordinator is finished
+     * @since TODO
+     */
+    public boolean isFinished() {
+        return false;
+    }
+
+    /**
+     * Get the priority of the coordinator's work compared to other running coordinators
+     *
+     * @return the priority
+     * @since TODO
+     */
+    public @NonNull QueuePriority getPriority() {
+        return this.priority;
+    }
+
+    /**
+     * Set the priority of the coordinator's work compared to other running coordinators
+     *
+     * @param priority the priority
+     * @since TODO
+     */
+    public void setPriority(final @NonNull QueuePriority priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * Get the subscribers notified about the progress of the coordinator
+     *
+     * @return progress subscribers
+     * @since TODO
+     */
+    public @NonNull Collection<ProgressSubscriber> getProgressSubscribers() {
+        return Collections.emptyList();
+    }
+
 }
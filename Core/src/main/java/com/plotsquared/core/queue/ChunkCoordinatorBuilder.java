@@ -53,6 +53,7 @@ public class ChunkCoordinatorBuilder {
     private boolean unloadAfter = true;
     private boolean forceSync = false;
     private boolean shouldGen = true;
+    private QueuePriority priority = QueuePriority.NORMAL;
 
     @Inject
     public ChunkCoordinatorBuilder(@NonNull ChunkCoordinatorFactory chunkCoordinatorFactory) {
@@ -217,6 +218,18 @@ public class ChunkCoordinatorBuilder {
         return this;
     }
 
+    /**
+     * Set the priority of the coordinator's work compared to other running coordinators. Default is
+     * {@link QueuePriority#NORMAL}.
+     *
+     * @param priority priority of the coordinator
+     * @since TODO
+     */
+    public @NonNull ChunkCoordinatorBuilder withPriority(final @NonNull QueuePriority priority) {
+        this.priority = Preconditions.checkNotNull(priority, "Priority may not be null");
+        return this;
+    }
+
     public @NonNull ChunkCoordinatorBuilder withProgressSubscriber(ProgressSubscriber progressSubscriber) {
         this.progressSubscribers.add(progressSubscriber);
         return this;
@@ -237,7 +250,7 @@ public class ChunkCoordinatorBuilder {
         Preconditions.checkNotNull(this.chunkConsumer, "No chunk consumer was supplied");
         Preconditions.checkNotNull(this.whenDone, "No final action was supplied");
         Preconditions.checkNotNull(this.throwableConsumer, "No throwable consumer was supplied");
-        return chunkCoordinatorFactory
+        final ChunkCoordinator coordinator = chunkCoordinatorFactory
                 .create(
                         this.maxIterationTime,
                         this.initialBatchSize,
@@ -251,6 +264,8 @@ public class ChunkCoordinatorBuilder {
                         this.forceSync,
                         this.shouldGen
                 );
+        coordinator.setPriority(this.priority);
+        return coordinator;
     }
 
 }
@@ -198,6 +198,23 @@ public class DelegateQueueCoordinator extends QueueCoordinator {
         }
     }
 
+    @Override
+    public @NonNull QueuePriority getPriority() {
+        if (parent != null) {
+            return parent.getPriority();
+        }
+        return super.getPriority();
+    }
+
+    @Override
+    public void setPriority(@NonNull QueuePriority priority) {
+        if (parent != null) {
+            parent.setPriority(priority);
+        } else {
+            super.setPriority(priority);
+        }
+    }
+
     @Override
     public Runnable getCompleteTask() {
         if (parent != null) {
@@ -19,15 +19,53 @@
 package com.plotsquared.core.queue;
 
 import com.plotsquared.core.PlotSquared;
+import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.queue.subscriber.ProgressSubscriber;
+import com.plotsquared.core.util.task.PlotSquaredTask;
+import com.plotsquared.core.util.task.TaskManager;
+import com.plotsquared.core.util.task.TaskTime;
 import com.sk89q.worldedit.world.World;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
 
 public class GlobalBlockQueue {
 
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + GlobalBlockQueue.class.getSimpleName());
+
+    // Scheduler state, only accessed from the main thread
+    private final List<ChunkCoordinator> running = new ArrayList<>();
+    private final PriorityQueue<WaitingCoordinator> waiting = new PriorityQueue<>();
+    private final TickBudget tickBudget;
+    private final AtomicInteger chunkLoads = new AtomicInteger();
     private QueueProvider provider;
+    private PlotSquaredTask task;
+    private long sequence;
+    private int rotation;
 
     public GlobalBlockQueue(@NonNull QueueProvider provider) {
+        this(provider, null);
+    }
+
+    /**
+     * Create a new GlobalBlockQueue
+     *
+     * @param provider         provider of new queues
+     * @param tickTimeSupplier supplier of the server's average time per tick in nanoseconds, or null if the platform does not
+     *                         provide it
+     * @since TODO
+     */
+    public GlobalBlockQueue(@NonNull QueueProvider provider, @Nullable LongSupplier tickTimeSupplier) {
         this.provider = provider;
+        this.tickBudget = new TickBudget(tickTimeSupplier);
     }
 
     /**
@@ -51,4 +89,147 @@ public class GlobalBlockQueue {
         this.provider = provider;
     }
 
+    /**
+     * Schedule a chunk coordinator to be {@link ChunkCoordinator#process(long) processed} every tick until it is finished.
+     * All scheduled coordinators share a single time budget per tick, split by the weight of their
+     * {@link ChunkCoordinator#getPriority() priority}. At most {@link Settings.QUEUE#MAX_ACTIVE_QUEUES} coordinators run at
+     * once; further coordinators wait, ordered by priority and then by the time they were scheduled.
+     *
+     * @param coordinator coordinator to schedule
+     * @since TODO
+     */
+    public void schedule(final @NonNull ChunkCoordinator coordinator) {
+        if (!PlotSquared.get().isMainThread(Thread.currentThread())) {
+            TaskManager.runTask(() -> schedule(coordinator));
+            return;
+        }
+        if (this.running.size() < Settings.QUEUE.MAX_ACTIVE_QUEUES) {
+            this.running.add(coordinator);
+            coordinator.activate();
+        } else {
+            this.waiting.add(new WaitingCoordinator(coordinator, this.sequence++));
+            // Let the subscribers know the work was accepted while it waits
+            for (final ProgressSubscriber subscriber : coordinator.getProgressSubscribers()) {
+                subscriber.notifyProgress(coordinator, 0);
+            }
+        }
+        if (this.task == null) {
+            this.tickBudget.reset();
+            this.task = TaskManager.runTaskRepeat(this::tick, TaskTime.ticks(1));
+        }
+    }
+
+    /**
+     * Reserve up to the given number of chunk loads. The number of chunks loading at the same time for all scheduled
+     * coordinators is limited by {@link Settings.QUEUE#MAX_CHUNK_LOADS}. Every reserved load must be released using
+     * {@link #releaseChunkLoad()} once the chunk has loaded or failed to load.
+     *
+     * @param amount number of chunk loads wanted
+     * @return number of chunk loads reserved, may be 0
+     * @since TODO
+     */
+    public int acquireChunkLoads(final int amount) {
+        while (true) {
+            final int current = this.chunkLoads.get();
+            final int granted = Math.min(amount, Settings.QUEUE.MAX_CHUNK_LOADS - current);
+            if (granted <= 0) {
+                return 0;
+            }
+            if (this.chunkLoads.compareAndSet(current, current + granted)) {
+                return granted;
+            }
+        }
+    }
+
+    /**
+     * Release a chunk load reserved using {@link #acquireChunkLoads(int)}
+     *
+     * @since TODO
+     */
+    public void releaseChunkLoad() {
+        this.chunkLoads.decrementAndGet();
+    }
+
+    /**
+     * Get whether the server currently needs more than 50ms per tick, in which case scheduled coordinators should do less
+     * work at once.
+     *
+     * @return if the server is lagging
+     * @since TODO
+     */
+    public boolean isLagging() {
+        return this.tickBudget.isLagging();
+    }
+
+    private void tick() {
+        this.tickBudget.startTick();
+        this.running.removeIf(ChunkCoordinator::isFinished);
+        if (this.running.isEmpty() && this.waiting.isEmpty()) {
+            this.task.cancel();
+            this.task = null;
+            return;
+        }
+        // Coordinators are processed from the tick after they were activated, giving their first chunks a chance to load
+        final int size = this.running.size();
+        while (this.running.size() < Settings.QUEUE.MAX_ACTIVE_QUEUES && !this.waiting.isEmpty()) {
+            final ChunkCoordinator coordinator = this.waiting.poll().coordinator();
+            this.running.add(coordinator);
+            coordinator.activate();
+        }
+        if (size == 0) {
+            return;
+        }
+        process(this.running.subList(0, size), this.rotation++ % size, this.tickBudget);
+    }
+
+    /**
+     * Process coordinators once, splitting the remaining budget of the tick by the weight of their priorities
+     *
+     * @param coordinators coordinators to process
+     * @param offset       index of the coordinator to run first among those of the same priority
+     * @param tickBudget   budget of the current tick
+     */
+    static void process(
+            final @NonNull List<ChunkCoordinator> coordinators,
+            final int offset,
+            final @NonNull TickBudget tickBudget
+    ) {
+        // Higher priorities run first. Coordinators of the same priority take turns at running first, as the sort is stable
+        final int size = coordinators.size();
+        final List<ChunkCoordinator> order = new ArrayList<>(size);
+        int weights = 0;
+        for (int i = 0; i < size; i++) {
+            final ChunkCoordinator coordinator = coordinators.get((i + offset) % size);
+            order.add(coordinator);
+            weights += coordinator.getPriority().getWeight();
+        }
+        order.sort(Comparator.comparing(ChunkCoordinator::getPriority));
+        for (final ChunkCoordinator coordinator : order) {
+            final int weight = coordinator.getPriority().getWeight();
+            // Time left unused by earlier coordinators goes to the ones after
+            final long allowance = tickBudget.remaining() * weight / weights;
+            weights -= weight;
+            if (allowance <= 0) {
+                continue;
+            }
+            try {
+                tickBudget.consume(coordinator.process(allowance));
+            } catch (final Throwable throwable) {
+                LOGGER.error("Failed to process chunk coordinator, cancelling it", throwable);
+                coordinator.cancel();
+            }
+        }
+    }
+
+    private record WaitingCoordinator(@NonNull ChunkCoordinator coordinator, long sequence)
+            implements Comparable<WaitingCoordinator> {
+
+        @Override
+        public int compareTo(final @NonNull WaitingCoordinator other) {
+            final int result = this.coordinator.getPriority().compareTo(other.coordinator.getPriority());
+            return result != 0 ? result : Long.compare(this.sequence, other.sequence);
+        }
+
+    }
+
 }
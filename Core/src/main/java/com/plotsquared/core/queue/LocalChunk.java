@@ -18,7 +18,6 @@
  */
 package com.plotsquared.core.queue;
 
-import com.plotsquared.core.util.ChunkUtil;
 import com.plotsquared.core.util.MathMan;
 import com.sk89q.jnbt.CompoundTag;
 import com.sk89q.worldedit.entity.BaseEntity;
@@ -27,6 +26,7 @@ import com.sk89q.worldedit.util.Location;
 import com.sk89q.worldedit.world.biome.BiomeType;
 import com.sk89q.worldedit.world.block.BaseBlock;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.HashMap;
 
@@ -37,8 +37,8 @@ public class LocalChunk {
     private final int z;
     private final int minSection;
 
-    private final BaseBlock[][] baseblocks;
-    private final BiomeType[][] biomes;
+    private final PaletteSection<BaseBlock>[] blockSections;
+    private final PaletteSection<BiomeType>[] biomeSections;
     private final HashMap<BlockVector3, CompoundTag> tiles = new HashMap<>();
     private final HashMap<Location, BaseEntity> entities = new HashMap<>();
 
@@ -48,8 +48,13 @@ public class LocalChunk {
         this.z = z;
         this.minSection = parent.getMinLayer();
         int sections = parent.getMaxLayer() - parent.getMinLayer() + 1;
-        baseblocks = new BaseBlock[sections][];
-        biomes = new BiomeType[sections][];
+        blockSections = newSections(sections);
+        biomeSections = newSections(sections);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> PaletteSection<T>[] newSections(int sections) {
+        return (PaletteSection<T>[]) new PaletteSection<?>[sections];
     }
 
     public @NonNull QueueCoordinator getParent() {
@@ -73,12 +78,76 @@ public class LocalChunk {
         return this.minSection;
     }
 
+    /**
+     * Get the blocks of each layer as arrays of 4096 entries, or null for layers without blocks.
+     *
+     * @deprecated Copies every layer, use {@link #getBlockSections()} instead
+     */
+    @Deprecated(since = "TODO")
     public @NonNull BaseBlock[][] getBaseblocks() {
-        return this.baseblocks;
+        BaseBlock[][] baseblocks = new BaseBlock[this.blockSections.length][];
+        for (int i = 0; i < baseblocks.length; i++) {
+            PaletteSection<BaseBlock> section = this.blockSections[i];
+            if (section != null && !section.isEmpty()) {
+                baseblocks[i] = section.toArray(new BaseBlock[4096]);
+            }
+        }
+        return baseblocks;
     }
 
+    /**
+     * Get the biomes of each layer as arrays of 4096 entries, or null for layers without biomes.
+     *
+     * @deprecated Copies every layer, use {@link #getBiomeSections()} instead
+     */
+    @Deprecated(since = "TODO")
     public @NonNull BiomeType[][] getBiomes() {
-        return this.biomes;
+        BiomeType[][] biomes = new BiomeType[this.biomeSections.length][];
+        for (int i = 0; i < biomes.length; i++) {
+            PaletteSection<BiomeType> section = this.biomeSections[i];
+            if (section != null && !section.isEmpty()) {
+                biomes[i] = section.toArray(new BiomeType[4096]);
+            }
+        }
+        return biomes;
+    }
+
+    /**
+     * Get the blocks of each layer, indexed from {@link #getMinSection()}. Layers without blocks may be null.
+     *
+     * @return block sections
+     * @since TODO
+     */
+    public @Nullable PaletteSection<BaseBlock> @NonNull [] getBlockSections() {
+        return this.blockSections;
+    }
+
+    /**
+     * Get the biomes of each layer, indexed from {@link #getMinSection()}. Layers without biomes may be null.
+     *
+     * @return biome sections
+     * @since TODO
+     */
+    public @Nullable PaletteSection<BiomeType> @NonNull [] getBiomeSections() {
+        return this.biomeSections;
+    }
+
+    /**
+     * Get the block set at a position.
+     *
+     * @param x chunk relative x, 0-15
+     * @param y world y
+     * @param z chunk relative z, 0-15
+     * @return the block, or null if none is set
+     * @since TODO
+     */
+    public @Nullable BaseBlock getBlock(final int x, final int y, final int z) {
+        final int i = getLayerIndex(y);
+        if (i < 0 || i >= this.blockSections.length) {
+            return null;
+        }
+        final PaletteSection<BaseBlock> section = this.blockSections[i];
+        return section == null ? null : section.get(x, y, z);
     }
 
     public @NonNull HashMap<BlockVector3, CompoundTag> getTiles() {
@@ -87,12 +156,11 @@ public class LocalChunk {
 
     public void setBiome(final int x, final int y, final int z, final @NonNull BiomeType biomeType) {
         final int i = getLayerIndex(y);
-        final int j = ChunkUtil.getJ(x, y, z);
-        BiomeType[] array = this.biomes[i];
-        if (array == null) {
-            array = this.biomes[i] = new BiomeType[4096];
+        PaletteSection<BiomeType> section = this.biomeSections[i];
+        if (section == null) {
+            section = this.biomeSections[i] = new PaletteSection<>();
         }
-        array[j] = biomeType;
+        section.set(x, y, z, biomeType);
     }
 
     @Override
@@ -102,12 +170,85 @@ public class LocalChunk {
 
     public void setBlock(final int x, final int y, final int z, final @NonNull BaseBlock baseBlock) {
         final int i = getLayerIndex(y);
-        final int j = ChunkUtil.getJ(x, y, z);
-        BaseBlock[] array = baseblocks[i];
-        if (array == null) {
-            array = (baseblocks[i] = new BaseBlock[4096]);
+        PaletteSection<BaseBlock> section = blockSections[i];
+        if (section == null) {
+            section = (blockSections[i] = new PaletteSection<>());
+        }
+        section.set(x, y, z, baseBlock);
+    }
+
+    /**
+     * Set all blocks within a cuboid. Layers covered completely only store the block once.
+     *
+     * @param minX      chunk relative min x, 0-15
+     * @param minY      world min y
+     * @param minZ      chunk relative min z, 0-15
+     * @param maxX      chunk relative max x, 0-15
+     * @param maxY      world max y
+     * @param maxZ      chunk relative max z, 0-15
+     * @param baseBlock block to set
+     * @since TODO
+     */
+    public void setCuboid(
+            final int minX, final int minY, final int minZ,
+            final int maxX, final int maxY, final int maxZ,
+            final @NonNull BaseBlock baseBlock
+    ) {
+        fill(this.blockSections, minX, minY, minZ, maxX, maxY, maxZ, baseBlock);
+    }
+
+    /**
+     * Set every block of a layer. The layer is stored as a single block until it is modified otherwise.
+     *
+     * @param layer     layer, the world y shifted right by 4
+     * @param baseBlock block to set
+     * @since TODO
+     */
+    public void setSection(final int layer, final @NonNull BaseBlock baseBlock) {
+        final int i = layer - minSection;
+        PaletteSection<BaseBlock> section = blockSections[i];
+        if (section == null) {
+            section = (blockSections[i] = new PaletteSection<>());
+        }
+        section.fill(baseBlock);
+    }
+
+    /**
+     * Set all biomes within a cuboid. Layers covered completely only store the biome once.
+     *
+     * @param minX      chunk relative min x, 0-15
+     * @param minY      world min y
+     * @param minZ      chunk relative min z, 0-15
+     * @param maxX      chunk relative max x, 0-15
+     * @param maxY      world max y
+     * @param maxZ      chunk relative max z, 0-15
+     * @param biomeType biome to set
+     * @since TODO
+     */
+    public void setBiomeCuboid(
+            final int minX, final int minY, final int minZ,
+            final int maxX, final int maxY, final int maxZ,
+            final @NonNull BiomeType biomeType
+    ) {
+        fill(this.biomeSections, minX, minY, minZ, maxX, maxY, maxZ, biomeType);
+    }
+
+    private <T> void fill(
+            final @Nullable PaletteSection<T> @NonNull [] sections,
+            final int minX, final int minY, final int minZ,
+            final int maxX, final int maxY, final int maxZ,
+            final @NonNull T value
+    ) {
+        for (int layer = minY >> 4; layer <= maxY >> 4; layer++) {
+            final int i = layer - minSection;
+            PaletteSection<T> section = sections[i];
+            if (section == null) {
+                section = (sections[i] = new PaletteSection<>());
+            }
+            final int layerMinY = layer == minY >> 4 ? minY & 15 : 0;
+            final int layerMaxY = layer == maxY >> 4 ? maxY & 15 : 15;
+            section.fill(minX, layerMinY, minZ, maxX, layerMaxY, maxZ, value);
         }
-        array[j] = baseBlock;
     }
 
     public void setTile(final int x, final int y, final int z, final @NonNull CompoundTag tag) {
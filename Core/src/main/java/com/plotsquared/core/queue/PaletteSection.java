@@ -0,0 +1,294 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import com.plotsquared.core.util.ChunkUtil;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * A 16x16x16 section of values, stored as indices into a palette of the distinct values in the section.
+ * <p>
+ * Indices are packed into longs using as few bits as the palette allows, and a section holding a single
+ * value (e.g. after {@link #fill(Object)}) only stores that value. Unset entries are {@code null}.
+ * Entries are indexed like {@link ChunkUtil#getJ(int, int, int)}. Not thread safe.
+ *
+ * @param <T> value type
+ * @since TODO
+ */
+public final class PaletteSection<T> {
+
+    private static final int SIZE = 4096;
+    // Palettes up to this size are searched linearly
+    private static final int LINEAR_PALETTE = 16;
+
+    /**
+     * Distinct values, where index 0 is always {@code null}
+     */
+    private Object[] palette = new Object[]{null, null};
+    private int paletteSize = 1;
+    private @Nullable HashMap<Object, Integer> paletteIndex;
+    /**
+     * Packed palette indices, or null if every entry has the index {@link #uniformIndex}
+     */
+    private long @Nullable [] data;
+    private int uniformIndex;
+    private int bits;
+    private int entriesPerLong;
+    private int count;
+
+    /**
+     * Get the value at an index.
+     *
+     * @param j index, see {@link ChunkUtil#getJ(int, int, int)}
+     * @return the value or null if unset
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable T get(final int j) {
+        if (this.data == null) {
+            return (T) this.palette[this.uniformIndex];
+        }
+        return (T) this.palette[getIndex(j)];
+    }
+
+    /**
+     * Get the value at a position within the section.
+     *
+     * @param x x position, 0-15
+     * @param y y position, only the lowest four bits are used
+     * @param z z position, 0-15
+     * @return the value or null if unset
+     */
+    public @Nullable T get(final int x, final int y, final int z) {
+        return get(ChunkUtil.getJ(x, y, z));
+    }
+
+    /**
+     * Set the value at an index.
+     *
+     * @param j     index, see {@link ChunkUtil#getJ(int, int, int)}
+     * @param value the value, or null to unset the entry
+     */
+    public void set(final int j, final @Nullable T value) {
+        final int index = indexOf(value);
+        if (this.data == null) {
+            if (index == this.uniformIndex) {
+                return;
+            }
+            inflate();
+        }
+        final int previous = getIndex(j);
+        if (previous == index) {
+            return;
+        }
+        if (previous == 0) {
+            this.count++;
+        } else if (index == 0) {
+            this.count--;
+        }
+        setIndex(j, index);
+    }
+
+    /**
+     * Set the value at a position within the section.
+     *
+     * @param x     x position, 0-15
+     * @param y     y position, only the lowest four bits are used
+     * @param z     z position, 0-15
+     * @param value the value, or null to unset the entry
+     */
+    public void set(final int x, final int y, final int z, final @Nullable T value) {
+        set(ChunkUtil.getJ(x, y, z), value);
+    }
+
+    /**
+     * Set every entry of the section to the same value, discarding the previous palette.
+     *
+     * @param value the value, or null to unset all entries
+     */
+    public void fill(final @Nullable T value) {
+        this.palette = new Object[]{null, value};
+        this.paletteSize = value == null ? 1 : 2;
+        this.paletteIndex = null;
+        this.data = null;
+        this.uniformIndex = value == null ? 0 : 1;
+        this.bits = 0;
+        this.entriesPerLong = 0;
+        this.count = value == null ? 0 : SIZE;
+    }
+
+    /**
+     * Set every entry within the given bounds (inclusive, relative to the section) to the same value.
+     *
+     * @param minX  min x, 0-15
+     * @param minY  min y, 0-15
+     * @param minZ  min z, 0-15
+     * @param maxX  max x, 0-15
+     * @param maxY  max y, 0-15
+     * @param maxZ  max z, 0-15
+     * @param value the value, or null to unset the entries
+     */
+    public void fill(
+            final int minX, final int minY, final int minZ,
+            final int maxX, final int maxY, final int maxZ,
+            final @Nullable T value
+    ) {
+        if (minX == 0 && minY == 0 && minZ == 0 && maxX == 15 && maxY == 15 && maxZ == 15) {
+            fill(value);
+            return;
+        }
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    set(ChunkUtil.getJ(x, y, z), value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get whether no entry of the section is set.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return this.count == 0;
+    }
+
+    /**
+     * Get whether every entry of the section is set to the same value, as after {@link #fill(Object)}.
+     * A section is not reported uniform once it has been modified entry by entry.
+     *
+     * @return true if uniform and not empty
+     */
+    public boolean isUniform() {
+        return this.data == null && this.uniformIndex != 0;
+    }
+
+    /**
+     * Copy the section into an array of 4096 entries.
+     *
+     * @param array array to copy into
+     * @return the given array
+     */
+    @SuppressWarnings("unchecked")
+    public T @NonNull [] toArray(final T @NonNull [] array) {
+        if (this.data == null) {
+            Arrays.fill(array, 0, SIZE, (T) this.palette[this.uniformIndex]);
+            return array;
+        }
+        for (int j = 0; j < SIZE; j++) {
+            array[j] = (T) this.palette[getIndex(j)];
+        }
+        return array;
+    }
+
+    private int indexOf(final @Nullable Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (this.paletteIndex != null) {
+            final Integer index = this.paletteIndex.get(value);
+            if (index != null) {
+                return index;
+            }
+        } else {
+            for (int i = 1; i < this.paletteSize; i++) {
+                final Object current = this.palette[i];
+                if (current == value || current.equals(value)) {
+                    return i;
+                }
+            }
+        }
+        return addToPalette(value);
+    }
+
+    private int addToPalette(final @NonNull Object value) {
+        final int index = this.paletteSize++;
+        if (index == this.palette.length) {
+            this.palette = Arrays.copyOf(this.palette, index * 2);
+        }
+        this.palette[index] = value;
+        if (this.paletteIndex != null) {
+            this.paletteIndex.put(value, index);
+        } else if (this.paletteSize > LINEAR_PALETTE) {
+            this.paletteIndex = new HashMap<>();
+            for (int i = 1; i < this.paletteSize; i++) {
+                this.paletteIndex.put(this.palette[i], i);
+            }
+        }
+        if (this.data != null && index >= 1 << this.bits) {
+            resize(this.bits + 1);
+        }
+        return index;
+    }
+
+    /**
+     * Switch from the uniform representation to packed indices.
+     */
+    private void inflate() {
+        // The palette already contains the value about to be set
+        resize(Math.max(1, 32 - Integer.numberOfLeadingZeros(this.paletteSize - 1)), this.uniformIndex);
+    }
+
+    private void resize(final int bits) {
+        resize(bits, -1);
+    }
+
+    private void resize(final int bits, final int uniform) {
+        final long[] previous = this.data;
+        final int previousBits = this.bits;
+        final int previousEntriesPerLong = this.entriesPerLong;
+        this.bits = bits;
+        this.entriesPerLong = 64 / bits;
+        this.data = new long[(SIZE + this.entriesPerLong - 1) / this.entriesPerLong];
+        if (previous == null) {
+            if (uniform != 0) {
+                for (int j = 0; j < SIZE; j++) {
+                    setIndex(j, uniform);
+                }
+            }
+            return;
+        }
+        final long mask = (1L << previousBits) - 1;
+        for (int j = 0; j < SIZE; j++) {
+            final long word = previous[j / previousEntriesPerLong];
+            final int index = (int) (word >>> (j % previousEntriesPerLong) * previousBits & mask);
+            if (index != 0) {
+                setIndex(j, index);
+            }
+        }
+    }
+
+    private int getIndex(final int j) {
+        final long word = this.data[j / this.entriesPerLong];
+        return (int) (word >>> (j % this.entriesPerLong) * this.bits & (1L << this.bits) - 1);
+    }
+
+    private void setIndex(final int j, final int index) {
+        final int offset = (j % this.entriesPerLong) * this.bits;
+        final long mask = ((1L << this.bits) - 1) << offset;
+        final int word = j / this.entriesPerLong;
+        this.data[word] = this.data[word] & ~mask | (long) index << offset;
+    }
+
+}
@@ -46,6 +46,7 @@ public abstract class QueueCoordinator {
     private final AtomicBoolean enqueued = new AtomicBoolean();
     private boolean forceSync = false;
     private boolean shouldGen = true;
+    private QueuePriority priority = QueuePriority.NORMAL;
     @Nullable
     private Object chunkObject;
     @SuppressWarnings({"unused", "FieldCanBeLocal"})
@@ -135,6 +136,26 @@ public abstract class QueueCoordinator {
         this.shouldGen = shouldGen;
     }
 
+    /**
+     * Get the priority of the queue's chunk work compared to other running queues. Default is {@link QueuePriority#NORMAL}.
+     *
+     * @return the priority
+     * @since TODO
+     */
+    public @NonNull QueuePriority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Set the priority of the queue's chunk work compared to other running queues. Must be set before the queue is enqueued.
+     *
+     * @param priority the priority
+     * @since TODO
+     */
+    public void setPriority(@NonNull QueuePriority priority) {
+        this.priority = priority;
+    }
+
     /**
      * Get the Chunk Object set to the queue
      *
@@ -483,6 +504,29 @@ public abstract class QueueCoordinator {
         }
     }
 
+    /**
+     * Fill a complete chunk section (16x16x16 blocks) with a BlockState. Implementations may store the section as a single
+     * entry and apply it to the world at once, which is much cheaper than setting each block.
+     *
+     * @param chunkX x coordinate of the chunk
+     * @param chunkZ z coordinate of the chunk
+     * @param layer  layer of the section, the world y coordinate shifted right by 4
+     * @param block  block to fill
+     * @since TODO
+     */
+    public void setSection(int chunkX, int chunkZ, int layer, @NonNull BlockState block) {
+        int xMin = chunkX << 4;
+        int yMin = layer << 4;
+        int zMin = chunkZ << 4;
+        for (int y = yMin; y < yMin + 16; y++) {
+            for (int x = xMin; x < xMin + 16; x++) {
+                for (int z = zMin; z < zMin + 16; z++) {
+                    setBlock(x, y, z, block);
+                }
+            }
+        }
+    }
+
     /**
      * Fill a cuboid between two positions with a BiomeType
      *
@@ -0,0 +1,57 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+/**
+ * Priority of a queue's chunk work when several queues run at the same time. Queues of a higher priority are started
+ * first and get a larger share of the time per tick, but lower priorities still make progress.
+ *
+ * @since TODO
+ */
+public enum QueuePriority {
+
+    /**
+     * Work started by staff, such as clearing other players' plots or regenerating roads
+     */
+    HIGH(4),
+    /**
+     * Work started by players, the default
+     */
+    NORMAL(2),
+    /**
+     * Background work, such as clearing expired plots
+     */
+    LOW(1);
+
+    private final int weight;
+
+    QueuePriority(final int weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * Get the share of time per tick relative to other priorities
+     *
+     * @return the weight
+     */
+    public int getWeight() {
+        return this.weight;
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import com.plotsquared.core.configuration.Settings;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Time budget per server tick for the chunk work of all running queues. The budget is capped by
+ * {@link Settings.QUEUE#MAX_ITERATION_TIME} and shrinks to the time the server has left over in a tick, so that running
+ * queues do not push the tick time over 50ms. Must only be used from the main thread.
+ */
+final class TickBudget {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long MIN_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    // Ticks are only counted as lagging once they run this much longer than 50ms
+    private static final long LAG_TOLERANCE_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    private final @Nullable LongSupplier tickTimeSupplier;
+    private long tickStart;
+    private long tickInterval = TICK_NANOS;
+    private long averageSpent;
+    private long spent;
+    private long budget = MIN_BUDGET_NANOS;
+
+    /**
+     * @param tickTimeSupplier supplier of the average time the server needs for a tick in nanoseconds, or null to estimate
+     *                         it from the time between ticks
+     */
+    TickBudget(final @Nullable LongSupplier tickTimeSupplier) {
+        this.tickTimeSupplier = tickTimeSupplier;
+    }
+
+    /**
+     * Reset the measurements, when the budget is used again after not being used for some ticks
+     */
+    void reset() {
+        this.tickStart = System.nanoTime();
+        this.tickInterval = TICK_NANOS;
+        this.averageSpent = 0;
+        this.spent = 0;
+    }
+
+    /**
+     * Start the budget of a new tick. Must be called once per tick.
+     */
+    void startTick() {
+        final long now = System.nanoTime();
+        this.tickInterval = (this.tickInterval * 3 + (now - this.tickStart)) / 4;
+        this.tickStart = now;
+        this.averageSpent = (this.averageSpent * 3 + this.spent) / 4;
+        this.spent = 0;
+        this.budget = computeBudget();
+    }
+
+    /**
+     * Get the time in nanoseconds left in the budget of the current tick
+     */
+    long remaining() {
+        return Math.max(0, this.budget - this.spent);
+    }
+
+    /**
+     * Record time spent in the current tick
+     *
+     * @param nanos spent time in nanoseconds
+     */
+    void consume(final long nanos) {
+        this.spent += nanos;
+    }
+
+    /**
+     * Get whether the server currently needs more than 50ms per tick
+     */
+    boolean isLagging() {
+        return getTickTime() > TICK_NANOS + LAG_TOLERANCE_NANOS;
+    }
+
+    private long computeBudget() {
+        final long max = TimeUnit.MILLISECONDS.toNanos(Settings.QUEUE.MAX_ITERATION_TIME);
+        final long tickTime = getTickTime();
+        if (this.tickTimeSupplier == null && tickTime <= TICK_NANOS + LAG_TOLERANCE_NANOS) {
+            // Without the actual tick time the free time of a tick is unknown, as ticks are spaced 50ms apart unless lagging
+            return max;
+        }
+        // Time of a tick the server needs for everything except the queues
+        final long other = Math.max(0, tickTime - this.averageSpent);
+        return Math.max(MIN_BUDGET_NANOS, Math.min(max, TICK_NANOS - other));
+    }
+
+    private long getTickTime() {
+        if (this.tickTimeSupplier != null) {
+            return this.tickTimeSupplier.getAsLong();
+        }
+        return this.tickInterval;
+    }
+
+}
@@ -101,6 +101,27 @@ public class ZeroedDelegateScopedQueueCoordinator extends DelegateQueueCoordinat
         return x >= 0 && x <= dx && z >= 0 && z <= dz && super.setBlock(x + minX, y, z + minZ, pattern);
     }
 
+    @Override
+    public void setCuboid(@NonNull Location pos1, @NonNull Location pos2, @NonNull BlockState block) {
+        if (getParent() == null) {
+            super.setCuboid(pos1, pos2, block);
+            return;
+        }
+        int xMin = Math.max(Math.min(pos1.getX(), pos2.getX()), 0);
+        int xMax = Math.min(Math.max(pos1.getX(), pos2.getX()), dx);
+        int zMin = Math.max(Math.min(pos1.getZ(), pos2.getZ()), 0);
+        int zMax = Math.min(Math.max(pos1.getZ(), pos2.getZ()), dz);
+        if (xMin > xMax || zMin > zMax) {
+            return;
+        }
+        // Let the parent fill the cuboid at once rather than setting each block through this queue
+        getParent().setCuboid(
+                Location.at(min.getWorldName(), xMin + minX, Math.min(pos1.getY(), pos2.getY()), zMin + minZ),
+                Location.at(min.getWorldName(), xMax + minX, Math.max(pos1.getY(), pos2.getY()), zMax + minZ),
+                block
+        );
+    }
+
     @Override
     public boolean setTile(int x, int y, int z, @NonNull CompoundTag tag) {
         return x >= 0 && x <= dx && z >= 0 && z <= dz && super.setTile(x + minX, y, z + minZ, tag);
@@ -79,10 +79,10 @@ public abstract class ChunkManager {
      * @since 7.0.0
      */
     public static boolean preProcessChunk(BlockVector2 loc, ZeroedDelegateScopedQueueCoordinator queue) {
-        final RunnableVal<ZeroedDelegateScopedQueueCoordinator> forceChunk = forceChunks.get(loc);
+        // Removed up front, as chunks may be generated by several threads at once
+        final RunnableVal<ZeroedDelegateScopedQueueCoordinator> forceChunk = forceChunks.remove(loc);
         if (forceChunk != null) {
             forceChunk.run(queue);
-            forceChunks.remove(loc);
             return true;
         }
         return false;
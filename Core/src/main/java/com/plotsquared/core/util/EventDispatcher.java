@@ -74,7 +74,7 @@ import com.plotsquared.core.plot.flag.implementations.MobPlaceFlag;
 import com.plotsquared.core.plot.flag.implementations.PlaceFlag;
 import com.plotsquared.core.plot.flag.implementations.UseFlag;
 import com.plotsquared.core.plot.flag.implementations.VehiclePlaceFlag;
-import com.plotsquared.core.plot.flag.types.BlockTypeWrapper;
+import com.plotsquared.core.plot.flag.types.BlockTypeMatcher;
 import com.plotsquared.core.plot.world.SinglePlotArea;
 import com.plotsquared.core.util.task.TaskManager;
 import com.sk89q.worldedit.WorldEdit;
@@ -400,23 +400,18 @@ public class EventDispatcher {
             }
             case INTERACT_BLOCK -> {
                 if (plot == null) {
-                    final List<BlockTypeWrapper> use = area.getRoadFlag(UseFlag.class);
-                    for (final BlockTypeWrapper blockTypeWrapper : use) {
-                        if (blockTypeWrapper.accepts(BlockTypes.AIR) || blockTypeWrapper.accepts(blockType)) {
-                            return true;
-                        }
+                    final BlockTypeMatcher use = area.getRoadFlagContainer().getFlag(UseFlag.class).getMatcher();
+                    if (use.accepts(BlockTypes.AIR) || use.accepts(blockType)) {
+                        return true;
                     }
                     return player.hasPermission(Permission.PERMISSION_ADMIN_INTERACT_ROAD, notifyPerms);
                 }
                 if (!plot.hasOwner()) {
                     return player.hasPermission(Permission.PERMISSION_ADMIN_INTERACT_UNOWNED, notifyPerms);
                 }
-                final List<BlockTypeWrapper> use = plot.getFlag(UseFlag.class);
-                for (final BlockTypeWrapper blockTypeWrapper : use) {
-                    if (blockTypeWrapper.accepts(BlockTypes.AIR) || blockTypeWrapper
-                            .accepts(blockType)) {
-                        return true;
-                    }
+                final BlockTypeMatcher use = plot.getFlagContainer().getFlag(UseFlag.class).getMatcher();
+                if (use.accepts(BlockTypes.AIR) || use.accepts(blockType)) {
+                    return true;
                 }
                 if (player.hasPermission(Permission.PERMISSION_ADMIN_INTERACT_OTHER, false)) {
                     return true;
@@ -437,11 +432,9 @@ public class EventDispatcher {
             }
             case TRIGGER_PHYSICAL -> {
                 if (plot == null) {
-                    final List<BlockTypeWrapper> use = area.getRoadFlag(UseFlag.class);
-                    for (final BlockTypeWrapper blockTypeWrapper : use) {
-                        if (blockTypeWrapper.accepts(BlockTypes.AIR) || blockTypeWrapper.accepts(blockType)) {
-                            return true;
-                        }
+                    final BlockTypeMatcher use = area.getRoadFlagContainer().getFlag(UseFlag.class).getMatcher();
+                    if (use.accepts(BlockTypes.AIR) || use.accepts(blockType)) {
+                        return true;
                     }
                     return player.hasPermission(Permission.PERMISSION_ADMIN_INTERACT_ROAD, false);
                 }
@@ -451,12 +444,9 @@ public class EventDispatcher {
                 if (plot.getFlag(DeviceInteractFlag.class)) {
                     return true;
                 }
-                List<BlockTypeWrapper> use = plot.getFlag(UseFlag.class);
-                for (final BlockTypeWrapper blockTypeWrapper : use) {
-                    if (blockTypeWrapper.accepts(BlockTypes.AIR) || blockTypeWrapper
-                            .accepts(blockType)) {
-                        return true;
-                    }
+                final BlockTypeMatcher use = plot.getFlagContainer().getFlag(UseFlag.class).getMatcher();
+                if (use.accepts(BlockTypes.AIR) || use.accepts(blockType)) {
+                    return true;
                 }
                 return player.hasPermission(Permission.PERMISSION_ADMIN_INTERACT_OTHER, false);
             }
@@ -470,12 +460,9 @@ public class EventDispatcher {
                 if (plot.getFlag(MobPlaceFlag.class)) {
                     return true;
                 }
-                List<BlockTypeWrapper> place = plot.getFlag(PlaceFlag.class);
-                for (final BlockTypeWrapper blockTypeWrapper : place) {
-                    if (blockTypeWrapper.accepts(BlockTypes.AIR) || blockTypeWrapper
-                            .accepts(blockType)) {
-                        return true;
-                    }
+                final BlockTypeMatcher place = plot.getFlagContainer().getFlag(PlaceFlag.class).getMatcher();
+                if (place.accepts(BlockTypes.AIR) || place.accepts(blockType)) {
+                    return true;
                 }
                 if (player.hasPermission(Permission.PERMISSION_ADMIN_INTERACT_OTHER, false)) {
                     return true;
@@ -505,12 +492,9 @@ public class EventDispatcher {
                 if (plot.getFlag(MiscPlaceFlag.class)) {
                     return true;
                 }
-                List<BlockTypeWrapper> place = plot.getFlag(PlaceFlag.class);
-                for (final BlockTypeWrapper blockTypeWrapper : place) {
-                    if (blockTypeWrapper.accepts(BlockTypes.AIR) || blockTypeWrapper
-                            .accepts(blockType)) {
-                        return true;
-                    }
+                final BlockTypeMatcher place = plot.getFlagContainer().getFlag(PlaceFlag.class).getMatcher();
+                if (place.accepts(BlockTypes.AIR) || place.accepts(blockType)) {
+                    return true;
                 }
                 if (player.hasPermission(Permission.PERMISSION_ADMIN_INTERACT_OTHER, false)) {
                     return true;
@@ -29,6 +29,7 @@ import com.plotsquared.core.player.ConsolePlayer;
 import com.plotsquared.core.player.OfflinePlotPlayer;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.uuid.UUIDMapping;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.ComponentLike;
@@ -268,9 +269,7 @@ public abstract class PlayerManager<P extends PlotPlayer<? extends T>, T> {
      * @param plotPlayer Player to remove
      */
     public void removePlayer(final @NonNull PlotPlayer<?> plotPlayer) {
-        synchronized (playerLock) {
-            this.playerMap.remove(plotPlayer.getUUID());
-        }
+        removePlayer(plotPlayer.getUUID());
     }
 
     /**
@@ -279,8 +278,26 @@ public abstract class PlayerManager<P extends PlotPlayer<? extends T>, T> {
      * @param uuid Player to remove
      */
     public void removePlayer(final @NonNull UUID uuid) {
+        final boolean removed;
         synchronized (playerLock) {
-            this.playerMap.remove(uuid);
+            removed = this.playerMap.remove(uuid) != null;
+        }
+        if (removed) {
+            updateOwnedPlots(uuid);
+        }
+    }
+
+    /**
+     * Update the plots owned by a player that joined or left the server, as their online owners and
+     * therefore their added members changed.
+     *
+     * @param uuid Player that joined or left
+     */
+    private void updateOwnedPlots(final @NonNull UUID uuid) {
+        for (final PlotArea area : PlotSquared.get().getPlotAreaManager().getAllPlotAreas()) {
+            for (final Plot plot : area.getPlotsAbs(uuid)) {
+                plot.updateOnlineOwners();
+            }
         }
     }
 
@@ -330,14 +347,17 @@ public abstract class PlayerManager<P extends PlotPlayer<? extends T>, T> {
      * @return Player object
      */
     public @NonNull P getPlayer(final @NonNull UUID uuid) {
+        P player;
         synchronized (playerLock) {
-            P player = this.playerMap.get(uuid);
-            if (player == null) {
-                player = createPlayer(uuid);
-                this.playerMap.put(uuid, player);
+            player = this.playerMap.get(uuid);
+            if (player != null) {
+                return player;
             }
-            return player;
+            player = createPlayer(uuid);
+            this.playerMap.put(uuid, player);
         }
+        updateOwnedPlots(uuid);
+        return player;
     }
 
     public @NonNull
@@ -20,6 +20,7 @@ package com.plotsquared.core.util.query;
 
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.Collection;
 import java.util.LinkedList;
@@ -42,4 +43,13 @@ class AreaLimitedPlotProvider implements PlotProvider {
         return plots;
     }
 
+    @Override
+    public Collection<Plot> getPlots(final @NonNull Collection<PlotFilter> filters) {
+        final List<Plot> plots = new LinkedList<>();
+        for (final PlotArea area : areas) {
+            plots.addAll(PlotProvider.getCandidates(area, filters));
+        }
+        return plots;
+    }
+
 }
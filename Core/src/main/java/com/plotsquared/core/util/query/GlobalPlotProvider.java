@@ -44,4 +44,13 @@ class GlobalPlotProvider implements PlotProvider {
         return plots;
     }
 
+    @Override
+    public Collection<Plot> getPlots(final @NonNull Collection<PlotFilter> filters) {
+        final List<Plot> plots = new ArrayList<>();
+        for (final PlotArea plotArea : this.plotAreaManager.getAllPlotAreas()) {
+            plots.addAll(PlotProvider.getCandidates(plotArea, filters));
+        }
+        return plots;
+    }
+
 }
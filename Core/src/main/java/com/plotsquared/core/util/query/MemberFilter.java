@@ -18,9 +18,15 @@
  */
 package com.plotsquared.core.util.query;
 
+import com.plotsquared.core.database.DBFunc;
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
 class MemberFilter implements PlotFilter {
@@ -37,4 +43,34 @@ class MemberFilter implements PlotFilter {
         return plot.isAdded(uuid);
     }
 
+    @Override
+    public @Nullable Collection<Plot> getCandidates(final @NonNull PlotArea area) {
+        return getAddedCandidates(area, this.uuid);
+    }
+
+    /**
+     * Get the plots in an area for which {@link Plot#isAdded(UUID)} or {@link Plot#isOwner(UUID)} may
+     * hold for the given player, i.e. plots connected to a plot they own and plots that trust or
+     * add them or everyone.
+     *
+     * @param area Area to get the plots from
+     * @param uuid Player UUID
+     * @return Candidate plots, or {@code null} if the area indices cannot be used for the UUID
+     */
+    static @Nullable Set<Plot> getAddedCandidates(final @NonNull PlotArea area, final @NonNull UUID uuid) {
+        if (DBFunc.SERVER.equals(uuid)) {
+            // Server plots are determined by flag rather than by the stored owner
+            return null;
+        }
+        final Set<Plot> candidates = new HashSet<>();
+        for (final Plot plot : area.getPlotsAbs(uuid)) {
+            candidates.addAll(plot.getConnectedPlots());
+        }
+        candidates.addAll(area.getTrustedPlots(uuid));
+        candidates.addAll(area.getMemberPlots(uuid));
+        candidates.addAll(area.getTrustedPlots(DBFunc.EVERYONE));
+        candidates.addAll(area.getMemberPlots(DBFunc.EVERYONE));
+        return candidates;
+    }
+
 }
@@ -19,8 +19,10 @@
 package com.plotsquared.core.util.query;
 
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.Collection;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -37,4 +39,9 @@ class OwnerFilter implements PlotFilter {
         return plot.hasOwner() && Objects.equals(plot.getOwnerAbs(), this.owner);
     }
 
+    @Override
+    public @NonNull Collection<Plot> getCandidates(final @NonNull PlotArea area) {
+        return area.getPlotsAbs(this.owner);
+    }
+
 }
@@ -19,8 +19,10 @@
 package com.plotsquared.core.util.query;
 
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.Collection;
 import java.util.UUID;
 
 class OwnersIncludeFilter implements PlotFilter {
@@ -36,4 +38,9 @@ class OwnersIncludeFilter implements PlotFilter {
         return plot.isBasePlot() && plot.getOwners().size() > 0 && plot.getOwners().contains(owner);
     }
 
+    @Override
+    public @NonNull Collection<Plot> getCandidates(final @NonNull PlotArea area) {
+        return area.getPlots(this.owner);
+    }
+
 }
@@ -19,8 +19,11 @@
 package com.plotsquared.core.util.query;
 
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.Collection;
 import java.util.function.Predicate;
 
 @FunctionalInterface
@@ -33,4 +36,16 @@ interface PlotFilter extends Predicate<Plot> {
 
     boolean accepts(final @NonNull Plot plot);
 
+    /**
+     * Get the plots in the given area that may be accepted by this filter, using the
+     * indices maintained by the area. The result may contain plots that are not accepted
+     * by the filter, but must contain every plot that is.
+     *
+     * @param area Area to get the plots from
+     * @return Candidate plots, or {@code null} if the filter cannot make use of an index
+     */
+    default @Nullable Collection<Plot> getCandidates(final @NonNull PlotArea area) {
+        return null;
+    }
+
 }
@@ -19,6 +19,8 @@
 package com.plotsquared.core.util.query;
 
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.Collection;
 
@@ -27,4 +29,36 @@ interface PlotProvider {
 
     Collection<Plot> getPlots();
 
+    /**
+     * Get the plots that may pass the given filters. Providers backed by plot areas
+     * may use {@link PlotFilter#getCandidates(PlotArea)} to avoid visiting every plot.
+     *
+     * @param filters Filters that will be applied to the result
+     * @return Plots that may pass the filters
+     */
+    default Collection<Plot> getPlots(final @NonNull Collection<PlotFilter> filters) {
+        return getPlots();
+    }
+
+    /**
+     * Get the plots of an area that may pass the given filters, using the first filter
+     * that can provide candidates from the area indices.
+     *
+     * @param area    Area to get the plots from
+     * @param filters Filters that will be applied to the result
+     * @return Plots that may pass the filters
+     */
+    static @NonNull Collection<Plot> getCandidates(
+            final @NonNull PlotArea area,
+            final @NonNull Collection<PlotFilter> filters
+    ) {
+        for (final PlotFilter filter : filters) {
+            final Collection<Plot> candidates = filter.getCandidates(area);
+            if (candidates != null) {
+                return candidates;
+            }
+        }
+        return area.getPlots();
+    }
+
 }
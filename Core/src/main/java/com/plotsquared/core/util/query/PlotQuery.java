@@ -320,7 +320,7 @@ public final class PlotQuery implements Iterable<Plot> {
         if (this.filters.isEmpty()) {
             result = new ArrayList<>(this.plotProvider.getPlots());
         } else {
-            final Collection<Plot> plots = this.plotProvider.getPlots();
+            final Collection<Plot> plots = this.plotProvider.getPlots(this.filters);
             result = new ArrayList<>(plots.size());
             outer:
             for (final Plot plot : plots) {
@@ -430,7 +430,7 @@ public final class PlotQuery implements Iterable<Plot> {
         if (this.filters.isEmpty()) {
             return !this.plotProvider.getPlots().isEmpty();
         } else {
-            final Collection<Plot> plots = this.plotProvider.getPlots();
+            final Collection<Plot> plots = this.plotProvider.getPlots(this.filters);
             outer:
             for (final Plot plot : plots) {
                 // a plot must pass all filters to match the criteria
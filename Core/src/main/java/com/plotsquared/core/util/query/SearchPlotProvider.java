@@ -24,10 +24,13 @@ import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotId;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -74,7 +77,7 @@ class SearchPlotProvider implements PlotProvider {
 
         PlotArea area = null;
         String alias = null;
-        for (Plot plot : PlotQuery.newQuery().allPlots()) {
+        for (Plot plot : getCandidates(uuids, id)) {
             int count = 0;
             if (!uuids.isEmpty()) {
                 for (UUID uuid : uuids) {
@@ -110,6 +113,35 @@ class SearchPlotProvider implements PlotProvider {
         return plots;
     }
 
+    /**
+     * Get the plots that may match any of the given search terms, using the area indices
+     * where possible.
+     *
+     * @param uuids UUIDs of the players that were searched for
+     * @param id    Plot ID that was searched for, may be {@code null}
+     * @return Candidate plots
+     */
+    @NonNull
+    private static Collection<Plot> getCandidates(final @NonNull List<UUID> uuids, final @Nullable PlotId id) {
+        final Set<Plot> candidates = new LinkedHashSet<>();
+        for (final PlotArea plotArea : PlotSquared.get().getPlotAreaManager().getAllPlotAreas()) {
+            for (final UUID uuid : uuids) {
+                final Set<Plot> added = MemberFilter.getAddedCandidates(plotArea, uuid);
+                if (added == null) {
+                    return PlotQuery.newQuery().allPlots().asList();
+                }
+                candidates.addAll(added);
+            }
+            if (id != null) {
+                final Plot plot = plotArea.getOwnedPlotAbs(id);
+                if (plot != null) {
+                    candidates.add(plot);
+                }
+            }
+        }
+        return candidates;
+    }
+
     @Override
     public Collection<Plot> getPlots() {
         return getPlotsBySearch(this.searchTerm);
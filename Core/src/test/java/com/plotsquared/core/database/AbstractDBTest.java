@@ -27,6 +27,7 @@ import com.plotsquared.core.plot.flag.PlotFlag;
 import com.plotsquared.core.util.task.RunnableVal;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -120,6 +121,11 @@ public class AbstractDBTest implements AbstractDB {
         return null;
     }
 
+    @Override
+    public HashMap<String, HashMap<PlotId, Plot>> getPlots(Collection<String> areas) {
+        return null;
+    }
+
     @Override
     public void validateAllPlots(Set<Plot> toValidate) {
     }
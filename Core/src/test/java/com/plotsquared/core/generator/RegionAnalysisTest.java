@@ -0,0 +1,174 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.plot.expiration.PlotAnalysis;
+import com.plotsquared.core.util.MathMan;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class RegionAnalysisTest {
+
+    @Test
+    public void singleChunk() {
+        assertFacesMatch(2, 70, 3, 13, 0.5, 1L);
+    }
+
+    @Test
+    public void chunkAligned() {
+        assertFacesMatch(0, 64, 0, 47, 0.3, 2L);
+    }
+
+    @Test
+    public void unalignedAcrossChunks() {
+        assertFacesMatch(-5, 40, 3, 40, 0.5, 3L);
+    }
+
+    @Test
+    public void tallRegion() {
+        assertFacesMatch(-20, 130, 7, 30, 0.7, 4L);
+    }
+
+    @Test
+    public void solidRegion() {
+        assertFacesMatch(-5, 70, 3, 40, 0, 5L);
+    }
+
+    @Test
+    public void emptyRegion() {
+        assertFacesMatch(-5, 70, 3, 40, 1, 6L);
+    }
+
+    /**
+     * Fill a region with random air, analyse it chunk by chunk in random order and compare the faces against the analysis of
+     * the whole region at once.
+     */
+    private static void assertFacesMatch(
+            final int minXZ,
+            final int height,
+            final int offsetZ,
+            final int maxXZ,
+            final double airChance,
+            final long seed
+    ) {
+        final Random random = new Random(seed);
+        final int minX = minXZ;
+        final int minZ = minXZ + offsetZ;
+        final int maxX = maxXZ;
+        final int maxZ = maxXZ + offsetZ;
+        final int minY = -10;
+        final int width = maxX - minX + 1;
+        final int length = maxZ - minZ + 1;
+        final boolean[][][] air = new boolean[width][length][height];
+        for (int x = 0; x < width; x++) {
+            for (int z = 0; z < length; z++) {
+                for (int y = 0; y < height; y++) {
+                    air[x][z][y] = random.nextDouble() < airChance;
+                }
+            }
+        }
+
+        final RegionAnalysis analysis = new RegionAnalysis(
+                new CuboidRegion(BlockVector3.at(minX, minY, minZ), BlockVector3.at(maxX, minY + height - 1, maxZ)),
+                minY,
+                minY + height - 1
+        );
+        final List<int[]> chunks = new ArrayList<>();
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                chunks.add(new int[]{chunkX, chunkZ});
+            }
+        }
+        Collections.shuffle(chunks, random);
+        final int words = (height + 63) >> 6;
+        for (final int[] chunk : chunks) {
+            final int x0 = Math.max(chunk[0] << 4, minX);
+            final int z0 = Math.max(chunk[1] << 4, minZ);
+            final int x1 = Math.min((chunk[0] << 4) + 15, maxX);
+            final int z1 = Math.min((chunk[1] << 4) + 15, maxZ);
+            final int chunkLength = z1 - z0 + 1;
+            final long[] chunkAir = new long[(x1 - x0 + 1) * chunkLength * words];
+            for (int x = x0; x <= x1; x++) {
+                for (int z = z0; z <= z1; z++) {
+                    final int offset = ((x - x0) * chunkLength + z - z0) * words;
+                    for (int y = 0; y < height; y++) {
+                        if (air[x - minX][z - minZ][y]) {
+                            chunkAir[offset + (y >> 6)] |= 1L << y;
+                        }
+                    }
+                }
+            }
+            analysis.countFaces(x0, z0, x1, z1, chunkAir);
+        }
+
+        final int[] faces = baselineFaces(air, width, length, height);
+        final PlotAnalysis result = analysis.toAnalysis();
+        final int mean = (int) (MathMan.getMean(faces) * 100);
+        Assertions.assertEquals(mean, result.faces);
+        Assertions.assertEquals((int) (MathMan.getSD(faces, mean) * 100), result.faces_sd);
+    }
+
+    /**
+     * Faces of every column as counted by the analysis of the whole region at once, before regions were analysed one chunk at
+     * a time.
+     */
+    private static int[] baselineFaces(final boolean[][][] air, final int width, final int length, final int height) {
+        final int[] faces = new int[width * length];
+        int i = 0;
+        for (int x = 0; x < width; x++) {
+            for (int z = 0; z < length; z++) {
+                for (int y = 0; y < height; y++) {
+                    if (air[x][z][y]) {
+                        continue;
+                    }
+                    if (x > 0 && z > 0 && y > 0 && x < width - 1 && z < length - 1 && y < height - 1) {
+                        if (air[x][z][y - 1]) {
+                            faces[i]++;
+                        }
+                        if (air[x - 1][z][y]) {
+                            faces[i]++;
+                        }
+                        if (air[x][z - 1][y]) {
+                            faces[i]++;
+                        }
+                        if (air[x][z][y + 1]) {
+                            faces[i]++;
+                        }
+                        if (air[x + 1][z][y]) {
+                            faces[i]++;
+                        }
+                        if (air[x][z + 1][y]) {
+                            faces[i]++;
+                        }
+                    }
+                }
+                i++;
+            }
+        }
+        return faces;
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class SchematicOverlayTest {
+
+    @Test
+    public void emptyOverlay() {
+        SchematicOverlay overlay = new SchematicOverlay(7, 0);
+        Assertions.assertEquals(7, overlay.getSize());
+        Assertions.assertEquals(0, overlay.getHeight());
+        for (int x = 0; x < 7; x++) {
+            for (int z = 0; z < 7; z++) {
+                Assertions.assertFalse(overlay.hasColumn(x, z));
+                Assertions.assertNull(overlay.getBlock(x, 0, z));
+                Assertions.assertNull(overlay.getBiome(x, z));
+            }
+        }
+    }
+
+    @Test
+    public void setAndGetBlocks() {
+        SchematicOverlay overlay = new SchematicOverlay(8, 4);
+        BaseBlock stone = new TestBlock("stone");
+        Assertions.assertTrue(overlay.setBlock(2, 1, 3, stone));
+        Assertions.assertTrue(overlay.hasColumn(2, 3));
+        Assertions.assertFalse(overlay.hasColumn(3, 2));
+        Assertions.assertEquals(stone, overlay.getBlock(2, 1, 3));
+        // The rest of the column is not set by the schematic, as are positions outside of the overlay's height
+        Assertions.assertNull(overlay.getBlock(2, 0, 3));
+        Assertions.assertNull(overlay.getBlock(2, -1, 3));
+        Assertions.assertNull(overlay.getBlock(2, 4, 3));
+        Assertions.assertNull(overlay.getBlock(3, 1, 2));
+
+        // Unsetting a block keeps the column
+        Assertions.assertTrue(overlay.setBlock(2, 1, 3, null));
+        Assertions.assertNull(overlay.getBlock(2, 1, 3));
+        Assertions.assertTrue(overlay.hasColumn(2, 3));
+    }
+
+    @Test
+    public void blocksAboveHeightOnlyCreateTheColumn() {
+        SchematicOverlay overlay = new SchematicOverlay(4, 2);
+        Assertions.assertFalse(overlay.setBlock(1, 2, 1, new TestBlock("stone")));
+        Assertions.assertTrue(overlay.hasColumn(1, 1));
+        Assertions.assertNull(overlay.getBlock(1, 0, 1));
+        Assertions.assertNull(overlay.getBlock(1, 1, 1));
+    }
+
+    @Test
+    public void equalBlocksShareAPaletteEntry() {
+        SchematicOverlay overlay = new SchematicOverlay(4, 2);
+        BaseBlock first = new TestBlock("stone");
+        overlay.setBlock(0, 0, 0, first);
+        overlay.setBlock(3, 1, 3, new TestBlock("stone"));
+        Assertions.assertSame(first, overlay.getBlock(3, 1, 3));
+    }
+
+    @Test
+    public void randomRoundTrip() {
+        final int size = 21;
+        final int height = 12;
+        SchematicOverlay overlay = new SchematicOverlay(size, height);
+        Map<Integer, BaseBlock> expected = new HashMap<>();
+        Random random = new Random(0);
+        // More distinct blocks than the initial palette holds
+        BaseBlock[] blocks = new BaseBlock[100];
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = new TestBlock("block" + i);
+        }
+        for (int i = 0; i < 2000; i++) {
+            int x = random.nextInt(size);
+            int y = random.nextInt(height);
+            int z = random.nextInt(size);
+            BaseBlock block = random.nextInt(10) == 0 ? null : blocks[random.nextInt(blocks.length)];
+            overlay.setBlock(x, y, z, block);
+            expected.put((x * size + z) * height + y, block);
+        }
+        for (int x = 0; x < size; x++) {
+            for (int z = 0; z < size; z++) {
+                for (int y = 0; y < height; y++) {
+                    Assertions.assertEquals(expected.get((x * size + z) * height + y), overlay.getBlock(x, y, z));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void biomes() {
+        SchematicOverlay overlay = new SchematicOverlay(4, 1);
+        BiomeType plains = new BiomeType("plotsquared:plains");
+        overlay.setBiome(1, 2, plains);
+        Assertions.assertEquals(plains, overlay.getBiome(1, 2));
+        Assertions.assertNull(overlay.getBiome(2, 1));
+        // Biomes do not create block columns
+        Assertions.assertFalse(overlay.hasColumn(1, 2));
+        overlay.setBiome(1, 2, null);
+        Assertions.assertNull(overlay.getBiome(1, 2));
+    }
+
+    /**
+     * A block compared by name, as block states cannot be created without a WorldEdit platform
+     */
+    private static final class TestBlock extends BaseBlock {
+
+        private final String name;
+
+        private TestBlock(final String name) {
+            super((BlockState) null);
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof TestBlock block && this.name.equals(block.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.name.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+public class PlotIdMapTest {
+
+    @Test
+    public void putGetRemove() {
+        PlotIdMap<String> map = new PlotIdMap<>();
+        PlotId id = PlotId.of(3, -7);
+        Assertions.assertNull(map.put(id, "a"));
+        Assertions.assertEquals("a", map.get(id));
+        Assertions.assertEquals("a", map.get(3, -7));
+        Assertions.assertEquals("a", map.put(id, "b"));
+        Assertions.assertEquals("b", map.putIfAbsent(id, "c"));
+        Assertions.assertEquals(1, map.size());
+        Assertions.assertEquals("b", map.remove(id));
+        Assertions.assertNull(map.get(id));
+        Assertions.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void keysCollidingInPlotIdHash() {
+        // PlotId#hashCode only keeps 16 bits of y, so these ids share a hash
+        PlotId first = PlotId.of(1, 1);
+        PlotId second = PlotId.of(1, 1 + 65536);
+        Assertions.assertEquals(first.hashCode(), second.hashCode());
+        PlotIdMap<String> map = new PlotIdMap<>();
+        map.put(first, "first");
+        map.put(second, "second");
+        Assertions.assertEquals("first", map.get(first));
+        Assertions.assertEquals("second", map.get(second));
+    }
+
+    @Test
+    public void growAndShrink() {
+        PlotIdMap<Integer> map = new PlotIdMap<>();
+        Map<PlotId, Integer> expected = new HashMap<>();
+        for (int x = -50; x < 50; x++) {
+            for (int y = -50; y < 50; y++) {
+                map.put(PlotId.of(x, y), x * 100 + y);
+                expected.put(PlotId.of(x, y), x * 100 + y);
+            }
+        }
+        // Remove and re-add to leave removed slots behind
+        for (int x = -50; x < 50; x += 2) {
+            for (int y = -50; y < 50; y++) {
+                map.remove(PlotId.of(x, y));
+                expected.remove(PlotId.of(x, y));
+            }
+        }
+        Assertions.assertEquals(expected, map);
+        Assertions.assertEquals(expected.size(), map.values().size());
+        final int capacity = map.capacity();
+        // Remove all but a single column so the table is rebuilt smaller
+        for (int x = -49; x < 49; x += 2) {
+            for (int y = -50; y < 50; y++) {
+                Assertions.assertEquals(x * 100 + y, map.remove(PlotId.of(x, y)));
+                expected.remove(PlotId.of(x, y));
+            }
+        }
+        Assertions.assertTrue(map.capacity() < capacity);
+        Assertions.assertEquals(expected, map);
+        for (int y = -50; y < 50; y++) {
+            Assertions.assertEquals(4900 + y, map.get(49, y));
+            Assertions.assertNull(map.get(47, y));
+            Assertions.assertNull(map.get(-50, y));
+        }
+    }
+
+    @Test
+    public void atomicCompoundOperations() {
+        PlotIdMap<Integer> map = new PlotIdMap<>();
+        PlotId id = PlotId.of(2, 5);
+        Assertions.assertEquals(1, map.merge(id, 1, Integer::sum));
+        Assertions.assertEquals(3, map.merge(id, 2, Integer::sum));
+        Assertions.assertEquals(3, map.computeIfAbsent(id, key -> 10));
+        Assertions.assertEquals(4, map.compute(id, (key, value) -> value + 1));
+        Assertions.assertFalse(map.replace(id, 5, 6));
+        Assertions.assertTrue(map.replace(id, 4, 6));
+        Assertions.assertNull(map.computeIfPresent(id, (key, value) -> null));
+        Assertions.assertFalse(map.containsKey(id));
+        Assertions.assertNull(map.replace(id, 1));
+        Assertions.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void iteratorRemove() {
+        PlotIdMap<String> map = new PlotIdMap<>();
+        map.put(PlotId.of(0, 0), "keep");
+        map.put(PlotId.of(0, 1), "drop");
+        Iterator<String> iterator = map.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().equals("drop")) {
+                iterator.remove();
+            }
+        }
+        Assertions.assertEquals(1, map.size());
+        Assertions.assertEquals("keep", map.get(0, 0));
+        Assertions.assertNull(map.get(0, 1));
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.flag.types;
+
+import com.sk89q.worldedit.world.block.BlockCategory;
+import com.sk89q.worldedit.world.block.BlockType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class BlockTypeMatcherTest {
+
+    private static final List<BlockType> TYPES = new ArrayList<>();
+
+    static {
+        for (int i = 0; i < 200; i++) {
+            TYPES.add(new BlockType("plotsquared:matcher_test_" + i));
+        }
+    }
+
+    /**
+     * The matching the flags used before matchers, checking every wrapper of the flag
+     */
+    private static boolean acceptsAny(final List<BlockTypeWrapper> wrappers, final BlockType blockType) {
+        for (final BlockTypeWrapper wrapper : wrappers) {
+            if (wrapper.accepts(blockType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void assertMatchesWrappers(final List<BlockTypeWrapper> wrappers) {
+        final BlockTypeMatcher matcher = BlockTypeMatcher.of(wrappers);
+        for (final BlockType blockType : TYPES) {
+            Assertions.assertEquals(acceptsAny(wrappers, blockType), matcher.accepts(blockType), blockType.getId());
+        }
+    }
+
+    @Test
+    public void emptyMatcherAcceptsNothing() {
+        final BlockTypeMatcher matcher = BlockTypeMatcher.of(List.of());
+        for (final BlockType blockType : TYPES) {
+            Assertions.assertFalse(matcher.accepts(blockType));
+        }
+        Assertions.assertTrue(matcher.isValid());
+    }
+
+    @Test
+    public void blockTypesMatchLikeWrappers() {
+        assertMatchesWrappers(List.of(BlockTypeWrapper.get(TYPES.get(0))));
+        assertMatchesWrappers(List.of(BlockTypeWrapper.get(TYPES.get(3)), BlockTypeWrapper.get(TYPES.get(150))));
+        // Types that were never part of any matcher are rejected as well
+        final BlockType unseen = new BlockType("plotsquared:matcher_test_unseen");
+        Assertions.assertFalse(BlockTypeMatcher.of(List.of(BlockTypeWrapper.get(TYPES.get(0)))).accepts(unseen));
+    }
+
+    @Test
+    public void randomListsMatchLikeWrappers() {
+        final Random random = new Random(0);
+        for (int list = 0; list < 50; list++) {
+            final List<BlockTypeWrapper> wrappers = new ArrayList<>();
+            final int size = random.nextInt(20);
+            for (int i = 0; i < size; i++) {
+                wrappers.add(BlockTypeWrapper.get(TYPES.get(random.nextInt(TYPES.size()))));
+            }
+            if (random.nextBoolean()) {
+                final Set<BlockType> contents = new HashSet<>();
+                contents.add(TYPES.get(random.nextInt(TYPES.size())));
+                contents.add(TYPES.get(random.nextInt(TYPES.size())));
+                wrappers.add(BlockTypeWrapper.get(new TestCategory("plotsquared:matcher_random_" + list, contents)));
+            }
+            assertMatchesWrappers(wrappers);
+        }
+    }
+
+    @Test
+    public void categoriesMatchLikeWrappers() {
+        final BlockCategory category = new TestCategory("plotsquared:matcher_category", Set.of(TYPES.get(10), TYPES.get(11)));
+        final List<BlockTypeWrapper> wrappers = List.of(BlockTypeWrapper.get(category), BlockTypeWrapper.get(TYPES.get(12)));
+        assertMatchesWrappers(wrappers);
+        final BlockTypeMatcher matcher = BlockTypeMatcher.of(wrappers);
+        Assertions.assertTrue(matcher.accepts(TYPES.get(10)));
+        Assertions.assertTrue(matcher.accepts(TYPES.get(11)));
+        Assertions.assertTrue(matcher.accepts(TYPES.get(12)));
+        Assertions.assertFalse(matcher.accepts(TYPES.get(13)));
+        Assertions.assertTrue(matcher.isValid());
+    }
+
+    @Test
+    public void unknownCategoriesMakeTheMatcherIncomplete() {
+        // The category registry is empty in tests, so the category cannot be resolved yet
+        final List<BlockTypeWrapper> wrappers = List.of(
+                BlockTypeWrapper.get("plotsquared:matcher_unknown"),
+                BlockTypeWrapper.get(TYPES.get(20))
+        );
+        assertMatchesWrappers(wrappers);
+        Assertions.assertFalse(BlockTypeMatcher.of(wrappers).isValid());
+    }
+
+    @Test
+    public void invalidatingCategoriesInvalidatesMatchers() {
+        final BlockTypeMatcher matcher = BlockTypeMatcher.of(List.of(BlockTypeWrapper.get(TYPES.get(30))));
+        Assertions.assertTrue(matcher.isValid());
+        BlockTypeMatcher.invalidateCategories();
+        Assertions.assertFalse(matcher.isValid());
+        // Existing matchers keep matching until they are replaced
+        Assertions.assertTrue(matcher.accepts(TYPES.get(30)));
+        Assertions.assertTrue(BlockTypeMatcher.of(List.of(BlockTypeWrapper.get(TYPES.get(30)))).isValid());
+    }
+
+    /**
+     * A category with fixed contents, as the block category registry of the platform is not available in tests
+     */
+    private static final class TestCategory extends BlockCategory {
+
+        private final Set<BlockType> contents;
+
+        private TestCategory(final String id, final Set<BlockType> contents) {
+            super(id);
+            this.contents = contents;
+        }
+
+        @Override
+        protected Set<BlockType> load() {
+            return this.contents;
+        }
+
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import com.plotsquared.core.configuration.Settings;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class GlobalBlockQueueTest {
+
+    private static final long BUDGET = TimeUnit.MILLISECONDS.toNanos(14);
+
+    private final List<TestCoordinator> processed = new ArrayList<>();
+
+    /**
+     * @return a budget of {@link #BUDGET}, as the server needs the rest of the 50ms of a tick
+     */
+    private static TickBudget newBudget() {
+        TickBudget budget = new TickBudget(() -> TimeUnit.MILLISECONDS.toNanos(50) - BUDGET);
+        budget.reset();
+        budget.startTick();
+        return budget;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        Settings.QUEUE.MAX_ITERATION_TIME = 30;
+    }
+
+    @Test
+    public void budgetFollowsTickTime() {
+        TickBudget budget = newBudget();
+        Assertions.assertEquals(BUDGET, budget.remaining());
+        budget.consume(BUDGET / 2);
+        Assertions.assertEquals(BUDGET - BUDGET / 2, budget.remaining());
+        budget.consume(BUDGET);
+        Assertions.assertEquals(0L, budget.remaining());
+        Assertions.assertFalse(budget.isLagging());
+        // The configured maximum caps the budget
+        Settings.QUEUE.MAX_ITERATION_TIME = 5;
+        Assertions.assertEquals(TimeUnit.MILLISECONDS.toNanos(5), newBudget().remaining());
+    }
+
+    @Test
+    public void budgetIsSharedByPriority() {
+        TestCoordinator low = new TestCoordinator(QueuePriority.LOW, 1);
+        TestCoordinator normal = new TestCoordinator(QueuePriority.NORMAL, 1);
+        TestCoordinator high = new TestCoordinator(QueuePriority.HIGH, 1);
+        TickBudget budget = newBudget();
+        GlobalBlockQueue.process(List.of(low, normal, high), 0, budget);
+        // Higher priorities run first and get a share of the time by their weight of 4, 2 and 1
+        Assertions.assertEquals(List.of(high, normal, low), this.processed);
+        Assertions.assertEquals(BUDGET * 4 / 7, high.allowance);
+        Assertions.assertEquals((BUDGET - high.allowance) * 2 / 3, normal.allowance);
+        Assertions.assertEquals(BUDGET - high.allowance - normal.allowance, low.allowance);
+        Assertions.assertEquals(0L, budget.remaining());
+    }
+
+    @Test
+    public void unusedTimeGoesToLaterQueues() {
+        TestCoordinator high = new TestCoordinator(QueuePriority.HIGH, 0);
+        TestCoordinator normal = new TestCoordinator(QueuePriority.NORMAL, 0.5);
+        TestCoordinator low = new TestCoordinator(QueuePriority.LOW, 1);
+        GlobalBlockQueue.process(List.of(high, normal, low), 0, newBudget());
+        Assertions.assertEquals(BUDGET * 4 / 7, high.allowance);
+        // The high priority queue had nothing to do, so the others split the whole budget
+        Assertions.assertEquals(BUDGET * 2 / 3, normal.allowance);
+        Assertions.assertEquals(BUDGET - normal.allowance / 2, low.allowance);
+    }
+
+    @Test
+    public void exhaustedBudgetSkipsLaterQueues() {
+        TestCoordinator high = new TestCoordinator(QueuePriority.HIGH, 10);
+        TestCoordinator low = new TestCoordinator(QueuePriority.LOW, 1);
+        GlobalBlockQueue.process(List.of(high, low), 0, newBudget());
+        Assertions.assertEquals(List.of(high), this.processed);
+        Assertions.assertEquals(-1L, low.allowance);
+    }
+
+    @Test
+    public void samePriorityTakesTurns() {
+        TestCoordinator first = new TestCoordinator(QueuePriority.NORMAL, 1);
+        TestCoordinator second = new TestCoordinator(QueuePriority.NORMAL, 1);
+        GlobalBlockQueue.process(List.of(first, second), 0, newBudget());
+        Assertions.assertEquals(List.of(first, second), this.processed);
+        Assertions.assertEquals(BUDGET / 2, first.allowance);
+        Assertions.assertEquals(BUDGET - BUDGET / 2, second.allowance);
+        this.processed.clear();
+        GlobalBlockQueue.process(List.of(first, second), 1, newBudget());
+        Assertions.assertEquals(List.of(second, first), this.processed);
+    }
+
+    @Test
+    public void failingQueueIsCancelled() {
+        TestCoordinator failing = new TestCoordinator(QueuePriority.HIGH, -1);
+        TestCoordinator normal = new TestCoordinator(QueuePriority.NORMAL, 1);
+        GlobalBlockQueue.process(List.of(failing, normal), 0, newBudget());
+        Assertions.assertTrue(failing.cancelled);
+        Assertions.assertFalse(normal.cancelled);
+        Assertions.assertEquals(List.of(failing, normal), this.processed);
+    }
+
+    private final class TestCoordinator extends ChunkCoordinator {
+
+        // Share of the allowance the coordinator spends, or a negative value to fail
+        private final double usage;
+        private long allowance = -1;
+        private boolean cancelled;
+
+        private TestCoordinator(final QueuePriority priority, final double usage) {
+            this.usage = usage;
+            setPriority(priority);
+        }
+
+        @Override
+        public long process(final long allowance) {
+            this.allowance = allowance;
+            processed.add(this);
+            if (this.usage < 0) {
+                throw new IllegalStateException("Failing coordinator");
+            }
+            return (long) (allowance * this.usage);
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+        }
+
+        @Override
+        public int getRemainingChunks() {
+            return 0;
+        }
+
+        @Override
+        public int getTotalChunks() {
+            return 0;
+        }
+
+        @Override
+        public void run() {
+        }
+
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import com.plotsquared.core.util.ChunkUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class PaletteSectionTest {
+
+    private static final int SIZE = 4096;
+
+    private static void assertSection(final String[] expected, final PaletteSection<String> section) {
+        for (int j = 0; j < SIZE; j++) {
+            Assertions.assertEquals(expected[j], section.get(j), "index " + j);
+        }
+        Assertions.assertArrayEquals(expected, section.toArray(new String[SIZE]));
+        Assertions.assertEquals(Arrays.stream(expected).allMatch(value -> value == null), section.isEmpty());
+    }
+
+    /**
+     * Sets random entries to values from a palette of the given size and compares the section to a plain array after
+     * every batch, covering every bit width up to the one needed for the palette.
+     */
+    private static void randomRoundTrip(final int paletteSize, final long seed) {
+        final Random random = new Random(seed);
+        final String[] expected = new String[SIZE];
+        final PaletteSection<String> section = new PaletteSection<>();
+        assertSection(expected, section);
+        for (int batch = 0; batch < 8; batch++) {
+            for (int i = 0; i < 1024; i++) {
+                final int j = random.nextInt(SIZE);
+                // One in eight writes unsets the entry again
+                final String value = random.nextInt(8) == 0 ? null : "value" + random.nextInt(paletteSize);
+                expected[j] = value;
+                section.set(j, value);
+            }
+            assertSection(expected, section);
+        }
+    }
+
+    @Test
+    public void emptySection() {
+        PaletteSection<String> section = new PaletteSection<>();
+        Assertions.assertTrue(section.isEmpty());
+        Assertions.assertFalse(section.isUniform());
+        assertSection(new String[SIZE], section);
+    }
+
+    @Test
+    public void setAndGetByPosition() {
+        PaletteSection<String> section = new PaletteSection<>();
+        section.set(1, 2, 3, "a");
+        section.set(15, 15, 15, "b");
+        Assertions.assertEquals("a", section.get(1, 2, 3));
+        Assertions.assertEquals("a", section.get(ChunkUtil.getJ(1, 2, 3)));
+        // Only the lowest four bits of y are used
+        Assertions.assertEquals("a", section.get(1, 18, 3));
+        Assertions.assertEquals("b", section.get(15, 15, 15));
+        Assertions.assertNull(section.get(0, 0, 0));
+        section.set(1, 2, 3, null);
+        section.set(15, 15, 15, null);
+        Assertions.assertTrue(section.isEmpty());
+    }
+
+    @Test
+    public void randomRoundTrips() {
+        // Single value, the linear palette limit, the switch to a hash map index, and widths up to nine bits
+        for (final int paletteSize : new int[]{1, 2, 3, 15, 16, 17, 100, 300}) {
+            randomRoundTrip(paletteSize, paletteSize);
+        }
+    }
+
+    @Test
+    public void equalValuesShareAnEntry() {
+        PaletteSection<String> section = new PaletteSection<>();
+        // Distinct but equal instances must map to the same palette entry
+        for (int j = 0; j < SIZE; j++) {
+            section.set(j, new String("value" + (j % 20)));
+        }
+        for (int j = 0; j < SIZE; j++) {
+            Assertions.assertEquals("value" + (j % 20), section.get(j));
+        }
+    }
+
+    @Test
+    public void fillIsUniform() {
+        PaletteSection<String> section = new PaletteSection<>();
+        section.set(5, "old");
+        section.fill("stone");
+        Assertions.assertTrue(section.isUniform());
+        Assertions.assertFalse(section.isEmpty());
+        String[] expected = new String[SIZE];
+        Arrays.fill(expected, "stone");
+        assertSection(expected, section);
+
+        // Setting the fill value again keeps the section uniform
+        section.set(7, "stone");
+        Assertions.assertTrue(section.isUniform());
+
+        section.set(7, "dirt");
+        expected[7] = "dirt";
+        Assertions.assertFalse(section.isUniform());
+        assertSection(expected, section);
+
+        section.set(9, null);
+        expected[9] = null;
+        assertSection(expected, section);
+
+        section.fill(null);
+        Assertions.assertTrue(section.isEmpty());
+        Assertions.assertFalse(section.isUniform());
+        assertSection(new String[SIZE], section);
+    }
+
+    @Test
+    public void fillBounds() {
+        PaletteSection<String> section = new PaletteSection<>();
+        String[] expected = new String[SIZE];
+        section.set(0, "before");
+        expected[0] = "before";
+        section.fill(2, 3, 4, 10, 12, 14, "stone");
+        for (int y = 3; y <= 12; y++) {
+            for (int x = 2; x <= 10; x++) {
+                for (int z = 4; z <= 14; z++) {
+                    expected[ChunkUtil.getJ(x, y, z)] = "stone";
+                }
+            }
+        }
+        assertSection(expected, section);
+
+        // Filling the whole section replaces everything
+        section.fill(0, 0, 0, 15, 15, 15, "air");
+        Assertions.assertTrue(section.isUniform());
+        Arrays.fill(expected, "air");
+        assertSection(expected, section);
+    }
+
+}